@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.internal.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * Measures the overhead of {@link ReplicationLagTolerantCentralDogma} when many threads send
+ * {@link CentralDogma#getFile(String, String, Revision, Query)} requests through it at the same time.
+ * The delegate returns a completed future immediately, so that only the overhead of the wrapper is measured.
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class ReplicationLagTolerantCentralDogmaBenchmark {
+
+    private static final Revision HEAD_REVISION = new Revision(100);
+    private static final Query<String> QUERY = Query.ofText("/foo.txt");
+    private static final Entry<String> ENTRY = Entry.ofText(HEAD_REVISION, "/foo.txt", "foo");
+
+    /**
+     * The number of the repositories the requests are distributed to.
+     */
+    @Param({ "1", "1000" })
+    private int numRepos;
+
+    private String[] repoNames;
+    private ScheduledExecutorService executor;
+    private ReplicationLagTolerantCentralDogma dogma;
+
+    @Setup
+    public void init() {
+        repoNames = new String[numRepos];
+        for (int i = 0; i < numRepos; i++) {
+            repoNames[i] = "repo_" + i;
+        }
+
+        // Use a dynamic proxy rather than a mock, which would record every invocation under a lock.
+        final CentralDogma delegate = (CentralDogma) Proxy.newProxyInstance(
+                CentralDogma.class.getClassLoader(), new Class<?>[] { CentralDogma.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "normalizeRevision":
+                            return completedFuture(HEAD_REVISION);
+                        case "getFile":
+                            return completedFuture(ENTRY);
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        executor = Executors.newSingleThreadScheduledExecutor();
+        dogma = new ReplicationLagTolerantCentralDogma(executor, delegate, 3, 100, () -> null, null);
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        dogma.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Entry<String> getFile() {
+        final String repoName = repoNames[ThreadLocalRandom.current().nextInt(numRepos)];
+        return dogma.getFile("foo", repoName, Revision.HEAD, QUERY).join();
+    }
+}
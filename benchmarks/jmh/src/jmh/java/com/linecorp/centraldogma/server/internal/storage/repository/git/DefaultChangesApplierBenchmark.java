@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepository.R_HEADS_MASTER;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Util;
+import com.linecorp.centraldogma.server.storage.project.Project;
+
+/**
+ * Measures how long {@link DefaultChangesApplier} takes to apply the changes of a push to a large tree.
+ */
+@State(Scope.Benchmark)
+public class DefaultChangesApplierBenchmark {
+
+    private static final Author AUTHOR = Author.ofEmail("user@example.com");
+
+    /**
+     * The number of the files in the tree, distributed to 100 directories.
+     */
+    @Param("20000")
+    private int numFiles;
+
+    /**
+     * The number of the changes in a push. The last change renames a directory when {@code renameDirectory}
+     * is {@code true}, and the other changes modify the existing files.
+     */
+    @Param({ "1", "100", "5000" })
+    private int numChanges;
+
+    @Param({ "false", "true" })
+    private boolean renameDirectory;
+
+    private File repoDir;
+    private GitRepository repo;
+    private Revision headRevision;
+    private ObjectId headTreeId;
+    private List<Change<?>> changes;
+
+    @Setup
+    public void init() throws Exception {
+        repoDir = Files.createTempDirectory("jmh-defaultchangesapplier.").toFile();
+        repo = new GitRepository(mock(Project.class), repoDir, ForkJoinPool.commonPool(),
+                                 System.currentTimeMillis(), AUTHOR, null);
+
+        final List<Change<?>> initialChanges = new ArrayList<>(numFiles);
+        for (int i = 0; i < numFiles; i++) {
+            initialChanges.add(Change.ofTextUpsert(path(i), String.valueOf(i)));
+        }
+        headRevision = repo.commit(new Revision(1), 0L, AUTHOR, "Add files", initialChanges)
+                           .join().revision();
+        headTreeId = repo.jGitRepository().resolve(R_HEADS_MASTER + "^{tree}");
+
+        changes = new ArrayList<>(numChanges);
+        final int numUpserts = renameDirectory ? numChanges - 1 : numChanges;
+        for (int i = 0; i < numUpserts; i++) {
+            changes.add(Change.ofTextUpsert(path(i), "modified_" + i));
+        }
+        if (renameDirectory) {
+            changes.add(Change.ofRename("/dir_99", "/renamed_dir_99"));
+        }
+    }
+
+    private static String path(int i) {
+        return "/dir_" + i % 100 + "/large_" + i + ".txt";
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        repo.internalClose();
+        Util.deleteFileTree(repoDir);
+    }
+
+    @Benchmark
+    public int apply() {
+        return new DefaultChangesApplier(changes).apply(repo.jGitRepository(), headRevision, headTreeId,
+                                                        DirCache.newInCore());
+    }
+}
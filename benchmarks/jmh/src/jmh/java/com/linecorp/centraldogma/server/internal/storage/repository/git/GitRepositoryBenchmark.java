@@ -20,6 +20,8 @@ import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -46,6 +48,12 @@ public class GitRepositoryBenchmark {
     @Param({ "0", "2000", "4000", "6000", "8000" })
     private int previousCommits;
 
+    /**
+     * The number of the files in the tree before making commits, distributed to 100 directories.
+     */
+    @Param({ "0", "20000" })
+    private int numFiles;
+
     private File repoDir;
     private GitRepository repo;
     private int currentRevision;
@@ -57,6 +65,15 @@ public class GitRepositoryBenchmark {
                                  System.currentTimeMillis(), AUTHOR, null);
         currentRevision = 1;
 
+        if (numFiles > 0) {
+            final List<Change<?>> changes = new ArrayList<>(numFiles);
+            for (int i = 0; i < numFiles; i++) {
+                changes.add(Change.ofTextUpsert("/dir_" + i % 100 + "/large_" + i + ".txt", String.valueOf(i)));
+            }
+            repo.commit(new Revision(currentRevision), 0L, AUTHOR, "Add files", changes).join();
+            currentRevision++;
+        }
+
         for (int i = 0; i < previousCommits; i++) {
             addCommit();
         }
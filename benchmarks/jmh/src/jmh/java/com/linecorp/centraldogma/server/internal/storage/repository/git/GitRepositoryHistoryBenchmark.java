@@ -45,7 +45,7 @@ public class GitRepositoryHistoryBenchmark {
 
     private static final Author AUTHOR = Author.ofEmail("user@example.com");
 
-    @Param({ "100", "1000"})
+    @Param({ "100", "1000", "10000" })
     private int noCommits;
 
     @Param({ "1", "3", "5", "10", "30" })
@@ -86,6 +86,24 @@ public class GitRepositoryHistoryBenchmark {
         }
     }
 
+    /**
+     * Finds the history of a path that has never been changed, which visits the maximum number of commits.
+     */
+    @Benchmark
+    public void historyOfUnchangedPath(Blackhole bh) throws Exception {
+        cache.clear();
+        bh.consume(repo.blockingHistory(Revision.HEAD, Revision.INIT, "/unchanged/**", 1));
+    }
+
+    /**
+     * Finds the latest revision of a path that has never been changed since the second revision.
+     */
+    @Benchmark
+    public void findLatestRevisionOfUnchangedPath(Blackhole bh) throws Exception {
+        cache.clear();
+        bh.consume(repo.findLatestRevision(new Revision(2), "/unchanged/**", false).join());
+    }
+
     private void addCommit(int index) {
         repo.commit(new Revision(currentRevision), currentRevision * 1000L, AUTHOR,
                     "Summary", "Detail", Markup.PLAINTEXT,
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -208,6 +209,8 @@ public final class XdsCentralDogmaBuilder extends AbstractCentralDogmaBuilder<Xd
         // TODO(ikhoon): Apply ExecutorServiceMetrics for the 'blockingTaskExecutor' once
         //               https://github.com/line/centraldogma/pull/542 is merged.
         final ScheduledExecutorService blockingTaskExecutor = this.blockingTaskExecutor;
+        // The watchers are created by the outermost client.
+        final Path snapshotCacheDir = snapshotCacheDir();
 
         final CentralDogma dogma = new ArmeriaCentralDogma(blockingTaskExecutor,
                                                            builder.build(WebClient.class),
@@ -216,7 +219,9 @@ public final class XdsCentralDogmaBuilder extends AbstractCentralDogmaBuilder<Xd
                                                                endpointGroup.close();
                                                                xdsBootstrap.close();
                                                            },
-                                                           meterRegistry());
+                                                           meterRegistry(), false,
+                                                           maxRetriesOnReplicationLag <= 0 ? snapshotCacheDir
+                                                                                           : null);
         if (maxRetriesOnReplicationLag <= 0) {
             return dogma;
         } else {
@@ -229,7 +234,7 @@ public final class XdsCentralDogmaBuilder extends AbstractCentralDogmaBuilder<Xd
                         final ClientRequestContext ctx = ClientRequestContext.currentOrNull();
                         return ctx != null ? ctx.remoteAddress() : null;
                     },
-                    meterRegistry());
+                    meterRegistry(), snapshotCacheDir);
         }
     }
 
@@ -59,6 +59,7 @@ public class AbstractArmeriaCentralDogmaBuilder<B extends AbstractArmeriaCentral
     private Duration healthCheckInterval;
     private DnsAddressEndpointGroupConfigurator dnsAddressEndpointGroupConfigurator = b -> {};
     private ScheduledExecutorService blockingTaskExecutor = CommonPools.blockingTaskExecutor();
+    private boolean multiplexWatches;
 
     /**
      * Returns the {@link ClientFactory} that will create an underlying
@@ -209,6 +210,26 @@ public class AbstractArmeriaCentralDogmaBuilder<B extends AbstractArmeriaCentral
         return self();
     }
 
+    /**
+     * Returns whether the watch requests to the same repository are sent together in a single request.
+     *
+     * @see #multiplexWatches(boolean)
+     */
+    protected final boolean isMultiplexWatches() {
+        return multiplexWatches;
+    }
+
+    /**
+     * Sets whether the watch requests to the same repository, e.g. those of the watchers of the
+     * files in the repository, are sent together in a single request whose response streams the changes.
+     * It reduces the number of the outstanding requests when watching many files. The server must support
+     * the multiplexed watch API. This option is disabled by default.
+     */
+    public final B multiplexWatches(boolean multiplexWatches) {
+        this.multiplexWatches = multiplexWatches;
+        return self();
+    }
+
     /**
      * Returns a newly created {@link ClientBuilder} configured with the specified {@code customizer}
      * and then with the {@link ArmeriaClientConfigurator} specified with
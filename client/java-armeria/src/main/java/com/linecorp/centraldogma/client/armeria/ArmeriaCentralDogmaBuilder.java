@@ -16,6 +16,7 @@
 package com.linecorp.centraldogma.client.armeria;
 
 import java.net.UnknownHostException;
+import java.nio.file.Path;
 import java.util.concurrent.ScheduledExecutorService;
 
 import com.linecorp.armeria.client.ClientBuilder;
@@ -48,12 +49,17 @@ public final class ArmeriaCentralDogmaBuilder
         // TODO(ikhoon): Apply ExecutorServiceMetrics for the 'blockingTaskExecutor' once
         //               https://github.com/line/centraldogma/pull/542 is merged.
         final ScheduledExecutorService blockingTaskExecutor = blockingTaskExecutor();
+        // The watchers are created by the outermost client.
+        final Path snapshotCacheDir = snapshotCacheDir();
 
         final CentralDogma dogma = new ArmeriaCentralDogma(blockingTaskExecutor,
                                                            builder.build(WebClient.class),
                                                            accessToken(),
                                                            endpointGroup::close,
-                                                           meterRegistry());
+                                                           meterRegistry(),
+                                                           isMultiplexWatches(),
+                                                           maxRetriesOnReplicationLag <= 0 ? snapshotCacheDir
+                                                                                           : null);
         if (maxRetriesOnReplicationLag <= 0) {
             return dogma;
         } else {
@@ -66,7 +72,7 @@ public final class ArmeriaCentralDogmaBuilder
                         final ClientRequestContext ctx = ClientRequestContext.currentOrNull();
                         return ctx != null ? ctx.remoteAddress() : null;
                     },
-                    meterRegistry());
+                    meterRegistry(), snapshotCacheDir);
         }
     }
 }
@@ -32,6 +32,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -149,14 +150,25 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
     private final WebClient client;
     private final String authorization;
     private final SafeCloseable safeCloseable;
+    @Nullable
+    private final WatchMultiplexer watchMultiplexer;
 
     public ArmeriaCentralDogma(ScheduledExecutorService blockingTaskExecutor,
                                WebClient client, String accessToken, SafeCloseable safeCloseable,
                                @Nullable MeterRegistry meterRegistry) {
-        super(blockingTaskExecutor, meterRegistry);
+        this(blockingTaskExecutor, client, accessToken, safeCloseable, meterRegistry, false, null);
+    }
+
+    public ArmeriaCentralDogma(ScheduledExecutorService blockingTaskExecutor,
+                               WebClient client, String accessToken, SafeCloseable safeCloseable,
+                               @Nullable MeterRegistry meterRegistry, boolean multiplexWatches,
+                               @Nullable Path snapshotCacheDir) {
+        super(blockingTaskExecutor, meterRegistry, snapshotCacheDir);
         this.client = requireNonNull(client, "client");
         authorization = "Bearer " + requireNonNull(accessToken, "accessToken");
         this.safeCloseable = safeCloseable;
+        watchMultiplexer = multiplexWatches ? new WatchMultiplexer(client, authorization, blockingTaskExecutor)
+                                            : null;
     }
 
     @Override
@@ -813,6 +825,13 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         requireNonNull(pathPattern, "pathPattern");
         checkArgument(timeoutMillis > 0, "timeoutMillis: %s (expected: > 0)", timeoutMillis);
         try {
+            if (watchMultiplexer != null) {
+                final ObjectNode watch = newWatchNode(lastKnownRevision, timeoutMillis, errorOnEntryNotFound);
+                watch.put("pathPattern", pathPattern.patternString());
+                return watchMultiplexer.watch(pathBuilder(projectName, repositoryName).toString(), watch,
+                                              timeoutMillis, res -> watchRepository(res, QueryType.IDENTITY));
+            }
+
             final StringBuilder path = pathBuilder(projectName, repositoryName);
             path.append("/contents").append(pathPattern.encoded());
 
@@ -845,6 +864,16 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         requireNonNull(query, "query");
         checkArgument(timeoutMillis > 0, "timeoutMillis: %s (expected: > 0)", timeoutMillis);
         try {
+            if (watchMultiplexer != null) {
+                final ObjectNode watch = newWatchNode(lastKnownRevision, timeoutMillis, errorOnEntryNotFound);
+                watch.put("path", query.path());
+                if (query.type() == QueryType.JSON_PATH) {
+                    final ArrayNode jsonPaths = watch.putArray("jsonPaths");
+                    query.expressions().forEach(jsonPaths::add);
+                }
+                return watchMultiplexer.watch(pathBuilder(projectName, repositoryName).toString(), watch,
+                                              timeoutMillis, res -> watchFile(res, query.type()));
+            }
 
             final StringBuilder path = pathBuilder(projectName, repositoryName);
             path.append("/contents").append(query.path());
@@ -878,6 +907,15 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         return handleErrorResponse(res);
     }
 
+    private static ObjectNode newWatchNode(Revision lastKnownRevision, long timeoutMillis,
+                                           boolean errorOnEntryNotFound) {
+        final ObjectNode watch = JsonNodeFactory.instance.objectNode();
+        watch.put("lastKnownRevision", lastKnownRevision.major());
+        watch.put("timeoutMillis", timeoutMillis);
+        watch.put("notifyEntryNotFound", errorOnEntryNotFound);
+        return watch;
+    }
+
     private <T> CompletableFuture<T> watch(Revision lastKnownRevision, long timeoutMillis,
                                            String path, QueryType queryType,
                                            BiFunction<AggregatedHttpResponse, QueryType, T> func,
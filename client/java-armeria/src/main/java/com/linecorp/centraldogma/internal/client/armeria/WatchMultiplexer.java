@@ -0,0 +1,347 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.internal.client.armeria;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.linecorp.armeria.client.Clients;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpObject;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.stream.ClosedStreamException;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.common.util.TimeoutMode;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.internal.api.v1.WatchTimeout;
+
+/**
+ * Sends the watch requests to the same repository together in a single request to the multiplexed watch API
+ * ({@code POST /api/v1/projects/{projectName}/repos/{repoName}/watch}), and completes each watch as soon as
+ * the line of the watch is received from the streaming response.
+ *
+ * <p>The watch requests made within {@link #BATCH_DELAY_MILLIS} are sent together, so that the watchers
+ * which are started or re-armed at the same time share a request.
+ */
+final class WatchMultiplexer {
+
+    private static final long BATCH_DELAY_MILLIS = 10;
+
+    /**
+     * The maximum number of the watches in a request. Must not be greater than the limit of the server.
+     */
+    private static final int MAX_WATCHES = 1024;
+
+    private final WebClient client;
+    private final String authorization;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The {@link Batch}es which are not sent yet, keyed by the path of the repository.
+     */
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    WatchMultiplexer(WebClient client, String authorization, ScheduledExecutorService executor) {
+        this.client = requireNonNull(client, "client");
+        this.authorization = requireNonNull(authorization, "authorization");
+        this.executor = requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Adds the specified watch to the batch of the repository.
+     *
+     * @param repoPath the path of the repository, e.g. {@code /api/v1/projects/foo/repos/bar}
+     * @param watch the JSON object which describes the watch, without the {@code id}
+     * @param decoder the function which converts the response of the watch into the result. It is given
+     *                the same response as that of the single watch request.
+     */
+    <T> CompletableFuture<T> watch(String repoPath, ObjectNode watch, long timeoutMillis,
+                                   Function<AggregatedHttpResponse, T> decoder) {
+        final PendingWatch<T> pendingWatch = new PendingWatch<>(watch, timeoutMillis, decoder);
+        Batch batchToSend = null;
+        synchronized (batches) {
+            Batch batch = batches.get(repoPath);
+            if (batch == null) {
+                batch = new Batch(repoPath);
+                batches.put(repoPath, batch);
+                final Batch newBatch = batch;
+                try {
+                    executor.schedule(() -> flush(newBatch), BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Send it right away.
+                    batchToSend = batch;
+                }
+            }
+            batch.watches.add(pendingWatch);
+            if (batch.watches.size() >= MAX_WATCHES) {
+                batchToSend = batch;
+            }
+            if (batchToSend != null) {
+                batches.remove(repoPath);
+            }
+        }
+
+        if (batchToSend != null) {
+            send(batchToSend);
+        }
+        return pendingWatch.future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batches) {
+            if (!batches.remove(batch.repoPath, batch)) {
+                // Sent already because it was full.
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        final List<PendingWatch<?>> watches = new ArrayList<>(batch.watches.size());
+        final ArrayNode content = JsonNodeFactory.instance.arrayNode(batch.watches.size());
+        long maxTimeoutMillis = 0;
+        for (PendingWatch<?> watch : batch.watches) {
+            if (watch.future.isDone()) {
+                // Cancelled before sent.
+                continue;
+            }
+            content.add(watch.watch.put("id", watches.size()));
+            watches.add(watch);
+            maxTimeoutMillis = Math.max(maxTimeoutMillis, watch.timeoutMillis);
+        }
+        if (watches.isEmpty()) {
+            return;
+        }
+
+        final byte[] body;
+        try {
+            body = Jackson.writeValueAsBytes(content);
+        } catch (Exception e) {
+            watches.forEach(watch -> watch.future.completeExceptionally(e));
+            return;
+        }
+
+        final RequestHeaders headers =
+                RequestHeaders.builder(HttpMethod.POST, batch.repoPath + "/watch")
+                              .set(HttpHeaderNames.AUTHORIZATION, authorization)
+                              .setObject(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                              .contentType(MediaType.JSON_UTF_8)
+                              .build();
+        final long timeoutMillis = maxTimeoutMillis;
+        try (SafeCloseable ignored = Clients.withContextCustomizer(ctx -> {
+            final long responseTimeoutMillis = ctx.responseTimeoutMillis();
+            final long adjustmentMillis = WatchTimeout.availableTimeout(timeoutMillis, responseTimeoutMillis);
+            if (responseTimeoutMillis > 0) {
+                ctx.setResponseTimeoutMillis(TimeoutMode.EXTEND, adjustmentMillis);
+            } else {
+                ctx.setResponseTimeoutMillis(adjustmentMillis);
+            }
+        })) {
+            final HttpResponse res = client.execute(headers, body);
+            res.subscribe(new WatchResponseSubscriber(watches));
+            abortWhenCancelled(res, watches);
+        } catch (Throwable cause) {
+            watches.forEach(watch -> watch.future.completeExceptionally(cause));
+        }
+    }
+
+    /**
+     * Aborts the specified response once all the watches sharing it are done and any of them was cancelled,
+     * so that the server does not keep the watches which no one waits for. The response is not aborted if
+     * all watches were completed by the response, because the server completes it soon.
+     */
+    private static void abortWhenCancelled(HttpResponse res, List<PendingWatch<?>> watches) {
+        final AtomicInteger numPendingWatches = new AtomicInteger(watches.size());
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        for (PendingWatch<?> watch : watches) {
+            watch.future.whenComplete((unused1, unused2) -> {
+                if (watch.future.isCancelled()) {
+                    cancelled.set(true);
+                }
+                if (numPendingWatches.decrementAndGet() == 0 && cancelled.get()) {
+                    res.abort();
+                }
+            });
+        }
+    }
+
+    private static final class Batch {
+        final String repoPath;
+        final List<PendingWatch<?>> watches = new ArrayList<>();
+
+        Batch(String repoPath) {
+            this.repoPath = repoPath;
+        }
+    }
+
+    private static final class PendingWatch<T> {
+        final ObjectNode watch;
+        final long timeoutMillis;
+        final Function<AggregatedHttpResponse, T> decoder;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingWatch(ObjectNode watch, long timeoutMillis, Function<AggregatedHttpResponse, T> decoder) {
+            this.watch = watch;
+            this.timeoutMillis = timeoutMillis;
+            this.decoder = decoder;
+        }
+
+        void complete(AggregatedHttpResponse res) {
+            try {
+                future.complete(decoder.apply(res));
+            } catch (Throwable cause) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Splits the streaming response into JSON lines and completes the {@link PendingWatch} of each line.
+     * If the server rejected the whole request, e.g. due to a missing permission, the aggregated response
+     * is given to all {@link PendingWatch}es so that they fail with the same exception as a single watch.
+     */
+    private final class WatchResponseSubscriber implements Subscriber<HttpObject> {
+
+        private final List<PendingWatch<?>> watches;
+        private final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        @Nullable
+        private ResponseHeaders headers;
+
+        WatchResponseSubscriber(List<PendingWatch<?>> watches) {
+            this.watches = watches;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(HttpObject obj) {
+            if (obj instanceof ResponseHeaders) {
+                final ResponseHeaders headers = (ResponseHeaders) obj;
+                if (this.headers == null && !headers.status().isInformational()) {
+                    this.headers = headers;
+                }
+                return;
+            }
+            if (!(obj instanceof HttpData) || headers == null) {
+                // Ignore the trailers.
+                return;
+            }
+
+            final HttpData data = (HttpData) obj;
+            if (headers.status() != HttpStatus.OK) {
+                buf.write(data.array(), 0, data.length());
+                return;
+            }
+
+            final byte[] bytes = data.array();
+            int start = 0;
+            for (int i = 0; i < data.length(); i++) {
+                if (bytes[i] != '\n') {
+                    continue;
+                }
+                buf.write(bytes, start, i - start);
+                onLine(buf.toByteArray());
+                buf.reset();
+                start = i + 1;
+            }
+            buf.write(bytes, start, data.length() - start);
+        }
+
+        private void onLine(byte[] line) {
+            final JsonNode node;
+            try {
+                node = Jackson.readTree(line);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+
+            final int id = node.path("id").asInt(-1);
+            if (id < 0 || id >= watches.size()) {
+                return;
+            }
+            final HttpStatus status = HttpStatus.valueOf(node.path("status").asInt());
+            final JsonNode content = node.get("content");
+            final AggregatedHttpResponse res;
+            if (content == null) {
+                res = AggregatedHttpResponse.of(status);
+            } else if (content.isTextual()) {
+                res = AggregatedHttpResponse.of(status, MediaType.PLAIN_TEXT_UTF_8, content.textValue());
+            } else {
+                res = AggregatedHttpResponse.of(status, MediaType.JSON_UTF_8, content.toString());
+            }
+            watches.get(id).complete(res);
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            if (cause instanceof ClosedStreamException && client.options().factory().isClosing()) {
+                // A user closed the client factory while watching.
+                watches.forEach(watch -> watch.future.complete(null));
+            } else {
+                watches.forEach(watch -> watch.future.completeExceptionally(cause));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            final ResponseHeaders headers = this.headers;
+            if (headers != null && headers.status() != HttpStatus.OK) {
+                final AggregatedHttpResponse res = AggregatedHttpResponse.of(headers,
+                                                                             HttpData.wrap(buf.toByteArray()));
+                watches.forEach(watch -> watch.complete(res));
+                return;
+            }
+            // The server wrote a line for every watch unless it is shutting down.
+            // Treat the remaining watches as not modified so that the watchers retry.
+            watches.forEach(watch -> watch.future.complete(null));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client.armeria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.client.Watcher;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.EntryNotFoundException;
+import com.linecorp.centraldogma.common.PathPattern;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
+
+class MultiplexedWatchTest {
+
+    private static final Queue<ClientRequestContext> watchRequests = new ConcurrentLinkedQueue<>();
+
+    @RegisterExtension
+    static final CentralDogmaExtension dogma = new CentralDogmaExtension() {
+        @Override
+        protected void configureClient(ArmeriaCentralDogmaBuilder builder) {
+            builder.multiplexWatches(true);
+            builder.clientConfigurator(cb -> cb.decorator((delegate, ctx, req) -> {
+                if (ctx.path().endsWith("/watch")) {
+                    watchRequests.add(ctx);
+                }
+                return delegate.execute(ctx, req);
+            }));
+        }
+
+        @Override
+        protected void scaffold(CentralDogma client) {
+            client.createProject("foo").join();
+            client.createRepository("foo", "bar")
+                  .join()
+                  .commit("Add files",
+                          Change.ofTextUpsert("/a.txt", "a"),
+                          Change.ofJsonUpsert("/b.json", "{ \"b\": 1 }"))
+                  .push().join();
+        }
+    };
+
+    @Test
+    void watchersShareRequest() throws Exception {
+        final CentralDogma client = dogma.client();
+        watchRequests.clear();
+        final Watcher<String> textWatcher = client.forRepo("foo", "bar")
+                                                  .watcher(Query.ofText("/a.txt"))
+                                                  .start();
+        final Watcher<JsonNode> jsonWatcher = client.forRepo("foo", "bar")
+                                                    .watcher(Query.ofJsonPath("/b.json", "$.b"))
+                                                    .start();
+        final Watcher<Revision> repoWatcher = client.forRepo("foo", "bar")
+                                                    .watcher(PathPattern.of("/**"))
+                                                    .start();
+        assertThat(textWatcher.initialValueFuture().join().value()).isEqualToIgnoringNewLines("a");
+        assertThat(jsonWatcher.initialValueFuture().join().value().asInt()).isOne();
+        final Revision initialRevision = repoWatcher.initialValueFuture().join().value();
+        // The watchers started at the same time sent their watches in a single request.
+        assertThat(watchRequests).hasSize(1);
+
+        // The watchers are re-armed together after receiving their initial values.
+        await().until(() -> watchRequests.size() >= 2);
+        client.forRepo("foo", "bar")
+              .commit("Modify b.json", Change.ofJsonUpsert("/b.json", "{ \"b\": 2 }"))
+              .push().join();
+
+        await().untilAsserted(() -> {
+            assertThat(jsonWatcher.latestValue().asInt()).isEqualTo(2);
+            assertThat(repoWatcher.latestValue()).isEqualTo(initialRevision.forward(1));
+        });
+        // The text file was not changed.
+        assertThat(textWatcher.latest().revision()).isEqualTo(initialRevision);
+
+        // Only the two watchers notified by the same response are re-armed, again in a single request.
+        // The text watcher keeps waiting in the previous request.
+        await().until(() -> watchRequests.size() >= 3);
+        Thread.sleep(500);
+        assertThat(watchRequests).hasSize(3);
+
+        textWatcher.close();
+        jsonWatcher.close();
+        repoWatcher.close();
+    }
+
+    @Test
+    void abortRequestWhenAllWatchesCancelled() throws Exception {
+        final CentralDogma client = dogma.client();
+        final Revision head = client.normalizeRevision("foo", "bar", Revision.HEAD).join();
+        watchRequests.clear();
+        final CompletableFuture<Entry<String>> fileWatch =
+                client.watchFile("foo", "bar", head, Query.ofText("/a.txt"), 60000, false);
+        final CompletableFuture<Revision> repoWatch =
+                client.watchRepository("foo", "bar", head, PathPattern.of("/**"), 60000, false);
+
+        await().until(() -> !watchRequests.isEmpty());
+        assertThat(watchRequests).hasSize(1);
+        final ClientRequestContext ctx = watchRequests.poll();
+
+        // The request is still shared with the other watch.
+        fileWatch.cancel(false);
+        Thread.sleep(500);
+        assertThat(ctx.log().isComplete()).isFalse();
+
+        repoWatch.cancel(false);
+        await().until(() -> ctx.log().isComplete());
+        assertThat(ctx.log().ensureComplete().responseCause()).isNotNull();
+    }
+
+    @Test
+    void notModifiedAndErrors() {
+        final CentralDogma client = dogma.client();
+        final Revision head = client.normalizeRevision("foo", "bar", Revision.HEAD).join();
+        final CompletableFuture<Entry<String>> notModified =
+                client.watchFile("foo", "bar", head, Query.ofText("/a.txt"), 500, false);
+        final CompletableFuture<Entry<String>> notFound =
+                client.watchFile("foo", "bar", head, Query.ofText("/missing.txt"), 500, true);
+        final CompletableFuture<Revision> repoNotModified =
+                client.watchRepository("foo", "bar", head, PathPattern.of("/a.txt"), 500, false);
+
+        assertThat(notModified.join()).isNull();
+        assertThat(repoNotModified.join()).isNull();
+        assertThatThrownBy(notFound::join).isInstanceOf(CompletionException.class)
+                                          .hasCauseInstanceOf(EntryNotFoundException.class);
+    }
+}
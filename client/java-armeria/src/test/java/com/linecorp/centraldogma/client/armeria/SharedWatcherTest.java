@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client.armeria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.client.CentralDogmaRepository;
+import com.linecorp.centraldogma.client.Watcher;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
+
+class SharedWatcherTest {
+
+    @RegisterExtension
+    static final CentralDogmaExtension dogma = new CentralDogmaExtension() {
+        @Override
+        protected void scaffold(CentralDogma client) {
+            client.createProject("foo").join();
+            client.createRepository("foo", "bar")
+                  .join()
+                  .commit("Add baz.txt", Change.ofTextUpsert("/baz.txt", "0"))
+                  .push().join();
+        }
+    };
+
+    @Test
+    void identicalWatchersShareValue() throws Exception {
+        final CentralDogmaRepository repo = dogma.client().forRepo("foo", "bar");
+        final Watcher<String> watcher1 = repo.watcher(Query.ofText("/baz.txt")).start();
+        final Watcher<String> watcher2 = repo.watcher(Query.ofText("/baz.txt")).start();
+        // A watcher with different options is not shared.
+        final Watcher<String> watcher3 = repo.watcher(Query.ofText("/baz.txt"))
+                                             .timeoutMillis(10000)
+                                             .start();
+
+        watcher1.initialValueFuture().join();
+        watcher2.initialValueFuture().join();
+        watcher3.initialValueFuture().join();
+        assertThat(watcher1.latest()).isSameAs(watcher2.latest());
+        assertThat(watcher1.latest()).isNotSameAs(watcher3.latest());
+
+        final AtomicInteger counter1 = new AtomicInteger();
+        final AtomicInteger counter2 = new AtomicInteger();
+        watcher1.watch(value -> counter1.incrementAndGet());
+        watcher2.watch(value -> counter2.incrementAndGet());
+        await().until(() -> counter1.get() == 1 && counter2.get() == 1);
+
+        // Closing one of them should not affect the other.
+        watcher1.close();
+        repo.commit("Modify baz.txt", Change.ofTextUpsert("/baz.txt", "1")).push().join();
+        await().untilAsserted(() -> assertThat(watcher2.latestValue()).isEqualToIgnoringNewLines("1"));
+        await().until(() -> counter2.get() == 2);
+        Thread.sleep(500);
+        assertThat(counter1).hasValue(1);
+
+        // A new watcher reuses the running watcher.
+        final Watcher<String> watcher4 = repo.watcher(Query.ofText("/baz.txt")).start();
+        assertThat(watcher4.initialValueFuture().join()).isSameAs(watcher2.latest());
+
+        watcher2.close();
+        watcher3.close();
+        watcher4.close();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client.armeria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.client.Latest;
+import com.linecorp.centraldogma.client.Watcher;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.PathPattern;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
+
+class WatcherSnapshotCacheTest {
+
+    @TempDir
+    static Path snapshotCacheDir;
+
+    @RegisterExtension
+    static final CentralDogmaExtension dogma = new CentralDogmaExtension() {
+        @Override
+        protected void configureClient(ArmeriaCentralDogmaBuilder builder) {
+            builder.snapshotCacheDir(snapshotCacheDir);
+        }
+
+        @Override
+        protected void scaffold(CentralDogma client) {
+            client.createProject("foo").join();
+            client.createRepository("foo", "bar")
+                  .join()
+                  .commit("Add a.json", Change.ofJsonUpsert("/a.json", "{ \"a\": 1 }"))
+                  .push().join();
+        }
+    };
+
+    @Test
+    void serveSnapshotWithoutServer() throws Exception {
+        final int numSnapshots = numSnapshots();
+        final Watcher<JsonNode> fileWatcher = dogma.client().forRepo("foo", "bar")
+                                                   .watcher(Query.ofJsonPath("/a.json", "$.a"))
+                                                   .start();
+        final Watcher<Revision> repoWatcher = dogma.client().forRepo("foo", "bar")
+                                                   .watcher(PathPattern.all())
+                                                   .start();
+        final Latest<JsonNode> latest = fileWatcher.initialValueFuture().join();
+        final Revision revision = repoWatcher.initialValueFuture().join().value();
+        await().until(() -> numSnapshots() == numSnapshots + 2);
+        fileWatcher.close();
+        repoWatcher.close();
+
+        // A client which cannot connect to any server should still serve the stored values.
+        try (CentralDogma client = new ArmeriaCentralDogmaBuilder().host("127.0.0.1", 1)
+                                                                   .snapshotCacheDir(snapshotCacheDir)
+                                                                   .build()) {
+            final Watcher<Integer> offlineFileWatcher = client.forRepo("foo", "bar")
+                                                              .watcher(Query.ofJsonPath("/a.json", "$.a"))
+                                                              .map(JsonNode::asInt)
+                                                              .start();
+            final Watcher<Revision> offlineRepoWatcher = client.forRepo("foo", "bar")
+                                                               .watcher(PathPattern.all())
+                                                               .start();
+            final Latest<Integer> offlineLatest =
+                    offlineFileWatcher.initialValueFuture().get(1, TimeUnit.SECONDS);
+            assertThat(offlineLatest.revision()).isEqualTo(latest.revision());
+            assertThat(offlineLatest.value()).isOne();
+            assertThat(offlineRepoWatcher.initialValueFuture().get(1, TimeUnit.SECONDS).value())
+                    .isEqualTo(revision);
+            offlineFileWatcher.close();
+            offlineRepoWatcher.close();
+        }
+    }
+
+    @Test
+    void revalidateSnapshot() throws Exception {
+        final int numSnapshots = numSnapshots();
+        final Watcher<JsonNode> watcher = dogma.client().forRepo("foo", "bar")
+                                               .watcher(Query.ofJson("/a.json"))
+                                               .start();
+        final Revision initialRevision = watcher.initialValueFuture().join().revision();
+        await().until(() -> numSnapshots() == numSnapshots + 1);
+        watcher.close();
+        dogma.client().forRepo("foo", "bar")
+             .commit("Modify a.json", Change.ofJsonUpsert("/a.json", "{ \"a\": 2 }"))
+             .push().join();
+
+        // The stored value is served first and then updated by the server.
+        final Watcher<JsonNode> newWatcher = dogma.client().forRepo("foo", "bar")
+                                                  .watcher(Query.ofJson("/a.json"))
+                                                  .start();
+        assertThat(newWatcher.initialValueFuture().join().revision()).isEqualTo(initialRevision);
+        await().untilAsserted(() -> assertThat(newWatcher.latestValue().get("a").asInt()).isEqualTo(2));
+        newWatcher.close();
+    }
+
+    private static int numSnapshots() {
+        final File[] files = snapshotCacheDir.toFile().listFiles((dir, name) -> name.endsWith(".json"));
+        return files != null ? files.length : 0;
+    }
+}
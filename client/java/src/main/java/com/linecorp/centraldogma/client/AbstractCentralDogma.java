@@ -19,6 +19,7 @@ package com.linecorp.centraldogma.client;
 import static com.linecorp.centraldogma.internal.PathPatternUtil.toPathPattern;
 import static java.util.Objects.requireNonNull;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -48,6 +49,9 @@ public abstract class AbstractCentralDogma implements CentralDogma {
     private final ScheduledExecutorService blockingTaskExecutor;
     @Nullable
     private final MeterRegistry meterRegistry;
+    private final SharedWatcherRegistry watcherRegistry = new SharedWatcherRegistry();
+    @Nullable
+    private final WatcherSnapshotCache snapshotCache;
 
     /**
      * Creates a new instance.
@@ -58,8 +62,25 @@ public abstract class AbstractCentralDogma implements CentralDogma {
      */
     protected AbstractCentralDogma(ScheduledExecutorService blockingTaskExecutor,
                                    @Nullable MeterRegistry meterRegistry) {
+        this(blockingTaskExecutor, meterRegistry, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param blockingTaskExecutor the {@link ScheduledExecutorService} which will be used for scheduling the
+     *                             tasks related with automatic retries and invoking the callbacks for
+     *                             watched changes.
+     * @param snapshotCacheDir the directory where the latest values of the {@link Watcher}s are stored,
+     *                         or {@code null} to disable the snapshot cache
+     */
+    protected AbstractCentralDogma(ScheduledExecutorService blockingTaskExecutor,
+                                   @Nullable MeterRegistry meterRegistry, @Nullable Path snapshotCacheDir) {
         this.blockingTaskExecutor = requireNonNull(blockingTaskExecutor, "blockingTaskExecutor");
         this.meterRegistry = meterRegistry;
+        snapshotCache = snapshotCacheDir != null ? new WatcherSnapshotCache(snapshotCacheDir,
+                                                                           blockingTaskExecutor)
+                                                 : null;
     }
 
     /**
@@ -75,7 +96,7 @@ public abstract class AbstractCentralDogma implements CentralDogma {
         requireNonNull(projectName, "projectName");
         requireNonNull(repositoryName, "repositoryName");
         return new CentralDogmaRepository(this, projectName, repositoryName, blockingTaskExecutor,
-                                          meterRegistry);
+                                          meterRegistry, watcherRegistry, snapshotCache);
     }
 
     @Override
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -33,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -74,6 +76,8 @@ public abstract class AbstractCentralDogmaBuilder<B extends AbstractCentralDogma
             TimeUnit.SECONDS.toMillis(DEFAULT_RETRY_INTERVAL_ON_REPLICATION_LAG_SECONDS);
     @Nullable
     private MeterRegistry meterRegistry;
+    @Nullable
+    private Path snapshotCacheDir;
 
     /**
      * Returns {@code this}.
@@ -436,4 +440,30 @@ public abstract class AbstractCentralDogmaBuilder<B extends AbstractCentralDogma
     protected final MeterRegistry meterRegistry() {
         return meterRegistry;
     }
+
+    /**
+     * Sets the directory where the latest values of the {@link Watcher}s are stored. When set, a
+     * {@link Watcher} whose value was stored by a previous process serves the stored value as its initial
+     * value immediately, and then watches for the changes since the revision of the stored value. It lets
+     * an application start without waiting for the server, e.g. during an outage, and reduces the load
+     * of the server when many clients restart at once. This option is disabled by default.
+     *
+     * <p>Note that the initial value may be stale until the server responds. Only the values of the files
+     * and the revisions of the path patterns are stored, i.e. the values before
+     * {@link WatcherRequest#map(Function)} is applied.
+     */
+    public final B snapshotCacheDir(Path snapshotCacheDir) {
+        this.snapshotCacheDir = requireNonNull(snapshotCacheDir, "snapshotCacheDir");
+        return self();
+    }
+
+    /**
+     * Returns the directory where the latest values of the {@link Watcher}s are stored.
+     *
+     * @see #snapshotCacheDir(Path)
+     */
+    @Nullable
+    protected final Path snapshotCacheDir() {
+        return snapshotCacheDir;
+    }
 }
@@ -154,6 +154,15 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
      */
     void start() {
         if (state.compareAndSet(State.INIT, State.STARTED)) {
+            final Latest<T> snapshot = loadSnapshot();
+            if (snapshot != null) {
+                // Serve the stored value until the server responds. The next watch request will be sent
+                // with the revision of the stored value.
+                logger.debug("watcher loaded the snapshot of {}/{}{}: rev={}",
+                             projectName, repositoryName, pathPattern, snapshot.revision());
+                latest = snapshot;
+                initialValueFuture.complete(snapshot);
+            }
             scheduleWatch(0);
         }
         if (meterRegistry != null) {
@@ -197,7 +206,7 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
         }
     }
 
-    private boolean isStopped() {
+    boolean isStopped() {
         return state.get() == State.STOPPED;
     }
 
@@ -225,6 +234,13 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
         }
     }
 
+    /**
+     * Removes the listener added with {@link #watch(BiConsumer, Executor)}.
+     */
+    void removeListener(BiConsumer<? super Revision, ? super T> listener) {
+        updateListeners.removeIf(entry -> entry.getKey() == listener);
+    }
+
     private void scheduleWatch(int numAttemptsSoFar) {
         if (isStopped()) {
             return;
@@ -351,6 +367,12 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
 
     abstract CompletableFuture<Latest<T>> doWatch(Revision lastKnownRevision);
 
+    /**
+     * Returns the value stored in the {@link WatcherSnapshotCache}, or {@code null} if there is no such value.
+     */
+    @Nullable
+    abstract Latest<T> loadSnapshot();
+
     private void notifyListeners(Latest<T> latest) {
         if (isStopped()) {
             // Do not notify after stopped.
@@ -48,15 +48,21 @@ public final class CentralDogmaRepository {
     private final ScheduledExecutorService blockingTaskExecutor;
     @Nullable
     private final MeterRegistry meterRegistry;
+    private final SharedWatcherRegistry watcherRegistry;
+    @Nullable
+    private final WatcherSnapshotCache snapshotCache;
 
     CentralDogmaRepository(CentralDogma centralDogma, String projectName, String repositoryName,
                            ScheduledExecutorService blockingTaskExecutor,
-                           @Nullable MeterRegistry meterRegistry) {
+                           @Nullable MeterRegistry meterRegistry, SharedWatcherRegistry watcherRegistry,
+                           @Nullable WatcherSnapshotCache snapshotCache) {
         this.centralDogma = centralDogma;
         this.projectName = projectName;
         this.repositoryName = repositoryName;
         this.blockingTaskExecutor = blockingTaskExecutor;
         this.meterRegistry = meterRegistry;
+        this.watcherRegistry = watcherRegistry;
+        this.snapshotCache = snapshotCache;
     }
 
     CentralDogma centralDogma() {
@@ -287,7 +293,8 @@ public final class CentralDogmaRepository {
      */
     public <T> WatcherRequest<T> watcher(Query<T> query) {
         requireNonNull(query, "query");
-        return new WatcherRequest<>(this, query, blockingTaskExecutor, meterRegistry);
+        return new WatcherRequest<>(this, query, blockingTaskExecutor, meterRegistry, watcherRegistry,
+                                    snapshotCache);
     }
 
     /**
@@ -295,7 +302,8 @@ public final class CentralDogmaRepository {
      */
     public WatcherRequest<Revision> watcher(PathPattern pathPattern) {
         requireNonNull(pathPattern, "pathPattern");
-        return new WatcherRequest<>(this, pathPattern, blockingTaskExecutor, meterRegistry);
+        return new WatcherRequest<>(this, pathPattern, blockingTaskExecutor, meterRegistry,
+                                    watcherRegistry, snapshotCache);
     }
 
     @Override
@@ -22,6 +22,9 @@ import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.Query;
 import com.linecorp.centraldogma.common.Revision;
@@ -30,6 +33,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 final class FileWatcher<T> extends AbstractWatcher<T> {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
+
     private final CentralDogma centralDogma;
     private final String projectName;
     private final String repositoryName;
@@ -40,12 +45,15 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
     private final Function<Object, ? extends T> mapper;
     @Nullable
     private final Executor mapperExecutor;
+    @Nullable
+    private final WatcherSnapshotCache snapshotCache;
 
     FileWatcher(CentralDogma centralDogma, ScheduledExecutorService watchScheduler, String projectName,
                 String repositoryName, Query<T> query, long timeoutMillis, boolean errorOnEntryNotFound,
                 @Nullable Function<Object, ? extends T> mapper, Executor mapperExecutor,
                 long delayOnSuccessMillis, long initialDelayMillis, long maxDelayMillis, double multiplier,
-                double jitterRate, @Nullable MeterRegistry meterRegistry) {
+                double jitterRate, @Nullable MeterRegistry meterRegistry,
+                @Nullable WatcherSnapshotCache snapshotCache) {
         super(watchScheduler, projectName, repositoryName, query.path(), errorOnEntryNotFound,
               delayOnSuccessMillis, initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
         this.centralDogma = centralDogma;
@@ -56,6 +64,7 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
         this.errorOnEntryNotFound = errorOnEntryNotFound;
         this.mapper = mapper;
         this.mapperExecutor = mapperExecutor;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
@@ -63,6 +72,13 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
         final CompletableFuture<Entry<T>> future = centralDogma.watchFile(projectName, repositoryName,
                                                                           lastKnownRevision, query,
                                                                           timeoutMillis, errorOnEntryNotFound);
+        if (snapshotCache != null) {
+            future.thenAccept(entry -> {
+                if (entry != null) {
+                    snapshotCache.save(projectName, repositoryName, query, entry.revision(), entry.content());
+                }
+            });
+        }
         if (mapper == null) {
             return future.thenApply(entry -> {
                 if (entry == null) {
@@ -78,4 +94,27 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
             return new Latest<>(entry.revision(), mapper.apply(entry.content()));
         }, mapperExecutor);
     }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    Latest<T> loadSnapshot() {
+        if (snapshotCache == null) {
+            return null;
+        }
+        final Latest<Object> snapshot = snapshotCache.load(projectName, repositoryName, query);
+        if (snapshot == null) {
+            return null;
+        }
+        if (mapper == null) {
+            return (Latest<T>) snapshot;
+        }
+        try {
+            return new Latest<>(snapshot.revision(), mapper.apply(snapshot.value()));
+        } catch (Exception e) {
+            logger.warn("Failed to apply the mapper to the snapshot of {}/{}{}; ignoring the snapshot",
+                        projectName, repositoryName, query.path(), e);
+            return null;
+        }
+    }
 }
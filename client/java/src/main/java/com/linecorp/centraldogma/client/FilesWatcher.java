@@ -24,6 +24,9 @@ import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.linecorp.centraldogma.common.PathPattern;
 import com.linecorp.centraldogma.common.Revision;
 
@@ -31,6 +34,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 final class FilesWatcher<T> extends AbstractWatcher<T> {
 
+    private static final Logger logger = LoggerFactory.getLogger(FilesWatcher.class);
+
     private final CentralDogma centralDogma;
     private final String projectName;
     private final String repositoryName;
@@ -41,13 +46,16 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
     private final Function<Revision, ? extends T> mapper;
     @Nullable
     private final Executor mapperExecutor;
+    @Nullable
+    private final WatcherSnapshotCache snapshotCache;
 
     FilesWatcher(CentralDogma centralDogma, ScheduledExecutorService watchScheduler,
                  String projectName, String repositoryName, PathPattern pathPattern,
                  long timeoutMillis, boolean errorOnEntryNotFound,
                  @Nullable Function<Object, ? extends T> mapper, Executor mapperExecutor,
                  long delayOnSuccessMillis, long initialDelayMillis, long maxDelayMillis,
-                 double multiplier, double jitterRate, @Nullable MeterRegistry meterRegistry) {
+                 double multiplier, double jitterRate, @Nullable MeterRegistry meterRegistry,
+                 @Nullable WatcherSnapshotCache snapshotCache) {
         super(watchScheduler, projectName, repositoryName, pathPattern.patternString(), errorOnEntryNotFound,
               delayOnSuccessMillis, initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
         this.centralDogma = centralDogma;
@@ -58,6 +66,7 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
         this.errorOnEntryNotFound = errorOnEntryNotFound;
         this.mapper = mapper != null ? unsafeCast(mapper) : null;
         this.mapperExecutor = mapperExecutor;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
@@ -65,6 +74,13 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
         final CompletableFuture<Revision> future = centralDogma.watchRepository(
                 projectName, repositoryName, lastKnownRevision,
                 pathPattern, timeoutMillis, errorOnEntryNotFound);
+        if (snapshotCache != null) {
+            future.thenAccept(revision -> {
+                if (revision != null) {
+                    snapshotCache.save(projectName, repositoryName, pathPattern, revision, null);
+                }
+            });
+        }
         if (mapper == null) {
             return future.thenApply(revision -> {
                 if (revision == null) {
@@ -81,4 +97,28 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
             return new Latest<>(revision, mapper.apply(revision));
         }, mapperExecutor);
     }
+
+    @Nullable
+    @Override
+    Latest<T> loadSnapshot() {
+        if (snapshotCache == null) {
+            return null;
+        }
+        final Latest<Object> snapshot = snapshotCache.load(projectName, repositoryName, pathPattern);
+        if (snapshot == null) {
+            return null;
+        }
+        final Revision revision = snapshot.revision();
+        if (mapper == null) {
+            //noinspection unchecked
+            return new Latest<>(revision, (T) revision);
+        }
+        try {
+            return new Latest<>(revision, mapper.apply(revision));
+        } catch (Exception e) {
+            logger.warn("Failed to apply the mapper to the snapshot of {}/{}{}; ignoring the snapshot",
+                        projectName, repositoryName, pathPattern.patternString(), e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * Shares a single {@link AbstractWatcher} among the {@link Watcher}s which watch the same target with the
+ * same options, so that they send one watch request and hold one {@link Latest} value instead of one per
+ * {@link Watcher}. The shared {@link AbstractWatcher} is closed when the last {@link Watcher} is closed.
+ */
+final class SharedWatcherRegistry {
+
+    private final Map<Object, Entry> entries = new HashMap<>();
+
+    /**
+     * Returns a new {@link Watcher} which shares the started {@link AbstractWatcher} registered with the
+     * specified {@code key}. A new {@link AbstractWatcher} is created with the specified {@code factory} and
+     * started if there is no such one.
+     */
+    <T> Watcher<T> watcher(Object key, Supplier<AbstractWatcher<T>> factory) {
+        requireNonNull(key, "key");
+        requireNonNull(factory, "factory");
+        final Entry entry;
+        synchronized (entries) {
+            final Entry oldEntry = entries.get(key);
+            if (oldEntry != null && !oldEntry.watcher.isStopped()) {
+                entry = oldEntry;
+            } else {
+                // The old watcher may have stopped by itself, e.g. due to a missing entry.
+                final AbstractWatcher<T> watcher = factory.get();
+                watcher.start();
+                entry = new Entry(key, watcher);
+                entries.put(key, entry);
+            }
+            entry.refCnt++;
+        }
+
+        @SuppressWarnings("unchecked")
+        final AbstractWatcher<T> watcher = (AbstractWatcher<T>) entry.watcher;
+        return new SharedWatcher<>(entry, watcher);
+    }
+
+    private void release(Entry entry) {
+        synchronized (entries) {
+            if (--entry.refCnt > 0) {
+                return;
+            }
+            entries.remove(entry.key, entry);
+        }
+        entry.watcher.close();
+    }
+
+    private static final class Entry {
+        final Object key;
+        final AbstractWatcher<?> watcher;
+        int refCnt;
+
+        Entry(Object key, AbstractWatcher<?> watcher) {
+            this.key = key;
+            this.watcher = watcher;
+        }
+    }
+
+    /**
+     * A {@link Watcher} which delegates to a shared {@link AbstractWatcher}. It has its own listeners and
+     * {@link #initialValueFuture()}, so closing it does not affect the other {@link Watcher}s.
+     */
+    private final class SharedWatcher<T> implements Watcher<T> {
+
+        private final Entry entry;
+        private final AbstractWatcher<T> delegate;
+        private final CompletableFuture<Latest<T>> initialValueFuture = new CompletableFuture<>();
+        private final List<BiConsumer<? super Revision, ? super T>> listeners = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        SharedWatcher(Entry entry, AbstractWatcher<T> delegate) {
+            this.entry = entry;
+            this.delegate = delegate;
+            delegate.initialValueFuture().whenComplete((unused, cause) -> {
+                if (cause != null) {
+                    initialValueFuture.completeExceptionally(cause);
+                } else {
+                    // Use the current value rather than the initial value of the shared watcher,
+                    // which may have been updated since.
+                    initialValueFuture.complete(delegate.latest());
+                }
+            });
+        }
+
+        @Override
+        public ScheduledExecutorService watchScheduler() {
+            return delegate.watchScheduler();
+        }
+
+        @Override
+        public CompletableFuture<Latest<T>> initialValueFuture() {
+            return initialValueFuture;
+        }
+
+        @Override
+        public Latest<T> latest() {
+            return delegate.latest();
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (!initialValueFuture.isDone()) {
+                initialValueFuture.cancel(false);
+            }
+            listeners.forEach(delegate::removeListener);
+            release(entry);
+        }
+
+        @Override
+        public void watch(BiConsumer<? super Revision, ? super T> listener) {
+            watch(listener, delegate.watchScheduler());
+        }
+
+        @Override
+        public void watch(BiConsumer<? super Revision, ? super T> listener, Executor executor) {
+            requireNonNull(listener, "listener");
+            requireNonNull(executor, "executor");
+            checkState(!closed.get(), "watcher closed");
+            final BiConsumer<? super Revision, ? super T> guardedListener = (revision, value) -> {
+                if (!closed.get()) {
+                    listener.accept(revision, value);
+                }
+            };
+            listeners.add(guardedListener);
+            delegate.watch(guardedListener, executor);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("delegate", delegate)
+                              .add("closed", closed.get())
+                              .toString();
+        }
+    }
+}
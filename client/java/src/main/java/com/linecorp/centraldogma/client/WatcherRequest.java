@@ -26,6 +26,8 @@ import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableList;
+
 import com.linecorp.centraldogma.common.PathPattern;
 import com.linecorp.centraldogma.common.Query;
 
@@ -54,6 +56,9 @@ public final class WatcherRequest<T> extends WatchOptions {
 
     @Nullable
     private final MeterRegistry meterRegistry;
+    private final SharedWatcherRegistry watcherRegistry;
+    @Nullable
+    private final WatcherSnapshotCache snapshotCache;
 
     private long delayOnSuccessMillis = DEFAULT_DELAY_ON_SUCCESS_MILLIS;
     private long initialDelayMillis = DEFAULT_DELAY_ON_SUCCESS_MILLIS * 2;
@@ -62,24 +67,31 @@ public final class WatcherRequest<T> extends WatchOptions {
     private double jitterRate = DEFAULT_JITTER_RATE;
 
     WatcherRequest(CentralDogmaRepository centralDogmaRepo, Query<T> query,
-                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry) {
-        this(centralDogmaRepo, query, null, blockingTaskExecutor, meterRegistry);
+                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry,
+                   SharedWatcherRegistry watcherRegistry, @Nullable WatcherSnapshotCache snapshotCache) {
+        this(centralDogmaRepo, query, null, blockingTaskExecutor, meterRegistry, watcherRegistry,
+             snapshotCache);
     }
 
     WatcherRequest(CentralDogmaRepository centralDogmaRepo, PathPattern pathPattern,
-                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry) {
-        this(centralDogmaRepo, null, pathPattern, blockingTaskExecutor, meterRegistry);
+                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry,
+                   SharedWatcherRegistry watcherRegistry, @Nullable WatcherSnapshotCache snapshotCache) {
+        this(centralDogmaRepo, null, pathPattern, blockingTaskExecutor, meterRegistry, watcherRegistry,
+             snapshotCache);
     }
 
     private WatcherRequest(CentralDogmaRepository centralDogmaRepo, @Nullable Query<T> query,
                            @Nullable PathPattern pathPattern, ScheduledExecutorService blockingTaskExecutor,
-                           @Nullable MeterRegistry meterRegistry) {
+                           @Nullable MeterRegistry meterRegistry, SharedWatcherRegistry watcherRegistry,
+                           @Nullable WatcherSnapshotCache snapshotCache) {
         this.centralDogmaRepo = centralDogmaRepo;
         this.query = query;
         this.pathPattern = pathPattern;
         this.blockingTaskExecutor = blockingTaskExecutor;
         executor = blockingTaskExecutor;
         this.meterRegistry = meterRegistry;
+        this.watcherRegistry = watcherRegistry;
+        this.snapshotCache = snapshotCache;
     }
 
     /**
@@ -171,8 +183,34 @@ public final class WatcherRequest<T> extends WatchOptions {
     /**
      * Creates a new {@link Watcher} and starts to watch the target. The {@link Watcher} must be closed via
      * {@link Watcher#close()} after use.
+     *
+     * <p>If no {@link #map(Function)} is specified, the {@link Watcher}s which watch the same target with
+     * the same options share a single watch request and value, until the last of them is closed.
      */
     public Watcher<T> start() {
+        if (mapper == null) {
+            final Object key = ImmutableList.of(
+                    centralDogmaRepo.projectName(), centralDogmaRepo.repositoryName(),
+                    watchTarget(), timeoutMillis(),
+                    errorOnEntryNotFound(), delayOnSuccessMillis, initialDelayMillis, maxDelayMillis,
+                    multiplier, jitterRate);
+            return watcherRegistry.watcher(key, this::newWatcher);
+        }
+
+        final AbstractWatcher<T> watcher = newWatcher();
+        watcher.start();
+        return watcher;
+    }
+
+    private Object watchTarget() {
+        if (query != null) {
+            return query;
+        }
+        assert pathPattern != null;
+        return pathPattern.patternString();
+    }
+
+    private AbstractWatcher<T> newWatcher() {
         final String proName = centralDogmaRepo.projectName();
         final String repoName = centralDogmaRepo.repositoryName();
         final AbstractWatcher<T> watcher;
@@ -180,15 +218,16 @@ public final class WatcherRequest<T> extends WatchOptions {
             watcher = new FileWatcher<>(
                     centralDogmaRepo.centralDogma(), blockingTaskExecutor, proName, repoName, query,
                     timeoutMillis(), errorOnEntryNotFound(), mapper, executor, delayOnSuccessMillis,
-                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
+                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry,
+                    snapshotCache);
         } else {
             assert pathPattern != null;
             watcher = new FilesWatcher<>(
                     centralDogmaRepo.centralDogma(), blockingTaskExecutor, proName, repoName, pathPattern,
                     timeoutMillis(), errorOnEntryNotFound(), mapper, executor, delayOnSuccessMillis,
-                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
+                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry,
+                    snapshotCache);
         }
-        watcher.start();
         return watcher;
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.centraldogma.common.PathPattern;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+/**
+ * Stores the latest value of each {@link Watcher} in a directory, so that a {@link Watcher} created after
+ * a restart serves the stored value as its initial value immediately and then watches for the changes
+ * since the stored {@link Revision}, without waiting for the server.
+ *
+ * <p>A file is written for each project, repository and {@link Query} or {@link PathPattern}. Only the value
+ * received from the server is stored, i.e. the value before {@link WatcherRequest#map(Function)} is applied,
+ * and only when the value is a {@link String} or a {@link JsonNode}.
+ */
+final class WatcherSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatcherSnapshotCache.class);
+
+    private static final String TEXT = "TEXT";
+    private static final String JSON = "JSON";
+    private static final String NONE = "NONE";
+
+    private final Path dir;
+    private final Executor executor;
+
+    WatcherSnapshotCache(Path dir, Executor executor) {
+        this.dir = requireNonNull(dir, "dir");
+        this.executor = requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Loads the stored value of the specified {@link Query} or {@link PathPattern}.
+     *
+     * @return {@code null} if there is no stored value or the stored value is corrupt
+     */
+    @Nullable
+    Latest<Object> load(String projectName, String repositoryName, Object target) {
+        final String key = key(projectName, repositoryName, target);
+        final Path path = path(key);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            final JsonNode node = Jackson.readTree(Files.readAllBytes(path));
+            if (!key.equals(node.path("key").asText())) {
+                // Two keys with the same hash; very unlikely.
+                return null;
+            }
+            final Revision revision = new Revision(node.get("revision").asInt());
+            final JsonNode content = node.path("content");
+            switch (node.path("type").asText()) {
+                case TEXT:
+                    return new Latest<>(revision, content.asText());
+                case JSON:
+                    return new Latest<>(revision, content);
+                case NONE:
+                    return new Latest<>(revision, null);
+                default:
+                    return null;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to read a watcher snapshot: {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the specified value of the {@link Query} or {@link PathPattern} asynchronously.
+     * The value is not stored if it is neither {@code null}, a {@link String} nor a {@link JsonNode}.
+     */
+    void save(String projectName, String repositoryName, Object target, Revision revision,
+              @Nullable Object value) {
+        final String type;
+        if (value == null) {
+            type = NONE;
+        } else if (value instanceof String) {
+            type = TEXT;
+        } else if (value instanceof JsonNode) {
+            type = JSON;
+        } else {
+            return;
+        }
+
+        final String key = key(projectName, repositoryName, target);
+        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("key", key);
+        node.put("revision", revision.major());
+        node.put("type", type);
+        if (value instanceof String) {
+            node.put("content", (String) value);
+        } else if (value instanceof JsonNode) {
+            node.set("content", (JsonNode) value);
+        }
+
+        executor.execute(() -> {
+            final Path path = path(key);
+            Path tmpPath = null;
+            try {
+                Files.createDirectories(dir);
+                // Use a unique temporary file because more than one watcher may watch the same target.
+                tmpPath = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+                Files.write(tmpPath, Jackson.writeValueAsBytes(node));
+                Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (Exception e) {
+                logger.warn("Failed to write a watcher snapshot: {}", path, e);
+                if (tmpPath != null) {
+                    try {
+                        Files.deleteIfExists(tmpPath);
+                    } catch (Exception ignored) {
+                        // Ignore.
+                    }
+                }
+            }
+        });
+    }
+
+    private Path path(String key) {
+        return dir.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + ".json");
+    }
+
+    private static String key(String projectName, String repositoryName, Object target) {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(projectName).append('/').append(repositoryName).append(':');
+        if (target instanceof Query) {
+            final Query<?> query = (Query<?>) target;
+            buf.append(query.type()).append(':').append(query.path());
+            query.expressions().forEach(expr -> buf.append(':').append(expr));
+        } else {
+            buf.append("PATH_PATTERN:").append(((PathPattern) target).patternString());
+        }
+        return buf.toString();
+    }
+}
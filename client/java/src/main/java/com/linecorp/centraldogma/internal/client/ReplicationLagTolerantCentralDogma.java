@@ -20,13 +20,16 @@ import static com.spotify.futures.CompletableFutures.exceptionallyCompletedFutur
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
-import java.util.LinkedHashMap;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -73,25 +76,33 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
     private static final Logger logger =
             LoggerFactory.getLogger(ReplicationLagTolerantCentralDogma.class);
 
+    private static final int MAX_REPOSITORIES = 8192;
+
     private final CentralDogma delegate;
     private final int maxRetries;
     private final long retryIntervalMillis;
     private final Supplier<?> currentReplicaHintSupplier;
-    private final Map<RepoId, Revision> latestKnownRevisions = new LinkedHashMap<RepoId, Revision>() {
-        private static final long serialVersionUID = 3587793379404809027L;
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<RepoId, Revision> eldest) {
-            // Keep only up to 8192 repositories, which should be enough for almost all cases.
-            return size() > 8192;
-        }
-    };
+    /**
+     * The latest known {@link Revision} of each repository. Reads never block and an update is a
+     * compare-and-set that only moves a {@link Revision} forward, so that the requests to different
+     * repositories and the concurrent requests to the same repository do not contend with each other.
+     */
+    private final ConcurrentMap<RepoId, Revision> latestKnownRevisions = new ConcurrentHashMap<>();
 
     public ReplicationLagTolerantCentralDogma(ScheduledExecutorService blockingTaskExecutor,
                                               CentralDogma delegate, int maxRetries, long retryIntervalMillis,
                                               Supplier<?> currentReplicaHintSupplier,
                                               @Nullable MeterRegistry meterRegistry) {
-        super(blockingTaskExecutor, meterRegistry);
+        this(blockingTaskExecutor, delegate, maxRetries, retryIntervalMillis, currentReplicaHintSupplier,
+             meterRegistry, null);
+    }
+
+    public ReplicationLagTolerantCentralDogma(ScheduledExecutorService blockingTaskExecutor,
+                                              CentralDogma delegate, int maxRetries, long retryIntervalMillis,
+                                              Supplier<?> currentReplicaHintSupplier,
+                                              @Nullable MeterRegistry meterRegistry,
+                                              @Nullable Path snapshotCacheDir) {
+        super(blockingTaskExecutor, meterRegistry, snapshotCacheDir);
 
         requireNonNull(delegate, "delegate");
         checkArgument(maxRetries > 0, "maxRetries: %s (expected: > 0)", maxRetries);
@@ -732,9 +743,7 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
     @Nullable
     @VisibleForTesting
     Revision latestKnownRevision(String projectName, String repositoryName) {
-        synchronized (latestKnownRevisions) {
-            return latestKnownRevisions.get(new RepoId(projectName, repositoryName));
-        }
+        return latestKnownRevisions.get(new RepoId(projectName, repositoryName));
     }
 
     /**
@@ -746,9 +755,13 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
     private boolean updateLatestKnownRevision(String projectName, String repositoryName, Revision newRevision) {
         final Object currentReplicaHint = currentReplicaHintSupplier.get();
         final RepoId id = new RepoId(projectName, repositoryName);
-        synchronized (latestKnownRevisions) {
+        for (;;) {
             final Revision oldRevision = latestKnownRevisions.get(id);
             if (oldRevision == null) {
+                if (latestKnownRevisions.putIfAbsent(id, newRevision) != null) {
+                    // Updated by another thread; compare again.
+                    continue;
+                }
                 if (currentReplicaHint != null) {
                     logger.debug("[{}] Updating the latest known revision for {}/{} from <unknown> to: {}",
                                  currentReplicaHint, projectName, repositoryName, newRevision);
@@ -756,12 +769,16 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
                     logger.debug("Updating the latest known revision for {}/{} from <unknown> to: {}",
                                  projectName, repositoryName, newRevision);
                 }
-                latestKnownRevisions.put(id, newRevision);
+                evictExcessiveRevisions(id);
                 return true;
             }
 
             final int comparison = oldRevision.compareTo(newRevision);
             if (comparison < 0) {
+                if (!latestKnownRevisions.replace(id, oldRevision, newRevision)) {
+                    // Updated or evicted by another thread; compare again.
+                    continue;
+                }
                 if (currentReplicaHint != null) {
                     logger.debug("[{}] Updating the latest known revision for {}/{} from {} to: {}",
                                  currentReplicaHint, projectName, repositoryName, oldRevision, newRevision);
@@ -769,7 +786,6 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
                     logger.debug("Updating the latest known revision for {}/{} from {} to: {}",
                                  projectName, repositoryName, oldRevision, newRevision);
                 }
-                latestKnownRevisions.put(id, newRevision);
                 return true;
             }
 
@@ -795,6 +811,21 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
         }
     }
 
+    private void evictExcessiveRevisions(RepoId addedId) {
+        // Keep only up to 8192 repositories, which should be enough for almost all cases.
+        // Unlike an LRU cache, arbitrary entries are evicted, which is fine because an evicted entry only
+        // means a request to the repository is not retried until its revision is known again.
+        if (latestKnownRevisions.size() <= MAX_REPOSITORIES) {
+            return;
+        }
+        final Iterator<RepoId> it = latestKnownRevisions.keySet().iterator();
+        while (latestKnownRevisions.size() > MAX_REPOSITORIES && it.hasNext()) {
+            if (!it.next().equals(addedId)) {
+                it.remove();
+            }
+        }
+    }
+
     @Nullable
     private static Object resultOrCause(@Nullable Object res, @Nullable Throwable cause) {
         return res != null ? res : cause;
@@ -41,6 +41,7 @@ import com.cronutils.parser.CronParser;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.credential.Credential;
 import com.linecorp.centraldogma.server.internal.mirror.AbstractMirror;
@@ -55,8 +56,10 @@ import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
 import com.linecorp.centraldogma.server.storage.repository.MetaRepository;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
 import com.linecorp.centraldogma.testing.internal.CrudRepositoryExtension;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class CustomMirrorListenerTest {
@@ -88,10 +91,13 @@ class CustomMirrorListenerTest {
         final ProjectManager pm = mock(ProjectManager.class);
         final Project p = mock(Project.class);
         final MetaRepository mr = mock(MetaRepository.class);
+        final RepositoryManager rm = mock(RepositoryManager.class);
         final Repository r = mock(Repository.class);
         when(pm.list()).thenReturn(ImmutableMap.of("foo", p));
         when(p.name()).thenReturn("foo");
         when(p.metaRepo()).thenReturn(mr);
+        when(p.repos()).thenReturn(rm);
+        when(mr.normalizeNow(Revision.HEAD)).thenReturn(Revision.INIT);
         when(r.parent()).thenReturn(p);
         when(r.name()).thenReturn("bar");
 
@@ -101,13 +107,14 @@ class CustomMirrorListenerTest {
                                                  URI.create("unused://uri"), "/", "", null, null) {
             @Override
             protected MirrorResult mirrorLocalToRemote(File workDir, int maxNumFiles, long maxNumBytes,
-                                                       Instant triggeredTime) {
+                                                       Instant triggeredTime, MeterRegistry meterRegistry) {
                 throw new UnsupportedOperationException();
             }
 
             @Override
             protected MirrorResult mirrorRemoteToLocal(File workDir, CommandExecutor executor,
-                                                       int maxNumFiles, long maxNumBytes, Instant triggeredTime)
+                                                       int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+                                                       MeterRegistry meterRegistry)
                     throws Exception {
                 final int counter = taskCounter.incrementAndGet();
                 if (counter == 1) {
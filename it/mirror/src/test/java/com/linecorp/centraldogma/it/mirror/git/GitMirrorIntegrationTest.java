@@ -235,6 +235,45 @@ class GitMirrorIntegrationTest {
                                            Entry.ofText(rev4, "/final_fantasy_xv.txt", "29-Nov-2016\n"));
     }
 
+    @Test
+    void remoteToLocal_changesSincePreviousMirror() throws Exception {
+        pushMirrorSettings(null, null, null);
+
+        addToGitIndex("first/light.txt", "26-Aug-2014");
+        addToGitIndex("second/son.json", "{\"release_date\": \"21-Mar-2014\"}");
+        git.commit().setMessage("Add the release dates of the 'Infamous' series").call();
+        mirroringService.mirror().join();
+
+        // Modify a file and remove a file.
+        addToGitIndex("first/light.txt", "27-Aug-2014");
+        git.rm().addFilepattern("second/son.json").call();
+        git.commit().setMessage("Modify the release dates").call();
+        mirroringService.mirror().join();
+
+        final Revision rev0 = client.normalizeRevision(projName, REPO_FOO, Revision.HEAD).join();
+        assertThat(client.getFiles(projName, REPO_FOO, rev0, PathPattern.all()).join().values())
+                .containsExactlyInAnyOrder(expectedMirrorState(rev0, "/"),
+                                           Entry.ofDirectory(rev0, "/first"),
+                                           Entry.ofText(rev0, "/first/light.txt", "27-Aug-2014\n"));
+
+        // Modify the mirrored files locally, which should be reverted by the next mirroring.
+        client.forRepo(projName, REPO_FOO)
+              .commit("Modify the mirrored files",
+                      Change.ofTextUpsert("/first/light.txt", "28-Aug-2014"),
+                      Change.ofTextUpsert("/third.txt", "29-Aug-2014"))
+              .push().join();
+        addToGitIndex("fourth.txt", "30-Aug-2014");
+        git.commit().setMessage("Add the release date of the fourth").call();
+        mirroringService.mirror().join();
+
+        final Revision rev1 = client.normalizeRevision(projName, REPO_FOO, Revision.HEAD).join();
+        assertThat(client.getFiles(projName, REPO_FOO, rev1, PathPattern.all()).join().values())
+                .containsExactlyInAnyOrder(expectedMirrorState(rev1, "/"),
+                                           Entry.ofDirectory(rev1, "/first"),
+                                           Entry.ofText(rev1, "/first/light.txt", "27-Aug-2014\n"),
+                                           Entry.ofText(rev1, "/fourth.txt", "30-Aug-2014\n"));
+    }
+
     @Test
     void remoteToLocal_gitignore() throws Exception {
         pushMirrorSettings(null, "/first#master", "\"/exclude_if_root.txt\\nexclude_dir\"");
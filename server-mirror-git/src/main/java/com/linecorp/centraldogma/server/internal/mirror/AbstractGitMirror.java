@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -77,8 +78,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 
 import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Commit;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.EntryType;
 import com.linecorp.centraldogma.common.Markup;
@@ -98,6 +102,9 @@ import com.linecorp.centraldogma.server.mirror.git.GitMirrorException;
 import com.linecorp.centraldogma.server.storage.StorageException;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
 abstract class AbstractGitMirror extends AbstractMirror {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractGitMirror.class);
@@ -119,6 +126,12 @@ abstract class AbstractGitMirror extends AbstractMirror {
 
     private static final String HEAD_REF_MASTER = Constants.R_HEADS + Constants.MASTER;
 
+    /**
+     * The prefix of the refs which point to the remote commits mirrored previously. They are kept in the
+     * local Git repository so that the next mirroring only needs to read the files changed since then.
+     */
+    private static final String R_MIRRORED = "refs/mirrored/";
+
     @Nullable
     private IgnoreNode ignoreNode;
 
@@ -147,7 +160,10 @@ abstract class AbstractGitMirror extends AbstractMirror {
                 workDir,
                 CONSECUTIVE_UNDERSCORES.matcher(DISALLOWED_CHARS.matcher(
                         remoteRepoUri().toASCIIString()).replaceAll("_")).replaceAll("_"));
+        // Keep the cached repositories under the work directory within the limit.
+        GitObjectCache.of(workDir).evict(repoDir);
         final GitWithAuth git = new GitWithAuth(this, repoDir, remoteUri, configurator);
+        GitObjectCache.touch(repoDir);
         boolean success = false;
         try {
             // Set the remote URLs.
@@ -177,12 +193,12 @@ abstract class AbstractGitMirror extends AbstractMirror {
     }
 
     MirrorResult mirrorLocalToRemote(
-            GitWithAuth git, int maxNumFiles, long maxNumBytes, Instant triggeredTime)
-            throws GitAPIException, IOException {
+            GitWithAuth git, int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+            MeterRegistry meterRegistry) throws GitAPIException, IOException {
         // TODO(minwoox): Early return if the remote does not have any updates.
         final Ref headBranchRef = getHeadBranchRef(git);
         final String headBranchRefName = headBranchRef.getName();
-        final ObjectId headCommitId = fetchRemoteHeadAndGetCommitId(git, headBranchRefName);
+        final ObjectId headCommitId = fetchRemoteHeadAndGetCommitId(git, headBranchRefName, meterRegistry);
 
         final org.eclipse.jgit.lib.Repository gitRepository = git.getRepository();
         final String description;
@@ -247,8 +263,8 @@ abstract class AbstractGitMirror extends AbstractMirror {
     }
 
     MirrorResult mirrorRemoteToLocal(
-            GitWithAuth git, CommandExecutor executor, int maxNumFiles, long maxNumBytes, Instant triggeredTime)
-            throws Exception {
+            GitWithAuth git, CommandExecutor executor, int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+            MeterRegistry meterRegistry) throws Exception {
         final String summary;
         final String detail;
         final Ref headBranchRef;
@@ -256,15 +272,17 @@ abstract class AbstractGitMirror extends AbstractMirror {
         final Map<String, Change<?>> changes = new HashMap<>();
         final Revision localRev = localRepo().normalizeNow(Revision.HEAD);
         final String mirrorStatePath = localPath() + MIRROR_STATE_FILE_NAME;
+        final String localSourceRevision;
         try {
             headBranchRef = getHeadBranchRef(git);
-            if (!needsFetch(headBranchRef, mirrorStatePath, localRev)) {
+            localSourceRevision = localSourceRevision(mirrorStatePath, localRev);
+            if (headBranchRef.getObjectId().name().equals(localSourceRevision)) {
                 return newMirrorResultForUpToDate(headBranchRef, triggeredTime);
             }
 
             // Update the head commit ID again because there's a chance a commit is pushed between the
             // getHeadBranchRefName and fetchRemoteHeadAndGetCommitId calls.
-            headCommitId = fetchRemoteHeadAndGetCommitId(git, headBranchRef.getName());
+            headCommitId = fetchRemoteHeadAndGetCommitId(git, headBranchRef.getName(), meterRegistry);
         } catch (Exception e) {
             String message = "Failed to fetch the remote repository '" + git.remoteUri() +
                              "' to the local repository '" + localPath() + "'.";
@@ -274,12 +292,18 @@ abstract class AbstractGitMirror extends AbstractMirror {
             throw new GitMirrorException(message, e);
         }
 
+        final ObjectId previousTreeId;
         try (ObjectReader reader = git.getRepository().newObjectReader();
              TreeWalk treeWalk = new TreeWalk(reader);
              RevWalk revWalk = new RevWalk(reader)) {
 
-            // Prepare to traverse the tree.
+            // Prepare to traverse the tree. Also traverse the tree mirrored previously if possible,
+            // so that only the files changed since then are read.
             treeWalk.addTree(revWalk.parseTree(headCommitId).getId());
+            previousTreeId = previousSourceTreeId(git, revWalk, localSourceRevision, mirrorStatePath, localRev);
+            if (previousTreeId != null) {
+                treeWalk.addTree(previousTreeId);
+            }
             final String abbrId = reader.abbreviate(headCommitId).name();
 
             // Add mirror_state.json.
@@ -292,26 +316,34 @@ abstract class AbstractGitMirror extends AbstractMirror {
             final RevCommit headCommit = revWalk.parseCommit(headCommitId);
             detail = generateCommitDetail(headCommit);
             logger.info(summary);
+            if (previousTreeId != null) {
+                logger.debug("Mirroring the changes since {} to the repository '{}'",
+                             localSourceRevision, localRepo().name());
+            }
             long numFiles = 0;
             long numBytes = 0;
             while (treeWalk.next()) {
-                final FileMode fileMode = treeWalk.getFileMode();
+                final FileMode fileMode = treeWalk.getFileMode(0);
+                final FileMode previousFileMode = previousTreeId != null ? treeWalk.getFileMode(1)
+                                                                         : FileMode.MISSING;
+                final boolean isTree = fileMode == FileMode.TREE || previousFileMode == FileMode.TREE;
                 final String path = '/' + treeWalk.getPathString();
 
                 if (ignoreNode != null && path.startsWith(remotePath())) {
                     assert ignoreNode != null;
                     if (ignoreNode.isIgnored('/' + path.substring(remotePath().length()),
-                                             fileMode == FileMode.TREE) == MatchResult.IGNORED) {
+                                             isTree) == MatchResult.IGNORED) {
                         continue;
                     }
                 }
 
-                if (fileMode == FileMode.TREE) {
+                if (isTree) {
                     maybeEnterSubtree(treeWalk, remotePath(), path);
                     continue;
                 }
 
-                if (fileMode != FileMode.REGULAR_FILE && fileMode != FileMode.EXECUTABLE_FILE) {
+                final boolean isFile = isFile(fileMode);
+                if (!isFile && !isFile(previousFileMode)) {
                     // Skip non-file entries.
                     continue;
                 }
@@ -328,6 +360,12 @@ abstract class AbstractGitMirror extends AbstractMirror {
                     continue;
                 }
 
+                if (!isFile) {
+                    // Removed since the previous mirroring.
+                    changes.putIfAbsent(localPath, Change.ofRemoval(localPath));
+                    continue;
+                }
+
                 if (++numFiles > maxNumFiles) {
                     throwMirrorException(maxNumFiles, "files");
                 }
@@ -339,6 +377,11 @@ abstract class AbstractGitMirror extends AbstractMirror {
                 }
                 numBytes += contentLength;
 
+                if (isFile(previousFileMode) && objectId.equals(treeWalk.getObjectId(1))) {
+                    // Unchanged since the previous mirroring.
+                    continue;
+                }
+
                 final byte[] content = reader.open(objectId).getBytes();
                 switch (EntryType.guessFromPath(localPath)) {
                     case JSON:
@@ -353,31 +396,99 @@ abstract class AbstractGitMirror extends AbstractMirror {
             }
         }
 
-        final Map<String, Entry<?>> oldEntries = localRepo().find(
-                localRev, localPath() + "**", FIND_ALL_WITHOUT_CONTENT).join();
-        oldEntries.keySet().removeAll(changes.keySet());
+        if (previousTreeId == null) {
+            final Map<String, Entry<?>> oldEntries = localRepo().find(
+                    localRev, localPath() + "**", FIND_ALL_WITHOUT_CONTENT).join();
+            oldEntries.keySet().removeAll(changes.keySet());
 
-        // Add the removed entries.
-        oldEntries.forEach((path, entry) -> {
-            if (entry.type() != EntryType.DIRECTORY && !changes.containsKey(path)) {
-                changes.put(path, Change.ofRemoval(path));
-            }
-        });
+            // Add the removed entries.
+            oldEntries.forEach((path, entry) -> {
+                if (entry.type() != EntryType.DIRECTORY && !changes.containsKey(path)) {
+                    changes.put(path, Change.ofRemoval(path));
+                }
+            });
+        }
 
         try {
             final CommitResult commitResult = executor.execute(Command.push(
                     MIRROR_AUTHOR, localRepo().parent().name(), localRepo().name(),
                     Revision.HEAD, summary, detail, Markup.PLAINTEXT, changes.values())).join();
+            updateMirroredRef(git, headCommitId);
             final String description = summary + ", revision: " + commitResult.revision().text();
             return newMirrorResult(MirrorStatus.SUCCESS, description, triggeredTime);
         } catch (CompletionException e) {
             if (e.getCause() instanceof RedundantChangeException) {
+                updateMirroredRef(git, headCommitId);
                 return newMirrorResultForUpToDate(headBranchRef, triggeredTime);
             }
             throw e;
         }
     }
 
+    private static boolean isFile(FileMode fileMode) {
+        return fileMode == FileMode.REGULAR_FILE || fileMode == FileMode.EXECUTABLE_FILE;
+    }
+
+    /**
+     * Returns the tree of the remote commit mirrored previously, if the local files are exactly what was
+     * mirrored from it. Returns {@code null} if all files need to be mirrored, e.g. when the commit is not
+     * in the local Git repository, the mirror settings have changed since or the mirrored files have been
+     * modified by others since.
+     */
+    @Nullable
+    private ObjectId previousSourceTreeId(GitWithAuth git, RevWalk revWalk,
+                                          @Nullable String localSourceRevision, String mirrorStatePath,
+                                          Revision localRev) {
+        if (localSourceRevision == null) {
+            return null;
+        }
+
+        try {
+            final Ref mirroredRef = git.getRepository().exactRef(mirroredRefName());
+            if (mirroredRef == null || !localSourceRevision.equals(mirroredRef.getObjectId().name())) {
+                // Mirrored by another replica or with different settings.
+                return null;
+            }
+
+            final List<Commit> lastMirrorCommits =
+                    localRepo().history(localRev, Revision.INIT, mirrorStatePath, 1).join();
+            if (lastMirrorCommits.isEmpty() ||
+                localRepo().findLatestRevision(lastMirrorCommits.get(0).revision(),
+                                               localPath() + "**").join() != null) {
+                // The mirrored files have been modified since the previous mirroring.
+                return null;
+            }
+
+            return revWalk.parseCommit(mirroredRef.getObjectId()).getTree().getId();
+        } catch (Exception e) {
+            logger.warn("Failed to find the previously mirrored commit {} in {}; mirroring all files",
+                        localSourceRevision, git.getRepository().getDirectory(), e);
+            return null;
+        }
+    }
+
+    private void updateMirroredRef(GitWithAuth git, ObjectId headCommitId) {
+        try {
+            final RefUpdate refUpdate = git.getRepository().updateRef(mirroredRefName());
+            refUpdate.setNewObjectId(headCommitId);
+            refUpdate.setForceUpdate(true);
+            refUpdate.update();
+        } catch (IOException e) {
+            logger.warn("Failed to update the mirrored commit to {} in {}",
+                        headCommitId.name(), git.getRepository().getDirectory(), e);
+        }
+    }
+
+    /**
+     * Returns the name of the ref which points to the remote commit mirrored previously. The name depends on
+     * the settings which affect the mirrored files, so that all files are mirrored again when they change.
+     */
+    private String mirroredRefName() {
+        final String settings = String.join("\0", localRepo().parent().name(), localRepo().name(),
+                                            localPath(), remotePath(), Strings.nullToEmpty(gitignore()));
+        return R_MIRRORED + Hashing.sha256().hashString(settings, UTF_8);
+    }
+
     private MirrorResult newMirrorResultForUpToDate(Ref headBranchRef, Instant triggeredTime) {
         final String abbrId = headBranchRef.getObjectId().abbreviate(OBJECT_ID_ABBREV_STRING_LENGTH).name();
         final String message = String.format("Repository '%s/%s' already at %s, %s#%s",
@@ -388,19 +499,14 @@ abstract class AbstractGitMirror extends AbstractMirror {
         return newMirrorResult(MirrorStatus.UP_TO_DATE, message, triggeredTime);
     }
 
-    private boolean needsFetch(Ref headBranchRef, String mirrorStatePath, Revision localRev)
+    @Nullable
+    private String localSourceRevision(String mirrorStatePath, Revision localRev)
             throws JsonParseException, JsonMappingException {
         final Entry<?> mirrorState = localRepo().getOrNull(localRev, mirrorStatePath).join();
-        final String localSourceRevision;
         if (mirrorState == null || mirrorState.type() != EntryType.JSON) {
-            localSourceRevision = null;
-        } else {
-            localSourceRevision = Jackson.treeToValue((TreeNode) mirrorState.content(),
-                                                      MirrorState.class).sourceRevision();
+            return null;
         }
-
-        final ObjectId headCommitId = headBranchRef.getObjectId();
-        return !headCommitId.name().equals(localSourceRevision);
+        return Jackson.treeToValue((TreeNode) mirrorState.content(), MirrorState.class).sourceRevision();
     }
 
     private Ref getHeadBranchRef(GitWithAuth git) throws GitAPIException {
@@ -492,8 +598,13 @@ abstract class AbstractGitMirror extends AbstractMirror {
         }
     }
 
-    private static ObjectId fetchRemoteHeadAndGetCommitId(
-            GitWithAuth git, String headBranchRefName) throws GitAPIException, IOException {
+    private ObjectId fetchRemoteHeadAndGetCommitId(
+            GitWithAuth git, String headBranchRefName, MeterRegistry meterRegistry)
+            throws GitAPIException, IOException {
+        // The objects fetched previously are kept in the repository and their commits are advertised
+        // as 'have's via the local refs, so only the objects added since then are transferred.
+        final File repoDir = git.getRepository().getDirectory();
+        final long objectsSizeBeforeFetch = GitObjectCache.objectsSize(repoDir);
         final FetchResult fetchResult = git.fetch()
                                            .setDepth(1)
                                            .setRefSpecs(new RefSpec(headBranchRefName))
@@ -501,6 +612,13 @@ abstract class AbstractGitMirror extends AbstractMirror {
                                            .setTagOpt(TagOpt.NO_TAGS)
                                            .setTimeout(GIT_TIMEOUT_SECS)
                                            .call();
+        DistributionSummary.builder("mirroring.fetch.bytes")
+                           .baseUnit("bytes")
+                           .tag("project", localRepo().parent().name())
+                           .tag("localRepo", localRepo().name())
+                           .tag("direction", direction().name())
+                           .register(meterRegistry)
+                           .record(Math.max(0, GitObjectCache.objectsSize(repoDir) - objectsSizeBeforeFetch));
         final ObjectId commitId = fetchResult.getAdvertisedRef(headBranchRefName).getObjectId();
         final RefUpdate refUpdate = git.getRepository().updateRef(headBranchRefName);
         refUpdate.setNewObjectId(commitId);
@@ -40,6 +40,8 @@ import com.linecorp.centraldogma.server.mirror.MirrorDirection;
 import com.linecorp.centraldogma.server.mirror.MirrorResult;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 final class DefaultGitMirror extends AbstractGitMirror {
 
     private static final Consumer<TransportCommand<?, ?>> NOOP_CONFIGURATOR = command -> {};
@@ -54,10 +56,10 @@ final class DefaultGitMirror extends AbstractGitMirror {
 
     @Override
     protected MirrorResult mirrorLocalToRemote(File workDir, int maxNumFiles, long maxNumBytes,
-                                               Instant triggeredTime)
+                                               Instant triggeredTime, MeterRegistry meterRegistry)
             throws Exception {
         try (GitWithAuth git = openGit(workDir, transportCommandConfigurator())) {
-            return mirrorLocalToRemote(git, maxNumFiles, maxNumBytes, triggeredTime);
+            return mirrorLocalToRemote(git, maxNumFiles, maxNumBytes, triggeredTime, meterRegistry);
         }
     }
 
@@ -83,10 +85,12 @@ final class DefaultGitMirror extends AbstractGitMirror {
 
     @Override
     protected MirrorResult mirrorRemoteToLocal(File workDir, CommandExecutor executor,
-                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime)
+                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+                                               MeterRegistry meterRegistry)
             throws Exception {
         try (GitWithAuth git = openGit(workDir, transportCommandConfigurator())) {
-            return mirrorRemoteToLocal(git, executor, maxNumFiles, maxNumBytes, triggeredTime);
+            return mirrorRemoteToLocal(git, executor, maxNumFiles, maxNumBytes, triggeredTime,
+                                       meterRegistry);
         }
     }
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.mirror;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.centraldogma.internal.Util;
+
+/**
+ * Manages the bare Git repositories under a mirroring work directory, one for each remote repository URI.
+ * A repository keeps the objects fetched by the previous mirroring tasks, so that the next fetch only
+ * transfers the objects the remote repository added since. The least recently used repositories are removed
+ * when the total size of the repositories exceeds {@link #MAX_SIZE_BYTES}.
+ */
+final class GitObjectCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitObjectCache.class);
+
+    private static final long MAX_SIZE_BYTES = 8L * 1024 * 1024 * 1024; // 8 GiB
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ConcurrentMap<File, GitObjectCache> caches = new ConcurrentHashMap<>();
+
+    static GitObjectCache of(File workDir) {
+        return caches.computeIfAbsent(workDir.getAbsoluteFile(), GitObjectCache::new);
+    }
+
+    private final File workDir;
+    private final AtomicLong lastEvictionNanos;
+
+    private GitObjectCache(File workDir) {
+        this.workDir = workDir;
+        lastEvictionNanos = new AtomicLong(System.nanoTime() - EVICTION_INTERVAL_NANOS);
+    }
+
+    /**
+     * Marks the specified repository as the most recently used one.
+     */
+    static void touch(File repoDir) {
+        if (!repoDir.setLastModified(System.currentTimeMillis())) {
+            logger.debug("Failed to update the last modified time of {}", repoDir);
+        }
+    }
+
+    /**
+     * Returns the total size of the objects in the specified repository.
+     */
+    static long objectsSize(File repoDir) {
+        return size(new File(repoDir, "objects").toPath());
+    }
+
+    /**
+     * Removes the least recently used repositories except {@code repoDirInUse} until the total size of
+     * the repositories does not exceed {@link #MAX_SIZE_BYTES}. A repository being used by other mirroring
+     * tasks is not removed. This method does nothing if it was invoked within the last minute.
+     */
+    void evict(File repoDirInUse) {
+        final long lastEvictionNanos = this.lastEvictionNanos.get();
+        if (System.nanoTime() - lastEvictionNanos < EVICTION_INTERVAL_NANOS ||
+            !this.lastEvictionNanos.compareAndSet(lastEvictionNanos, System.nanoTime())) {
+            return;
+        }
+
+        final File[] repoDirs = workDir.listFiles(
+                dir -> dir.isDirectory() && new File(dir, "objects").isDirectory());
+        if (repoDirs == null) {
+            return;
+        }
+
+        final List<CachedRepository> repos = new ArrayList<>(repoDirs.length);
+        long totalSize = 0;
+        for (File repoDir : repoDirs) {
+            final CachedRepository repo = new CachedRepository(repoDir);
+            repos.add(repo);
+            totalSize += repo.size;
+        }
+        if (totalSize <= MAX_SIZE_BYTES) {
+            return;
+        }
+
+        repos.sort(Comparator.comparingLong(repo -> repo.lastModified));
+        for (CachedRepository repo : repos) {
+            if (totalSize <= MAX_SIZE_BYTES) {
+                break;
+            }
+            if (repo.dir.equals(repoDirInUse)) {
+                continue;
+            }
+
+            final Lock lock = GitWithAuth.getLock(repo.dir);
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (repo.dir.lastModified() != repo.lastModified) {
+                    // Used by another mirroring task since the repository was listed.
+                    continue;
+                }
+                Util.deleteFileTree(repo.dir);
+                totalSize -= repo.size;
+                logger.info("Removed the least recently used mirror repository: {} ({} bytes)",
+                            repo.dir, repo.size);
+            } catch (IOException e) {
+                logger.warn("Failed to remove a mirror repository: {}", repo.dir, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static long size(Path dir) {
+        final long[] size = { 0 };
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    size[0] += attrs.size();
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // A file can be removed while walking, e.g. by 'git gc'.
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Failed to calculate the size of {}", dir, e);
+        }
+        return size[0];
+    }
+
+    private static final class CachedRepository {
+        final File dir;
+        final long lastModified;
+        final long size;
+
+        CachedRepository(File dir) {
+            this.dir = dir;
+            lastModified = dir.lastModified();
+            size = size(dir.toPath());
+        }
+    }
+}
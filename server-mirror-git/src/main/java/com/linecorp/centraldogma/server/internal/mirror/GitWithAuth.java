@@ -64,7 +64,7 @@ final class GitWithAuth extends Git {
         }
     }
 
-    private static Lock getLock(File repoDir) {
+    static Lock getLock(File repoDir) {
         final int h = repoDir.getPath().hashCode();
         return locks[Math.abs((h ^ h >>> 16) % locks.length)];
     }
@@ -66,6 +66,8 @@ import com.linecorp.centraldogma.server.mirror.MirrorResult;
 import com.linecorp.centraldogma.server.mirror.git.SshMirrorException;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 final class SshGitMirror extends AbstractGitMirror {
 
     private static final Logger logger = LoggerFactory.getLogger(SshGitMirror.class);
@@ -92,7 +94,7 @@ final class SshGitMirror extends AbstractGitMirror {
 
     @Override
     protected MirrorResult mirrorLocalToRemote(File workDir, int maxNumFiles, long maxNumBytes,
-                                               Instant triggeredTime)
+                                               Instant triggeredTime, MeterRegistry meterRegistry)
             throws Exception {
         final URIish remoteUri = remoteUri();
         try (SshClient sshClient = createSshClient();
@@ -100,14 +102,15 @@ final class SshGitMirror extends AbstractGitMirror {
             final DefaultGitSshdSessionFactory sessionFactory =
                     new DefaultGitSshdSessionFactory(sshClient, session);
             try (GitWithAuth git = openGit(workDir, remoteUri, sessionFactory::configureCommand)) {
-                return mirrorLocalToRemote(git, maxNumFiles, maxNumBytes, triggeredTime);
+                return mirrorLocalToRemote(git, maxNumFiles, maxNumBytes, triggeredTime, meterRegistry);
             }
         }
     }
 
     @Override
     protected MirrorResult mirrorRemoteToLocal(File workDir, CommandExecutor executor,
-                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime)
+                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+                                               MeterRegistry meterRegistry)
             throws Exception {
         final URIish remoteUri = remoteUri();
         try (SshClient sshClient = createSshClient();
@@ -115,7 +118,8 @@ final class SshGitMirror extends AbstractGitMirror {
             final DefaultGitSshdSessionFactory sessionFactory =
                     new DefaultGitSshdSessionFactory(sshClient, session);
             try (GitWithAuth git = openGit(workDir, remoteUri, sessionFactory::configureCommand)) {
-                return mirrorRemoteToLocal(git, executor, maxNumFiles, maxNumBytes, triggeredTime);
+                return mirrorRemoteToLocal(git, executor, maxNumFiles, maxNumBytes, triggeredTime,
+                                           meterRegistry);
             }
         }
     }
@@ -18,7 +18,10 @@ package com.linecorp.centraldogma.server.internal.mirror;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -27,6 +30,7 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -40,6 +44,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
 
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.credential.Credential;
 import com.linecorp.centraldogma.server.mirror.Mirror;
@@ -51,7 +56,9 @@ import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
 import com.linecorp.centraldogma.server.storage.repository.MetaRepository;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class MirrorSchedulingServiceTest {
@@ -68,10 +75,13 @@ class MirrorSchedulingServiceTest {
         final ProjectManager pm = mock(ProjectManager.class);
         final Project p = mock(Project.class);
         final MetaRepository mr = mock(MetaRepository.class);
+        final RepositoryManager rm = mock(RepositoryManager.class);
         final Repository r = mock(Repository.class);
         when(pm.list()).thenReturn(ImmutableMap.of("foo", p));
         when(p.name()).thenReturn("foo");
         when(p.metaRepo()).thenReturn(mr);
+        when(p.repos()).thenReturn(rm);
+        when(mr.normalizeNow(Revision.HEAD)).thenReturn(Revision.INIT);
         when(r.parent()).thenReturn(p);
         when(r.name()).thenReturn("bar");
 
@@ -81,13 +91,14 @@ class MirrorSchedulingServiceTest {
                                                  URI.create("unused://uri"), "/", "", null, null) {
             @Override
             protected MirrorResult mirrorLocalToRemote(File workDir, int maxNumFiles, long maxNumBytes,
-                                                       Instant triggeredTime) {
+                                                       Instant triggeredTime, MeterRegistry meterRegistry) {
                 return newMirrorResult(MirrorStatus.UP_TO_DATE, null, Instant.now());
             }
 
             @Override
             protected MirrorResult mirrorRemoteToLocal(File workDir, CommandExecutor executor,
-                                                       int maxNumFiles, long maxNumBytes, Instant triggeredTime)
+                                                       int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+                                                       MeterRegistry meterRegistry)
                     throws Exception {
                 // Sleep longer than mirroring interval so that the workers fall behind.
                 taskCounter.incrementAndGet();
@@ -112,6 +123,40 @@ class MirrorSchedulingServiceTest {
         }
     }
 
+    @Test
+    void reloadMirrorsOnlyWhenMetaRepositoryChanges() {
+        final ProjectManager pm = mock(ProjectManager.class);
+        final Project p = mock(Project.class);
+        final MetaRepository mr = mock(MetaRepository.class);
+        final RepositoryManager rm = mock(RepositoryManager.class);
+        final AtomicReference<Revision> metaRepoRevision = new AtomicReference<>(Revision.INIT);
+        when(pm.list()).thenReturn(ImmutableMap.of("foo", p));
+        when(p.name()).thenReturn("foo");
+        when(p.metaRepo()).thenReturn(mr);
+        when(p.repos()).thenReturn(rm);
+        when(mr.normalizeNow(Revision.HEAD)).thenAnswer(invocation -> metaRepoRevision.get());
+        when(mr.mirrors()).thenReturn(CompletableFuture.completedFuture(ImmutableList.of()));
+
+        final MirrorSchedulingService service = new MirrorSchedulingService(
+                temporaryFolder, pm, new SimpleMeterRegistry(), 1, 1, 1, null, false,
+                AlwaysAllowedMirrorAccessController.INSTANCE);
+        service.start(mock(CommandExecutor.class));
+
+        try {
+            // The mirrors should be loaded only once while the meta repository is unchanged.
+            await().untilAsserted(() -> verify(mr, atLeast(3)).normalizeNow(Revision.HEAD));
+            verify(mr, times(1)).mirrors();
+
+            // The mirrors should be reloaded once the meta repository is changed.
+            metaRepoRevision.set(new Revision(2));
+            await().untilAsserted(() -> verify(mr, times(2)).mirrors());
+            await().untilAsserted(() -> verify(mr, atLeast(6)).normalizeNow(Revision.HEAD));
+            verify(mr, times(2)).mirrors();
+        } finally {
+            service.stop();
+        }
+    }
+
     private enum AlwaysAllowedMirrorAccessController implements MirrorAccessController {
 
         INSTANCE;
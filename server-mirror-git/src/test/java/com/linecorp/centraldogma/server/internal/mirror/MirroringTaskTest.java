@@ -52,7 +52,7 @@ class MirroringTaskTest {
         mirror = spy(mirror);
         doReturn(new MirrorResult(mirror.id(), "foo", "bar", MirrorStatus.SUCCESS, "", Instant.now(),
                                   Instant.now(), null))
-                .when(mirror).mirror(any(), any(), anyInt(), anyLong(), any());
+                .when(mirror).mirror(any(), any(), anyInt(), anyLong(), any(), any());
         final MirrorTask mirrorTask = new MirrorTask(mirror, User.SYSTEM, Instant.now(), null, true);
         new InstrumentedMirroringJob(mirrorTask, meterRegistry).run(null, null, 0, 0L);
         assertThat(MoreMeters.measureAll(meterRegistry))
@@ -66,7 +66,7 @@ class MirroringTaskTest {
         Mirror mirror = newMirror("git://a.com/b.git#main", DefaultGitMirror.class, "foo", "bar");
         mirror = spy(mirror);
         final RuntimeException e = new RuntimeException();
-        doThrow(e).when(mirror).mirror(any(), any(), anyInt(), anyLong(), any());
+        doThrow(e).when(mirror).mirror(any(), any(), anyInt(), anyLong(), any(), any());
         final MirrorTask mirrorTask = new MirrorTask(mirror, User.SYSTEM, Instant.now(), null, true);
         final InstrumentedMirroringJob task = new InstrumentedMirroringJob(mirrorTask, meterRegistry);
         assertThatThrownBy(() -> task.run(null, null, 0, 0L))
@@ -85,7 +85,7 @@ class MirroringTaskTest {
         doAnswer(invocation -> {
             Thread.sleep(1000);
             return null;
-        }).when(mirror).mirror(any(), any(), anyInt(), anyLong(), any());
+        }).when(mirror).mirror(any(), any(), anyInt(), anyLong(), any(), any());
         final MirrorTask mirrorTask = new MirrorTask(mirror, User.SYSTEM, Instant.now(), null, true);
         new InstrumentedMirroringJob(mirrorTask, meterRegistry).run(null, null, 0, 0L);
         assertThat(MoreMeters.measureAll(meterRegistry))
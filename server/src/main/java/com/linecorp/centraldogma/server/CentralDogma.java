@@ -97,6 +97,7 @@ import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.Route;
 import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.server.ServerListener;
 import com.linecorp.armeria.server.ServerPort;
 import com.linecorp.armeria.server.ServiceNaming;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -961,10 +962,14 @@ public class CentralDogma implements AutoCloseable {
             authProvider.moreServices().forEach(sb::service);
         }
 
+        final GitHttpService gitHttpService = new GitHttpService(projectApiManager, meterRegistry);
         sb.annotatedService()
           .decorator(decorator)
           .decorator(DecodingService.newDecorator())
-          .build(new GitHttpService(projectApiManager));
+          .build(gitHttpService);
+        sb.serverListener(ServerListener.builder()
+                                        .whenStopping(unused -> gitHttpService.close())
+                                        .build());
 
         if (cfg.isWebAppEnabled()) {
             sb.contextPath(API_V0_PATH_PREFIX)
@@ -29,6 +29,8 @@ import static com.linecorp.centraldogma.server.internal.storage.repository.Defau
 import static com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository.isMirrorOrCredentialFile;
 import static java.util.Objects.requireNonNull;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -40,16 +42,23 @@ import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
 
+import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpResponseWriter;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.server.HttpResponseException;
+import com.linecorp.armeria.server.HttpStatusException;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.annotation.ConsumesJson;
 import com.linecorp.armeria.server.annotation.Default;
@@ -69,6 +78,7 @@ import com.linecorp.centraldogma.common.RepositoryRole;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.common.RevisionRange;
 import com.linecorp.centraldogma.common.ShuttingDownException;
+import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.internal.api.v1.ChangeDto;
 import com.linecorp.centraldogma.internal.api.v1.CommitMessageDto;
 import com.linecorp.centraldogma.internal.api.v1.EntryDto;
@@ -81,6 +91,7 @@ import com.linecorp.centraldogma.server.command.CommitResult;
 import com.linecorp.centraldogma.server.internal.api.auth.RequiresRepositoryRole;
 import com.linecorp.centraldogma.server.internal.api.converter.ChangesRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.CommitMessageRequestConverter;
+import com.linecorp.centraldogma.server.internal.api.converter.EncodedJson;
 import com.linecorp.centraldogma.server.internal.api.converter.MergeQueryRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.QueryRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.WatchRequestConverter;
@@ -106,13 +117,19 @@ public class ContentServiceV1 extends AbstractService {
 
     private static final String MIRROR_LOCAL_REPO = "localRepo";
 
+    private static final MediaType JSON_LINES = MediaType.create("application", "x-ndjson");
+    private static final byte[] CONTENT_FIELD = ",\"content\":".getBytes(StandardCharsets.UTF_8);
+    private static final HttpApiExceptionHandler exceptionHandler = new HttpApiExceptionHandler();
+
     private final WatchService watchService;
     private final MeterRegistry meterRegistry;
+    private final EncodedResponseCache encodedResponseCache;
 
     public ContentServiceV1(CommandExecutor executor, WatchService watchService, MeterRegistry meterRegistry) {
         super(executor);
         this.watchService = requireNonNull(watchService, "watchService");
         this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        encodedResponseCache = new EncodedResponseCache(meterRegistry);
     }
 
     /**
@@ -166,7 +183,7 @@ public class ContentServiceV1 extends AbstractService {
      *   <li>if the path is a valid directory path, append "*" at the end</li>
      * </ul>
      */
-    private static String normalizePath(String path) {
+    static String normalizePath(String path) {
         if (path == null || path.isEmpty() || "/".equals(path)) {
             return "/*";
         }
@@ -285,9 +302,15 @@ public class ContentServiceV1 extends AbstractService {
         final Revision normalizedRev = repository.normalizeNow(new Revision(revision));
         if (query != null) {
             // get a file
+            final EncodedJson cached = encodedResponseCache.getIfPresent(repository, normalizedRev, query,
+                                                                         false);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
             return repository.get(normalizedRev, query)
-                             .handle(returnOrThrow((Entry<?> result) -> convert(repository, normalizedRev,
-                                                                                result, true)));
+                             .handle(returnOrThrow((Entry<?> result) -> encodedResponseCache.get(
+                                     repository, normalizedRev, query, false,
+                                     () -> convert(repository, normalizedRev, result, true))));
         }
 
         // get files
@@ -301,15 +324,21 @@ public class ContentServiceV1 extends AbstractService {
                                            Query<?> query, long timeOutMillis, boolean errorOnEntryNotFound) {
         final CompletableFuture<? extends Entry<?>> future = watchService.watchFile(
                 repository, lastKnownRevision, query, timeOutMillis, errorOnEntryNotFound);
+        return watchFile(ctx, repository, query, future);
+    }
 
+    private CompletableFuture<?> watchFile(ServiceRequestContext ctx, Repository repository, Query<?> query,
+                                           CompletableFuture<? extends Entry<?>> future) {
         if (!future.isDone()) {
             ctx.log().whenComplete().thenRun(() -> future.cancel(false));
         }
 
         return future.thenApply(entry -> {
             final Revision revision = entry.revision();
-            final EntryDto<?> entryDto = convert(repository, revision, entry, true);
-            return (Object) new WatchResultDto(revision, entryDto);
+            return (Object) encodedResponseCache.get(repository, revision, query, true, () -> {
+                final EntryDto<?> entryDto = convert(repository, revision, entry, true);
+                return new WatchResultDto(revision, entryDto);
+            });
         }).exceptionally(ContentServiceV1::handleWatchFailure);
     }
 
@@ -320,7 +349,11 @@ public class ContentServiceV1 extends AbstractService {
         final CompletableFuture<Revision> future =
                 watchService.watchRepository(repository, lastKnownRevision, pathPattern,
                                              timeOutMillis, errorOnEntryNotFound);
+        return watchRepository(ctx, future);
+    }
 
+    private static CompletableFuture<?> watchRepository(ServiceRequestContext ctx,
+                                                        CompletableFuture<Revision> future) {
         if (!future.isDone()) {
             ctx.log().whenComplete().thenRun(() -> future.cancel(false));
         }
@@ -329,6 +362,130 @@ public class ContentServiceV1 extends AbstractService {
                      .exceptionally(ContentServiceV1::handleWatchFailure);
     }
 
+    /**
+     * POST /projects/{projectName}/repos/{repoName}/watch
+     *
+     * <p>Watches more than one file or path pattern in the repository with a single request.
+     * The request content is a JSON array of watches, each of which has either a {@code path} (with optional
+     * {@code jsonPaths}) to watch a file or a {@code pathPattern} to watch the repository:
+     * <pre>{@code
+     * [{ "id": 0, "lastKnownRevision": 3, "timeoutMillis": 60000, "notifyEntryNotFound": false,
+     *    "path": "/a.json", "jsonPaths": ["$.foo"] },
+     *  { "id": 1, "lastKnownRevision": 3, "timeoutMillis": 60000, "notifyEntryNotFound": false,
+     *    "pathPattern": "/b/**" }]
+     * }</pre>
+     * The response is a stream of JSON lines. A line is written for each watch as soon as the watch is
+     * notified or timed out, and the stream ends when all watches are done. The {@code status} and
+     * {@code content} are the same as the status and content of the response of a single watch request:
+     * <pre>{@code
+     * {"id":0,"status":200,"content":{"revision":4,"entry":{...}}}
+     * {"id":1,"status":304}
+     * }</pre>
+     */
+    @Post("/projects/{projectName}/repos/{repoName}/watch")
+    @ConsumesJson
+    public HttpResponse watchMultiple(ServiceRequestContext ctx, Repository repository, JsonNode node) {
+        final List<MultiplexedWatch> watches = MultiplexedWatch.of(node);
+        ctx.setAttr(IS_WATCH_REQUEST, true);
+        WatchService.updateRequestTimeout(ctx, watches.stream()
+                                                      .mapToLong(MultiplexedWatch::timeoutMillis)
+                                                      .max().orElse(1));
+
+        final HttpResponseWriter res = HttpResponse.streaming();
+        res.write(ResponseHeaders.of(HttpStatus.OK, HttpHeaderNames.CONTENT_TYPE, JSON_LINES));
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[watches.size()];
+        for (int i = 0; i < futures.length; i++) {
+            final MultiplexedWatch watch = watches.get(i);
+            final CompletableFuture<?> future;
+            final Query<?> query = watch.query();
+            if (query != null) {
+                future = watchFile(ctx, repository, query, watchService.watchFile(
+                        ctx, repository, watch.lastKnownRevision(), query, watch.timeoutMillis(),
+                        watch.notifyEntryNotFound()));
+            } else {
+                assert watch.pathPattern() != null;
+                future = watchRepository(ctx, watchService.watchRepository(
+                        ctx, repository, watch.lastKnownRevision(), watch.pathPattern(),
+                        watch.timeoutMillis(), watch.notifyEntryNotFound()));
+            }
+            // Write on the event loop so that the lines are never interleaved with closing the stream.
+            futures[i] = toWatchEvent(ctx, watch.id(), future)
+                    .thenAccept(line -> ctx.eventLoop().execute(() -> res.tryWrite(line)));
+        }
+
+        CompletableFuture.allOf(futures).handle((unused, cause) -> {
+            ctx.eventLoop().execute(() -> {
+                if (cause != null) {
+                    res.close(cause);
+                } else {
+                    res.close();
+                }
+            });
+            return null;
+        });
+        return res;
+    }
+
+    /**
+     * Converts the result of a watch into a JSON line of the response of
+     * {@link #watchMultiple(ServiceRequestContext, Repository, JsonNode)}.
+     */
+    private static CompletableFuture<HttpData> toWatchEvent(ServiceRequestContext ctx, int id,
+                                                            CompletableFuture<?> future) {
+        return future.handle((result, cause) -> {
+            if (cause != null) {
+                return toErrorResponse(ctx, cause);
+            }
+            if (result instanceof HttpResponse) {
+                return (HttpResponse) result;
+            }
+            try {
+                return HttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8, Jackson.writeValueAsBytes(result));
+            } catch (JsonProcessingException e) {
+                return toErrorResponse(ctx, e);
+            }
+        }).thenCompose(HttpResponse::aggregate).thenApply(res -> {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(res.content().length() + 32);
+            final String prefix = "{\"id\":" + id + ",\"status\":" + res.status().code();
+            out.write(prefix.getBytes(StandardCharsets.UTF_8), 0, prefix.length());
+            if (!res.content().isEmpty()) {
+                out.write(CONTENT_FIELD, 0, CONTENT_FIELD.length);
+                final MediaType contentType = res.contentType();
+                if (contentType != null && contentType.isJson()) {
+                    out.write(res.content().array(), 0, res.content().length());
+                } else {
+                    final byte[] text = toJsonString(res.contentUtf8());
+                    out.write(text, 0, text.length);
+                }
+            }
+            out.write('}');
+            out.write('\n');
+            return HttpData.wrap(out.toByteArray());
+        });
+    }
+
+    private static byte[] toJsonString(String text) {
+        try {
+            return Jackson.writeValueAsBytes(text);
+        } catch (JsonProcessingException e) {
+            // Should never reach here.
+            throw new Error(e);
+        }
+    }
+
+    private static HttpResponse toErrorResponse(ServiceRequestContext ctx, Throwable cause) {
+        final Throwable peeledCause = Exceptions.peel(cause);
+        if (peeledCause instanceof HttpResponseException) {
+            return ((HttpResponseException) peeledCause).httpResponse();
+        }
+        if (peeledCause instanceof HttpStatusException) {
+            return HttpResponse.of(((HttpStatusException) peeledCause).httpStatus());
+        }
+        final HttpResponse res = exceptionHandler.onServiceException(ctx, peeledCause);
+        assert res != null;
+        return res;
+    }
+
     private static Object handleWatchFailure(Throwable thrown) {
         final Throwable rootCause = Throwables.getRootCause(thrown);
         if (rootCause instanceof CancellationException || rootCause instanceof ShuttingDownException) {
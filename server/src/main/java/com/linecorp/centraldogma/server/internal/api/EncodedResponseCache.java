@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.internal.api.converter.EncodedJson;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * A bounded cache of the JSON-encoded responses for a {@link Query} at a certain {@link Revision}.
+ * Because the entry at a revision never changes, the response for the same query and revision is encoded
+ * only once and then shared by all clients that fetch or watch it. The cached {@link EncodedJson} is
+ * returned from the service method, so that it is sent by the same response converter as the other
+ * responses.
+ */
+final class EncodedResponseCache {
+
+    private static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    private final Cache<Key, EncodedJson> cache;
+
+    EncodedResponseCache(MeterRegistry meterRegistry) {
+        this(DEFAULT_MAX_BYTES, meterRegistry);
+    }
+
+    @VisibleForTesting
+    EncodedResponseCache(long maxBytes, MeterRegistry meterRegistry) {
+        checkArgument(maxBytes > 0, "maxBytes: %s (expected: > 0)", maxBytes);
+        requireNonNull(meterRegistry, "meterRegistry");
+        cache = Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .<Key, EncodedJson>weigher((key, value) -> value.length())
+                        .recordStats()
+                        .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "encodedResponses");
+        Gauge.builder("cache.size.bytes", cache, c -> c.policy().eviction()
+                                                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                                                        .orElse(0L))
+             .tag("cache", "encodedResponses")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached {@link EncodedJson} for the specified {@link Repository}, {@link Revision},
+     * {@link Query} and the response type, or {@code null} if not cached.
+     *
+     * @param revision the normalized revision of the entry
+     * @param watch whether the response is for a watch request
+     */
+    @Nullable
+    EncodedJson getIfPresent(Repository repo, Revision revision, Query<?> query, boolean watch) {
+        return cache.getIfPresent(new Key(repo, revision, query, watch));
+    }
+
+    /**
+     * Returns the {@link EncodedJson} of the object supplied by the specified {@link Supplier}.
+     * The encoded content is cached for the specified {@link Repository}, {@link Revision}, {@link Query}
+     * and the response type, so the {@link Supplier} is not invoked when cached.
+     *
+     * @param revision the normalized revision of the entry
+     * @param watch whether the response is for a watch request
+     */
+    EncodedJson get(Repository repo, Revision revision, Query<?> query, boolean watch,
+                    Supplier<?> responseSupplier) {
+        final Key key = new Key(repo, revision, query, watch);
+        EncodedJson encoded = cache.getIfPresent(key);
+        if (encoded == null) {
+            try {
+                encoded = new EncodedJson(Jackson.writeValueAsBytes(responseSupplier.get()));
+            } catch (JsonProcessingException e) {
+                return Exceptions.throwUnsafely(e);
+            }
+            cache.put(key, encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * The key of a cached response. The {@link Repository} is identified by its name and creation time
+     * rather than the object itself, so that the cache does not keep a removed {@link Repository} and its
+     * resources in memory. Because a {@link Repository} created again with the same name has a different
+     * creation time, the responses cached for the removed one are never returned for it.
+     */
+    private static final class Key {
+
+        private final String projectName;
+        private final String repoName;
+        private final long creationTimeMillis;
+        private final Revision revision;
+        private final Query<?> query;
+        private final boolean watch;
+        private final int hashCode;
+
+        Key(Repository repo, Revision revision, Query<?> query, boolean watch) {
+            assert !revision.isRelative() : revision;
+            projectName = repo.parent().name();
+            repoName = repo.name();
+            creationTimeMillis = repo.creationTimeMillis();
+            this.revision = revision;
+            this.query = query;
+            this.watch = watch;
+            hashCode = Objects.hash(projectName, repoName, creationTimeMillis, revision, query, watch);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return hashCode == that.hashCode &&
+                   creationTimeMillis == that.creationTimeMillis &&
+                   watch == that.watch &&
+                   projectName.equals(that.projectName) &&
+                   repoName.equals(that.repoName) &&
+                   revision.equals(that.revision) &&
+                   query.equals(that.query);
+        }
+    }
+}
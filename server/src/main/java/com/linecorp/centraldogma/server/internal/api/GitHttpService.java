@@ -22,21 +22,27 @@ import static org.eclipse.jgit.transport.GitProtocolConstants.OPTION_SHALLOW;
 import static org.eclipse.jgit.transport.GitProtocolConstants.OPTION_WAIT_FOR_DONE;
 import static org.eclipse.jgit.transport.GitProtocolConstants.VERSION_2_REQUEST;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UploadPack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 
-import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
@@ -45,6 +51,7 @@ import com.linecorp.armeria.common.ServerCacheControl;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.ByteStreamMessage;
 import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.util.ThreadFactories;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Header;
 import com.linecorp.armeria.server.annotation.Param;
@@ -57,6 +64,9 @@ import com.linecorp.centraldogma.server.internal.storage.project.ProjectApiManag
 import com.linecorp.centraldogma.server.metadata.User;
 import com.linecorp.centraldogma.server.storage.project.Project;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
 /**
  * A service that provides Git HTTP protocol.
  */
@@ -68,6 +78,20 @@ public final class GitHttpService {
 
     private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
+    /**
+     * The maximum number of git-upload-pack requests served at the same time. Each request occupies a thread
+     * while it reads the request and writes the pack, so the requests beyond this limit are queued rather
+     * than taking the threads shared with the other services.
+     */
+    private static final int MAX_CONCURRENT_UPLOAD_PACKS =
+            Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The maximum number of queued git-upload-pack requests. The requests beyond this limit are rejected with
+     * {@code 503 Service Unavailable}, so that a client can retry later.
+     */
+    private static final int MAX_PENDING_UPLOAD_PACKS = 1024;
+
     // TODO(minwoox): Add the headers in this class to Armeria.
     private static final AggregatedHttpResponse CAPABILITY_ADVERTISEMENT_RESPONSE = AggregatedHttpResponse.of(
             ResponseHeaders.builder(200)
@@ -93,9 +117,34 @@ public final class GitHttpService {
     }
 
     private final ProjectApiManager projectApiManager;
+    private final ExecutorService uploadPackWorker;
+
+    public GitHttpService(ProjectApiManager projectApiManager, MeterRegistry meterRegistry) {
+        this(projectApiManager, meterRegistry, MAX_CONCURRENT_UPLOAD_PACKS, MAX_PENDING_UPLOAD_PACKS);
+    }
 
-    public GitHttpService(ProjectApiManager projectApiManager) {
+    @VisibleForTesting
+    GitHttpService(ProjectApiManager projectApiManager, MeterRegistry meterRegistry,
+                   int maxConcurrentUploadPacks, int maxPendingUploadPacks) {
         this.projectApiManager = requireNonNull(projectApiManager, "projectApiManager");
+        requireNonNull(meterRegistry, "meterRegistry");
+        final ThreadPoolExecutor uploadPackWorkerImpl = new ThreadPoolExecutor(
+                maxConcurrentUploadPacks, maxConcurrentUploadPacks,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(maxPendingUploadPacks),
+                ThreadFactories.newThreadFactory("git-upload-pack-worker", true));
+        uploadPackWorkerImpl.allowCoreThreadTimeOut(true);
+        // Exports the number of the active and queued requests as well as the time spent in the queue.
+        uploadPackWorker = ExecutorServiceMetrics.monitor(meterRegistry, uploadPackWorkerImpl,
+                                                          "gitUploadPackWorker");
+    }
+
+    /**
+     * Stops accepting git-upload-pack requests. The requests being served or queued are completed, and
+     * the new requests are rejected with {@code 503 Service Unavailable}. This method must be invoked when
+     * the server is stopping.
+     */
+    public void close() {
+        uploadPackWorker.shutdown();
     }
 
     // https://www.git-scm.com/docs/gitprotocol-http#_smart_clients
@@ -135,7 +184,7 @@ public final class GitHttpService {
 
     // https://www.git-scm.com/docs/gitprotocol-http#_smart_service_git_upload_pack
     @Post("/{projectName}/{repoName}/git-upload-pack")
-    public HttpResponse gitUploadPack(AggregatedHttpRequest req,
+    public HttpResponse gitUploadPack(HttpRequest req,
                                       @Param String projectName, @Param String repoName, User user) {
         repoName = maybeRemoveGitSuffix(repoName);
         final String gitProtocol = req.headers().get(HttpHeaderNames.GIT_PROTOCOL);
@@ -161,31 +210,47 @@ public final class GitHttpService {
         }
 
         final Repository jGitRepository = project.repos().get(repoName).jGitRepository();
+        final String repoPath = projectName + '/' + repoName;
 
-        final ByteStreamMessage body = StreamMessage.fromOutputStream(os -> {
-            // Don't need to close the input stream.
-            final ByteArrayInputStream inputStream = new ByteArrayInputStream(req.content().byteBuf().array());
-            // Don't need to close because we don't use the timer inside it.
-            final UploadPack uploadPack = new UploadPack(jGitRepository);
-            uploadPack.setTimeout(0); // Disable timeout because Armeria server will handle it.
-            // HTTP does not use bidirectional pipe.
-            uploadPack.setBiDirectionalPipe(false);
-            uploadPack.setExtraParameters(ImmutableList.of(VERSION_2_REQUEST));
-            try {
-                uploadPack.upload(inputStream, os, null);
-            } catch (IOException e) {
-                // Log until https://github.com/line/centraldogma/pull/719 is implemented.
-                logger.debug("Failed to respond git-upload-pack-request: {}", req.contentUtf8(), e);
-                throw new RuntimeException("failed to respond git-upload-pack-request: " +
-                                           req.contentUtf8(), e);
-            }
-            try {
-                os.close();
-            } catch (IOException e) {
-                // Should never reach here because StreamWriterOutputStream.close() never throws an exception.
-                logger.warn("Failed to close the output stream. request: {}", req.contentUtf8(), e);
-            }
-        });
+        // Read the request body as it arrives instead of aggregating it.
+        final InputStream inputStream = req.toInputStream(obj -> obj instanceof HttpData ? (HttpData) obj
+                                                                                         : HttpData.empty());
+        final ByteStreamMessage body;
+        try {
+            body = StreamMessage.fromOutputStream(os -> {
+                // Don't need to close because we don't use the timer inside it.
+                // The pack bitmaps built by GitRepositoryMaintainer are used when they are available.
+                final UploadPack uploadPack = new UploadPack(jGitRepository);
+                uploadPack.setTimeout(0); // Disable timeout because Armeria server will handle it.
+                // HTTP does not use bidirectional pipe.
+                uploadPack.setBiDirectionalPipe(false);
+                uploadPack.setExtraParameters(ImmutableList.of(VERSION_2_REQUEST));
+                try {
+                    uploadPack.upload(inputStream, os, null);
+                } catch (IOException e) {
+                    // Log until https://github.com/line/centraldogma/pull/719 is implemented.
+                    logger.debug("Failed to respond git-upload-pack-request: {}", repoPath, e);
+                    throw new RuntimeException("failed to respond git-upload-pack-request: " + repoPath, e);
+                } finally {
+                    try {
+                        inputStream.close();
+                    } catch (IOException e) {
+                        logger.warn("Failed to close the input stream. repository: {}", repoPath, e);
+                    }
+                }
+                try {
+                    os.close();
+                } catch (IOException e) {
+                    // Should never reach here because StreamWriterOutputStream.close() never throws an
+                    // exception.
+                    logger.warn("Failed to close the output stream. repository: {}", repoPath, e);
+                }
+            }, uploadPackWorker);
+        } catch (RejectedExecutionException e) {
+            req.abort();
+            return HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE, MediaType.PLAIN_TEXT_UTF_8,
+                                   "Too many git-upload-pack requests");
+        }
         return HttpResponse.of(
                 ResponseHeaders.builder(200)
                                .contentType(MediaType.GIT_UPLOAD_PACK_RESULT)
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.QueryType;
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * A watch in the request of
+ * {@link ContentServiceV1#watchMultiple(com.linecorp.armeria.server.ServiceRequestContext,
+ * com.linecorp.centraldogma.server.storage.repository.Repository, JsonNode)}.
+ */
+final class MultiplexedWatch {
+
+    /**
+     * The maximum number of the watches in a request.
+     */
+    static final int MAX_WATCHES = 1024;
+
+    /**
+     * Parses the specified JSON array into a list of {@link MultiplexedWatch}es.
+     *
+     * @throws IllegalArgumentException if the specified {@link JsonNode} is not a valid list of watches
+     */
+    static List<MultiplexedWatch> of(JsonNode node) {
+        checkArgument(node.isArray() && node.size() > 0, "watches: %s (expected: a non-empty array)", node);
+        checkArgument(node.size() <= MAX_WATCHES, "too many watches: %s (expected: <= %s)",
+                      node.size(), MAX_WATCHES);
+        final ImmutableList.Builder<MultiplexedWatch> builder = ImmutableList.builder();
+        for (JsonNode watch : node) {
+            builder.add(of0(watch));
+        }
+        return builder.build();
+    }
+
+    private static MultiplexedWatch of0(JsonNode node) {
+        checkArgument(node.isObject(), "watch: %s (expected: an object)", node);
+        final JsonNode id = node.get("id");
+        checkArgument(id != null && id.canConvertToInt(), "watch: %s (expected: an integer 'id')", node);
+        final JsonNode lastKnownRevision = node.get("lastKnownRevision");
+        checkArgument(lastKnownRevision != null && lastKnownRevision.canConvertToInt(),
+                      "watch: %s (expected: an integer 'lastKnownRevision')", node);
+        final JsonNode timeoutMillis = node.get("timeoutMillis");
+        checkArgument(timeoutMillis != null && timeoutMillis.canConvertToLong() && timeoutMillis.asLong() > 0,
+                      "watch: %s (expected: a positive 'timeoutMillis')", node);
+        final JsonNode notifyEntryNotFound = node.get("notifyEntryNotFound");
+
+        final JsonNode path = node.get("path");
+        final JsonNode pathPattern = node.get("pathPattern");
+        final Query<?> query;
+        final String normalizedPathPattern;
+        if (path != null) {
+            checkArgument(path.isTextual() && pathPattern == null,
+                          "watch: %s (expected: either 'path' or 'pathPattern')", node);
+            final JsonNode jsonPaths = node.get("jsonPaths");
+            if (jsonPaths != null && jsonPaths.size() > 0) {
+                final ImmutableList.Builder<String> builder = ImmutableList.builder();
+                jsonPaths.forEach(jsonPath -> builder.add(jsonPath.asText()));
+                query = Query.ofJsonPath(path.textValue(), builder.build());
+            } else {
+                query = Query.of(QueryType.IDENTITY, path.textValue());
+            }
+            normalizedPathPattern = null;
+        } else {
+            checkArgument(pathPattern != null && pathPattern.isTextual(),
+                          "watch: %s (expected: either 'path' or 'pathPattern')", node);
+            query = null;
+            normalizedPathPattern = ContentServiceV1.normalizePath(pathPattern.textValue());
+        }
+
+        return new MultiplexedWatch(id.asInt(), new Revision(lastKnownRevision.asInt()),
+                                    timeoutMillis.asLong(),
+                                    notifyEntryNotFound != null && notifyEntryNotFound.asBoolean(),
+                                    query, normalizedPathPattern);
+    }
+
+    private final int id;
+    private final Revision lastKnownRevision;
+    private final long timeoutMillis;
+    private final boolean notifyEntryNotFound;
+    @Nullable
+    private final Query<?> query;
+    @Nullable
+    private final String pathPattern;
+
+    private MultiplexedWatch(int id, Revision lastKnownRevision, long timeoutMillis,
+                             boolean notifyEntryNotFound, @Nullable Query<?> query,
+                             @Nullable String pathPattern) {
+        this.id = id;
+        this.lastKnownRevision = lastKnownRevision;
+        this.timeoutMillis = timeoutMillis;
+        this.notifyEntryNotFound = notifyEntryNotFound;
+        this.query = query;
+        this.pathPattern = pathPattern;
+    }
+
+    int id() {
+        return id;
+    }
+
+    Revision lastKnownRevision() {
+        return lastKnownRevision;
+    }
+
+    long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    boolean notifyEntryNotFound() {
+        return notifyEntryNotFound;
+    }
+
+    /**
+     * Returns the {@link Query} of the file to watch, or {@code null} if this watch is for
+     * {@link #pathPattern()}.
+     */
+    @Nullable
+    Query<?> query() {
+        return query;
+    }
+
+    /**
+     * Returns the path pattern to watch, or {@code null} if this watch is for {@link #query()}.
+     */
+    @Nullable
+    String pathPattern() {
+        return pathPattern;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .omitNullValues()
+                          .add("id", id)
+                          .add("lastKnownRevision", lastKnownRevision)
+                          .add("timeoutMillis", timeoutMillis)
+                          .add("notifyEntryNotFound", notifyEntryNotFound)
+                          .add("query", query)
+                          .add("pathPattern", pathPattern)
+                          .toString();
+    }
+}
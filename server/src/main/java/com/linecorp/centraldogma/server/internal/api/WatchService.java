@@ -19,6 +19,7 @@ package com.linecorp.centraldogma.server.internal.api;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -30,13 +31,18 @@ import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import com.linecorp.armeria.common.RequestContext;
 import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.common.util.TimeoutMode;
+import com.linecorp.armeria.internal.common.RequestContextUtil;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.Query;
 import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Util;
 import com.linecorp.centraldogma.internal.api.v1.WatchTimeout;
 import com.linecorp.centraldogma.server.internal.storage.RequestAlreadyTimedOutException;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
@@ -59,9 +65,17 @@ public final class WatchService {
 
     private final Set<CompletableFuture<?>> pendingFutures =
             Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /**
+     * The file watches which are shared by the clients watching the same {@link Query} since the same
+     * {@link Revision}, so that a change wakes up only one underlying watch and its result is computed once.
+     */
+    @VisibleForTesting
+    final ConcurrentHashMap<SharedWatchKey, SharedWatch> sharedWatches = new ConcurrentHashMap<>();
     private final Counter wakeupCounter;
     private final Counter timeoutCounter;
     private final Counter failureCounter;
+    private final Counter coalescedCounter;
+    private final Counter notCoalescedCounter;
 
     public WatchService(MeterRegistry meterRegistry) {
         requireNonNull(meterRegistry, "meterRegistry");
@@ -77,6 +91,14 @@ public final class WatchService {
         failureCounter = Counter.builder("watches.processed")
                                 .tag("result", "failure")
                                 .register(meterRegistry);
+
+        Gauge.builder("watches.shared", this, self -> self.sharedWatches.size()).register(meterRegistry);
+        coalescedCounter = Counter.builder("watches.coalesced")
+                                  .tag("result", "hit")
+                                  .register(meterRegistry);
+        notCoalescedCounter = Counter.builder("watches.coalesced")
+                                     .tag("result", "miss")
+                                     .register(meterRegistry);
     }
 
     /**
@@ -90,6 +112,18 @@ public final class WatchService {
                                                        boolean errorOnEntryNotFound) {
         final ServiceRequestContext ctx = RequestContext.current();
         updateRequestTimeout(ctx, timeoutMillis);
+        return watchRepository(ctx, repo, lastKnownRevision, pathPattern, timeoutMillis, errorOnEntryNotFound);
+    }
+
+    /**
+     * Same as {@link #watchRepository(Repository, Revision, String, long, boolean)} except that it does not
+     * extend the timeout of the specified {@link ServiceRequestContext}, so that a request can carry more than
+     * one watch. The caller is responsible for extending the timeout with
+     * {@link #updateRequestTimeout(ServiceRequestContext, long)}.
+     */
+    CompletableFuture<Revision> watchRepository(ServiceRequestContext ctx, Repository repo,
+                                                Revision lastKnownRevision, String pathPattern,
+                                                long timeoutMillis, boolean errorOnEntryNotFound) {
         final CompletableFuture<Revision> result = repo.watch(lastKnownRevision, pathPattern,
                                                               errorOnEntryNotFound);
         if (result.isDone()) {
@@ -100,7 +134,7 @@ public final class WatchService {
         return result;
     }
 
-    private static void updateRequestTimeout(ServiceRequestContext ctx, long timeoutMillis) {
+    static void updateRequestTimeout(ServiceRequestContext ctx, long timeoutMillis) {
         final long adjustmentMillis = WatchTimeout.availableTimeout(timeoutMillis, ctx.requestTimeoutMillis());
         ctx.setRequestTimeoutMillis(TimeoutMode.EXTEND, adjustmentMillis);
     }
@@ -116,7 +150,20 @@ public final class WatchService {
                                                      boolean errorOnEntryNotFound) {
         final ServiceRequestContext ctx = RequestContext.current();
         updateRequestTimeout(ctx, timeoutMillis);
-        final CompletableFuture<Entry<T>> result = repo.watch(lastKnownRevision, query, errorOnEntryNotFound);
+        return watchFile(ctx, repo, lastKnownRevision, query, timeoutMillis, errorOnEntryNotFound);
+    }
+
+    /**
+     * Same as {@link #watchFile(Repository, Revision, Query, long, boolean)} except that it does not extend
+     * the timeout of the specified {@link ServiceRequestContext}, so that a request can carry more than one
+     * watch. The caller is responsible for extending the timeout with
+     * {@link #updateRequestTimeout(ServiceRequestContext, long)}.
+     */
+    <T> CompletableFuture<Entry<T>> watchFile(ServiceRequestContext ctx, Repository repo,
+                                              Revision lastKnownRevision, Query<T> query,
+                                              long timeoutMillis, boolean errorOnEntryNotFound) {
+        final CompletableFuture<Entry<T>> result = sharedWatch(repo, lastKnownRevision, query,
+                                                               errorOnEntryNotFound);
         if (result.isDone()) {
             return result;
         }
@@ -125,6 +172,68 @@ public final class WatchService {
         return result;
     }
 
+    /**
+     * Returns a new {@link CompletableFuture} which is completed with the result of the underlying
+     * {@link Repository#watch(Revision, Query, boolean)} shared by the other clients that watch the same
+     * {@link Query} since the same {@link Revision}. The underlying watch is cancelled when all clients
+     * stop waiting for it.
+     */
+    private <T> CompletableFuture<Entry<T>> sharedWatch(Repository repo, Revision lastKnownRevision,
+                                                        Query<T> query, boolean errorOnEntryNotFound) {
+        if (lastKnownRevision.isRelative()) {
+            // A relative revision may point to a different revision later, so it cannot be shared.
+            return repo.watch(lastKnownRevision, query, errorOnEntryNotFound);
+        }
+
+        final SharedWatchKey key = new SharedWatchKey(repo, lastKnownRevision, query, errorOnEntryNotFound);
+        for (;;) {
+            final SharedWatch newWatch = new SharedWatch();
+            final SharedWatch sharedWatch = sharedWatches.computeIfAbsent(key, unused -> newWatch);
+            if (!sharedWatch.addWaiter()) {
+                // All waiters of the shared watch have gone away and it is being removed; try again.
+                sharedWatches.remove(key, sharedWatch);
+                continue;
+            }
+
+            if (sharedWatch == newWatch) {
+                notCoalescedCounter.increment();
+                // Start the underlying watch outside computeIfAbsent() because it may complete immediately.
+                // Do not start it in the context of the current request because the watch is shared by
+                // the other requests, which should not fail when the current request times out.
+                final CompletableFuture<Entry<T>> underlyingFuture;
+                try (SafeCloseable ignored = RequestContextUtil.pop()) {
+                    underlyingFuture = repo.watch(lastKnownRevision, query, errorOnEntryNotFound);
+                }
+                sharedWatch.future.whenComplete((unused1, unused2) -> {
+                    sharedWatches.remove(key, sharedWatch);
+                    underlyingFuture.completeExceptionally(CANCELLATION_EXCEPTION);
+                });
+                underlyingFuture.handle((entry, cause) -> {
+                    if (cause != null) {
+                        sharedWatch.future.completeExceptionally(cause);
+                    } else {
+                        sharedWatch.future.complete(entry);
+                    }
+                    return null;
+                });
+            } else {
+                coalescedCounter.increment();
+            }
+
+            final CompletableFuture<Entry<T>> result = new CompletableFuture<>();
+            sharedWatch.future.handle((entry, cause) -> {
+                if (cause != null) {
+                    result.completeExceptionally(cause);
+                } else {
+                    result.complete(Util.unsafeCast(entry));
+                }
+                return null;
+            });
+            result.whenComplete((unused1, unused2) -> sharedWatch.removeWaiter());
+            return result;
+        }
+    }
+
     private <T> void scheduleTimeout(ServiceRequestContext ctx, CompletableFuture<T> result,
                                      long timeoutMillis) {
         pendingFutures.add(result);
@@ -174,4 +283,71 @@ public final class WatchService {
             return timeoutMillis;
         }
     }
+
+    @VisibleForTesting
+    static final class SharedWatchKey {
+
+        private final Repository repo;
+        private final Revision lastKnownRevision;
+        private final Query<?> query;
+        private final boolean errorOnEntryNotFound;
+        private final int hashCode;
+
+        SharedWatchKey(Repository repo, Revision lastKnownRevision, Query<?> query,
+                       boolean errorOnEntryNotFound) {
+            this.repo = repo;
+            this.lastKnownRevision = lastKnownRevision;
+            this.query = query;
+            this.errorOnEntryNotFound = errorOnEntryNotFound;
+            hashCode = (Objects.hash(lastKnownRevision, query, errorOnEntryNotFound) * 31) +
+                       System.identityHashCode(repo);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SharedWatchKey)) {
+                return false;
+            }
+            final SharedWatchKey that = (SharedWatchKey) o;
+            return repo == that.repo &&
+                   lastKnownRevision.equals(that.lastKnownRevision) &&
+                   query.equals(that.query) &&
+                   errorOnEntryNotFound == that.errorOnEntryNotFound;
+        }
+    }
+
+    @VisibleForTesting
+    static final class SharedWatch {
+
+        final CompletableFuture<Entry<?>> future = new CompletableFuture<>();
+        private int numWaiters;
+        private boolean closed;
+
+        synchronized boolean addWaiter() {
+            if (closed) {
+                return false;
+            }
+            numWaiters++;
+            return true;
+        }
+
+        void removeWaiter() {
+            synchronized (this) {
+                if (--numWaiters > 0 || future.isDone()) {
+                    return;
+                }
+                closed = true;
+            }
+            // Cancel the underlying watch because nobody waits for it anymore.
+            future.completeExceptionally(CANCELLATION_EXCEPTION);
+        }
+    }
 }
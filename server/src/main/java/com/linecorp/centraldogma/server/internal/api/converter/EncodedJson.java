@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.api.converter;
+
+import static java.util.Objects.requireNonNull;
+
+import com.linecorp.armeria.common.HttpData;
+
+/**
+ * A response object which was encoded into JSON already. {@link HttpApiResponseConverter} sends its content
+ * as it is instead of encoding it again.
+ */
+public final class EncodedJson {
+
+    private final byte[] json;
+
+    /**
+     * Creates a new instance with the specified JSON-encoded bytes.
+     */
+    public EncodedJson(byte[] json) {
+        this.json = requireNonNull(json, "json");
+    }
+
+    /**
+     * Returns the JSON-encoded content.
+     */
+    public HttpData content() {
+        return HttpData.wrap(json);
+    }
+
+    /**
+     * Returns the length of the JSON-encoded content.
+     */
+    public int length() {
+        return json.length;
+    }
+}
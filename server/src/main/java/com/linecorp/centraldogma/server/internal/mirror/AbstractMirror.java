@@ -36,6 +36,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.MirrorException;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
@@ -46,6 +47,8 @@ import com.linecorp.centraldogma.server.mirror.MirrorResult;
 import com.linecorp.centraldogma.server.mirror.MirrorStatus;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 public abstract class AbstractMirror implements Mirror {
 
     private static final CronDescriptor CRON_DESCRIPTOR = CronDescriptor.instance();
@@ -186,12 +189,20 @@ public abstract class AbstractMirror implements Mirror {
     @Override
     public final MirrorResult mirror(File workDir, CommandExecutor executor, int maxNumFiles,
                                      long maxNumBytes, Instant triggeredTime) {
+        return mirror(workDir, executor, maxNumFiles, maxNumBytes, triggeredTime, NoopMeterRegistry.get());
+    }
+
+    @Override
+    public final MirrorResult mirror(File workDir, CommandExecutor executor, int maxNumFiles,
+                                     long maxNumBytes, Instant triggeredTime, MeterRegistry meterRegistry) {
         try {
             switch (direction()) {
                 case LOCAL_TO_REMOTE:
-                    return mirrorLocalToRemote(workDir, maxNumFiles, maxNumBytes, triggeredTime);
+                    return mirrorLocalToRemote(workDir, maxNumFiles, maxNumBytes, triggeredTime,
+                                               meterRegistry);
                 case REMOTE_TO_LOCAL:
-                    return mirrorRemoteToLocal(workDir, executor, maxNumFiles, maxNumBytes, triggeredTime);
+                    return mirrorRemoteToLocal(workDir, executor, maxNumFiles, maxNumBytes, triggeredTime,
+                                               meterRegistry);
                 default:
                     throw new Error("Should never reach here");
             }
@@ -212,11 +223,12 @@ public abstract class AbstractMirror implements Mirror {
     }
 
     protected abstract MirrorResult mirrorLocalToRemote(
-            File workDir, int maxNumFiles, long maxNumBytes, Instant triggeredTime) throws Exception;
+            File workDir, int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+            MeterRegistry meterRegistry) throws Exception;
 
     protected abstract MirrorResult mirrorRemoteToLocal(
-            File workDir, CommandExecutor executor, int maxNumFiles, long maxNumBytes, Instant triggeredTime)
-            throws Exception;
+            File workDir, CommandExecutor executor, int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+            MeterRegistry meterRegistry) throws Exception;
 
     protected final MirrorResult newMirrorResult(MirrorStatus mirrorStatus, @Nullable String description,
                                                  Instant triggeredTime) {
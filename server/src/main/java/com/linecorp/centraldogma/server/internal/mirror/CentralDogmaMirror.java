@@ -32,6 +32,8 @@ import com.linecorp.centraldogma.server.mirror.MirrorDirection;
 import com.linecorp.centraldogma.server.mirror.MirrorResult;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 public final class CentralDogmaMirror extends AbstractMirror {
 
     private final String remoteProject;
@@ -59,14 +61,15 @@ public final class CentralDogmaMirror extends AbstractMirror {
 
     @Override
     protected MirrorResult mirrorLocalToRemote(File workDir, int maxNumFiles, long maxNumBytes,
-                                               Instant triggeredTime)
+                                               Instant triggeredTime, MeterRegistry meterRegistry)
             throws Exception {
         throw new UnsupportedOperationException();
     }
 
     @Override
     protected MirrorResult mirrorRemoteToLocal(File workDir, CommandExecutor executor,
-                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime)
+                                               int maxNumFiles, long maxNumBytes, Instant triggeredTime,
+                                               MeterRegistry meterRegistry)
             throws Exception {
         throw new UnsupportedOperationException();
     }
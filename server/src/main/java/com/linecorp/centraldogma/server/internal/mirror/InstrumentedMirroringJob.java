@@ -64,7 +64,7 @@ final class InstrumentedMirroringJob {
                     meterRegistry.timer("mirroring.task", tags)
                                  .record(() -> mirrorTask.mirror()
                                                          .mirror(workDir, executor, maxNumFiles, maxNumBytes,
-                                                                 mirrorTask.triggeredTime()));
+                                                                 mirrorTask.triggeredTime(), meterRegistry));
             counter(true).increment();
             return mirrorResult;
         } catch (Exception e) {
@@ -58,6 +58,7 @@ public final class MirrorRunner implements SafeCloseable {
     private final File workDir;
     private final MirroringServicePluginConfig mirrorConfig;
     private final ExecutorService worker;
+    private final MeterRegistry meterRegistry;
 
     private final Map<MirrorKey, CompletableFuture<MirrorResult>> inflightRequests = new ConcurrentHashMap<>();
     @Nullable
@@ -69,6 +70,7 @@ public final class MirrorRunner implements SafeCloseable {
                         MirrorAccessController mirrorAccessController) {
         this.projectApiManager = projectApiManager;
         this.commandExecutor = commandExecutor;
+        this.meterRegistry = meterRegistry;
         // TODO(ikhoon): Periodically clean up stale repositories.
         workDir = new File(cfg.dataDir(), "_mirrors_manual");
         MirroringServicePluginConfig mirrorConfig =
@@ -134,7 +136,7 @@ public final class MirrorRunner implements SafeCloseable {
                                                 mirror.mirror(workDir, commandExecutor,
                                                               mirrorConfig.maxNumFilesPerMirror(),
                                                               mirrorConfig.maxNumBytesPerMirror(),
-                                                              mirrorTask.triggeredTime());
+                                                              mirrorTask.triggeredTime(), meterRegistry);
                                         listener.onComplete(mirrorTask, mirrorResult);
                                         return mirrorResult;
                                     } catch (Exception e) {
@@ -24,8 +24,13 @@ import java.io.File;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -44,6 +49,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableScheduledFuture;
@@ -52,6 +58,7 @@ import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import com.linecorp.centraldogma.common.MirrorException;
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.MirroringService;
 import com.linecorp.centraldogma.server.ZoneConfig;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
@@ -62,6 +69,7 @@ import com.linecorp.centraldogma.server.mirror.MirrorListener;
 import com.linecorp.centraldogma.server.mirror.MirrorResult;
 import com.linecorp.centraldogma.server.mirror.MirrorTask;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
+import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -112,6 +120,22 @@ public final class MirrorSchedulingService implements MirroringService {
     private volatile boolean closing;
 
     private ZonedDateTime lastExecutionTime;
+
+    // The following fields are accessed only by the scheduler thread.
+
+    /**
+     * The scheduled mirrors of each project, which are reloaded only when the meta repository or
+     * the repositories of the project change.
+     */
+    private final Map<String, ProjectMirrors> projectMirrors = new HashMap<>();
+
+    /**
+     * The scheduled mirrors of all projects, ordered by their next execution time, so that a tick only
+     * visits the mirrors to run.
+     */
+    private final PriorityQueue<ScheduledMirror> scheduledMirrors =
+            new PriorityQueue<>(Comparator.comparing(m -> m.nextExecutionTime));
+
     private final MeterRegistry meterRegistry;
     // Used to disable in the tests.
     private final boolean runMigration;
@@ -238,77 +262,139 @@ public final class MirrorSchedulingService implements MirroringService {
         final ZonedDateTime currentLastExecutionTime = lastExecutionTime;
         lastExecutionTime = now;
 
-        projectManager.list()
-                      .values()
-                      .forEach(project -> {
-                          if (closing) {
-                              return;
-                          }
-                          if (InternalProjectInitializer.INTERNAL_PROJECT_DOGMA.equals(project.name())) {
-                              return;
-                          }
-
-                          final List<Mirror> mirrors;
-                          try {
-                              mirrors = project.metaRepo().mirrors()
-                                               .get(5, TimeUnit.SECONDS);
-                          } catch (TimeoutException e) {
-                              logger.warn("Failed to load the mirror list within 5 seconds. project: {}",
-                                          project.name(), e);
-                              return;
-                          } catch (Exception e) {
-                              logger.warn("Failed to load the mirror list from: {}", project.name(), e);
-                              return;
-                          }
-                          for (Mirror m : mirrors) {
-                              if (m.schedule() == null) {
-                                  continue;
-                              }
-
-                              try {
-                                  final boolean allowed = mirrorAccessController.isAllowed(m)
-                                                                                .get(5, TimeUnit.SECONDS);
-                                  if (!allowed) {
-                                      mirrorListener.onDisallowed(m);
-                                      continue;
-                                  }
-                              } catch (Exception e) {
-                                  logger.warn("Failed to check the access control. mirror: {}",
-                                              m, e);
-                                  continue;
-                              }
-
-                              if (zoneConfig != null) {
-                                  String pinnedZone = m.zone();
-                                  if (pinnedZone == null) {
-                                      // Use the first zone if the mirror does not specify a zone.
-                                      pinnedZone = zoneConfig.allZones().get(0);
-                                  }
-                                  if (!pinnedZone.equals(currentZone)) {
-                                      // Skip the mirror if it is pinned to a different zone.
-                                      if (!zoneConfig.allZones().contains(pinnedZone)) {
-                                          // The mirror is pinned to an invalid zone.
-                                          final MirrorTask invalidMirror =
-                                                  new MirrorTask(m, User.SYSTEM, Instant.now(),
-                                                                 pinnedZone, true);
-                                          mirrorListener.onStart(invalidMirror);
-                                          mirrorListener.onError(invalidMirror, new MirrorException(
-                                                  "The mirror is pinned to an unknown zone: " + pinnedZone +
-                                                  " (valid zones: " + zoneConfig.allZones() + ')'));
-                                      }
-                                      continue;
-                                  }
-                              }
-                              try {
-                                  if (m.nextExecutionTime(currentLastExecutionTime).compareTo(now) < 0) {
-                                      runAsync(new MirrorTask(m, User.SYSTEM, Instant.now(),
-                                                              currentZone, true));
-                                  }
-                              } catch (Exception e) {
-                                  logger.warn("Unexpected exception while mirroring: {}", m, e);
-                              }
-                          }
-                      });
+        updateScheduledMirrors(currentLastExecutionTime);
+
+        for (;;) {
+            if (closing) {
+                return;
+            }
+
+            final ScheduledMirror scheduledMirror = scheduledMirrors.peek();
+            if (scheduledMirror == null || scheduledMirror.nextExecutionTime.compareTo(now) >= 0) {
+                break;
+            }
+
+            scheduledMirrors.poll();
+            final Mirror m = scheduledMirror.mirror;
+            try {
+                scheduledMirror.nextExecutionTime = m.nextExecutionTime(now);
+                scheduledMirrors.add(scheduledMirror);
+            } catch (Exception e) {
+                logger.warn("Failed to get the next execution time. mirror: {}", m, e);
+            }
+            scheduleMirror(m);
+        }
+    }
+
+    /**
+     * Reloads the mirrors of the projects whose meta repository or repositories changed since the last
+     * tick, and removes the mirrors of the removed projects.
+     */
+    private void updateScheduledMirrors(ZonedDateTime lastExecutionTime) {
+        final Map<String, Project> projects = projectManager.list();
+        projectMirrors.values().removeIf(mirrors -> {
+            if (projects.get(mirrors.project.name()) == mirrors.project) {
+                return false;
+            }
+            scheduledMirrors.removeIf(m -> m.projectMirrors == mirrors);
+            return true;
+        });
+
+        for (Project project : projects.values()) {
+            if (closing) {
+                return;
+            }
+            if (InternalProjectInitializer.INTERNAL_PROJECT_DOGMA.equals(project.name())) {
+                continue;
+            }
+
+            final ProjectMirrors oldMirrors = projectMirrors.get(project.name());
+            final Revision revision;
+            final Set<String> repoNames;
+            try {
+                revision = project.metaRepo().normalizeNow(Revision.HEAD);
+                repoNames = project.repos().list().keySet();
+            } catch (Exception e) {
+                logger.warn("Failed to get the revision of the meta repository: {}", project.name(), e);
+                continue;
+            }
+            if (oldMirrors != null && oldMirrors.project == project &&
+                oldMirrors.revision.equals(revision) && oldMirrors.repoNames.equals(repoNames)) {
+                continue;
+            }
+
+            final List<Mirror> mirrors;
+            try {
+                mirrors = project.metaRepo().mirrors()
+                                 .get(5, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Failed to load the mirror list within 5 seconds. project: {}",
+                            project.name(), e);
+                continue;
+            } catch (Exception e) {
+                logger.warn("Failed to load the mirror list from: {}", project.name(), e);
+                continue;
+            }
+
+            if (oldMirrors != null) {
+                scheduledMirrors.removeIf(m -> m.projectMirrors == oldMirrors);
+            }
+            final ProjectMirrors newMirrors =
+                    new ProjectMirrors(project, revision, ImmutableSet.copyOf(repoNames));
+            projectMirrors.put(project.name(), newMirrors);
+            for (Mirror m : mirrors) {
+                if (m.schedule() == null) {
+                    continue;
+                }
+                try {
+                    scheduledMirrors.add(new ScheduledMirror(newMirrors, m,
+                                                             m.nextExecutionTime(lastExecutionTime)));
+                } catch (Exception e) {
+                    logger.warn("Failed to get the next execution time. mirror: {}", m, e);
+                }
+            }
+        }
+    }
+
+    private void scheduleMirror(Mirror m) {
+        try {
+            final boolean allowed = mirrorAccessController.isAllowed(m)
+                                                          .get(5, TimeUnit.SECONDS);
+            if (!allowed) {
+                mirrorListener.onDisallowed(m);
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to check the access control. mirror: {}", m, e);
+            return;
+        }
+
+        if (zoneConfig != null) {
+            String pinnedZone = m.zone();
+            if (pinnedZone == null) {
+                // Use the first zone if the mirror does not specify a zone.
+                pinnedZone = zoneConfig.allZones().get(0);
+            }
+            if (!pinnedZone.equals(currentZone)) {
+                // Skip the mirror if it is pinned to a different zone.
+                if (!zoneConfig.allZones().contains(pinnedZone)) {
+                    // The mirror is pinned to an invalid zone.
+                    final MirrorTask invalidMirror =
+                            new MirrorTask(m, User.SYSTEM, Instant.now(), pinnedZone, true);
+                    mirrorListener.onStart(invalidMirror);
+                    mirrorListener.onError(invalidMirror, new MirrorException(
+                            "The mirror is pinned to an unknown zone: " + pinnedZone +
+                            " (valid zones: " + zoneConfig.allZones() + ')'));
+                }
+                return;
+            }
+        }
+
+        try {
+            runAsync(new MirrorTask(m, User.SYSTEM, Instant.now(), currentZone, true));
+        } catch (Exception e) {
+            logger.warn("Unexpected exception while mirroring: {}", m, e);
+        }
     }
 
     @Override
@@ -364,4 +450,28 @@ public final class MirrorSchedulingService implements MirroringService {
             numActiveMirrors.decrementAndGet();
         }
     }
+
+    private static final class ProjectMirrors {
+        final Project project;
+        final Revision revision;
+        final Set<String> repoNames;
+
+        ProjectMirrors(Project project, Revision revision, Set<String> repoNames) {
+            this.project = project;
+            this.revision = revision;
+            this.repoNames = repoNames;
+        }
+    }
+
+    private static final class ScheduledMirror {
+        final ProjectMirrors projectMirrors;
+        final Mirror mirror;
+        ZonedDateTime nextExecutionTime;
+
+        ScheduledMirror(ProjectMirrors projectMirrors, Mirror mirror, ZonedDateTime nextExecutionTime) {
+            this.projectMirrors = projectMirrors;
+            this.mirror = mirror;
+            this.nextExecutionTime = nextExecutionTime;
+        }
+    }
 }
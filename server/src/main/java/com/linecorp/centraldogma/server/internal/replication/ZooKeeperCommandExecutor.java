@@ -36,8 +36,10 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -45,6 +47,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -52,6 +55,8 @@ import javax.annotation.Nullable;
 import org.apache.curator.RetryPolicy;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.api.transaction.CuratorOp;
+import org.apache.curator.framework.api.transaction.CuratorTransactionResult;
 import org.apache.curator.framework.imps.CuratorFrameworkState;
 import org.apache.curator.framework.recipes.cache.PathChildrenCache;
 import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent;
@@ -63,6 +68,7 @@ import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.retry.RetryForever;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
 import org.apache.zookeeper.server.auth.DigestLoginModule;
 import org.apache.zookeeper.server.auth.SASLAuthenticationProvider;
 import org.apache.zookeeper.server.quorum.QuorumPeer.ServerState;
@@ -111,6 +117,9 @@ public final class ZooKeeperCommandExecutor
 
     private static final String PATH_PREFIX = "/dogma";
     private static final int MAX_BYTES = 1024 * 1023; // Max size in document is 1M. but safety.
+    private static final int MAX_LOGS_PER_BATCH = 64;
+    // The estimated size of the path and the header of an operation in a multi-op transaction.
+    private static final int TRANSACTION_OP_OVERHEAD = 256;
 
     // Log revision should be started at 0 and be increased by 1. Do not create any changes without creating
     // a log node, because otherwise the consistency of the log revision will be broken. Also, we should use
@@ -129,6 +138,7 @@ public final class ZooKeeperCommandExecutor
     private static final RetryPolicy RETRY_POLICY_NEVER = (retryCount, elapsedTimeMs, sleeper) -> false;
 
     private final ConcurrentMap<String, InterProcessMutex> mutexMap = new ConcurrentHashMap<>();
+    private final LogGroupCommitter logGroupCommitter = new LogGroupCommitter();
 
     private final ZooKeeperReplicationConfig cfg;
     private final File revisionFile;
@@ -1055,35 +1065,203 @@ public final class ZooKeeperCommandExecutor
         }
     }
 
-    private long storeLog(ReplicationLog<?> log) {
+    @VisibleForTesting
+    long storeLog(ReplicationLog<?> log) {
+        final PendingLog pendingLog;
         try {
-            final byte[] bytes = Jackson.writeValueAsBytes(log);
-            assert bytes.length > 0;
-
-            final LogMeta logMeta = new LogMeta(log.replicaId(), System.currentTimeMillis(), bytes.length);
-
-            final int count = (bytes.length + MAX_BYTES - 1) / MAX_BYTES;
-            for (int i = 0; i < count; ++i) {
-                final int start = i * MAX_BYTES;
-                final int end = Math.min((i + 1) * MAX_BYTES, bytes.length);
-                final byte[] b = Arrays.copyOfRange(bytes, start, end);
-                final String blockPath = curator.create()
-                                                .withMode(CreateMode.PERSISTENT_SEQUENTIAL)
-                                                .forPath(absolutePath(LOG_BLOCK_PATH) + '/', b);
-                final long blockId = revisionFromPath(blockPath);
-                logMeta.appendBlock(blockId);
-            }
-
-            final String logPath =
-                    curator.create().withMode(CreateMode.PERSISTENT_SEQUENTIAL)
-                           .forPath(absolutePath(LOG_PATH) + '/', Jackson.writeValueAsBytes(logMeta));
-
-            return revisionFromPath(logPath);
+            pendingLog = new PendingLog(log, Jackson.writeValueAsBytes(log));
         } catch (Exception e) {
             logger.error("Failed to store a log; entering read-only mode: {}", log, e);
             stopLater();
             throw new ReplicationException("failed to store a log: " + log, e);
         }
+        return logGroupCommitter.store(pendingLog);
+    }
+
+    /**
+     * Stores the {@link ReplicationLog}s of the commands being executed concurrently in batches.
+     *
+     * <p>The commands with different execution paths are executed concurrently by the worker threads.
+     * Instead of creating the log blocks and the log of each command one by one, the first worker that
+     * stores its log becomes a leader and stores the logs of the other workers which arrived in the meantime
+     * as well, using a ZooKeeper transaction for the log blocks and another for the logs. A log is stored
+     * while the lock for its execution path is held, so the order of the logs with the same execution path
+     * is preserved. The logs in a batch get consecutive revisions in the order of their arrival.
+     */
+    @VisibleForTesting
+    final class LogGroupCommitter {
+
+        private final Queue<PendingLog> pendingLogs = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // The statistics of the stored batches, which are updated while holding the lock.
+        private int numBatches;
+        private int maxBatchSize;
+        private int numTransactions;
+
+        long store(PendingLog pendingLog) {
+            pendingLogs.add(pendingLog);
+            lock.lock();
+            try {
+                while (!pendingLog.done) {
+                    final List<PendingLog> batch = new ArrayList<>();
+                    for (int i = 0; i < MAX_LOGS_PER_BATCH; i++) {
+                        final PendingLog pending = pendingLogs.poll();
+                        if (pending == null) {
+                            break;
+                        }
+                        batch.add(pending);
+                    }
+                    numBatches++;
+                    maxBatchSize = Math.max(maxBatchSize, batch.size());
+                    storeBatch(batch);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (pendingLog.cause != null) {
+                throw pendingLog.cause;
+            }
+            return pendingLog.revision;
+        }
+
+        private void storeBatch(List<PendingLog> batch) {
+            assert !batch.isEmpty();
+            try {
+                // Create the log blocks of all logs, within the size limit of a single transaction.
+                final List<CuratorOp> blockOps = new ArrayList<>();
+                final List<Long> blockIds = new ArrayList<>();
+                int blockOpsSize = 0;
+                for (PendingLog pending : batch) {
+                    final byte[] bytes = pending.bytes;
+                    final int count = (bytes.length + MAX_BYTES - 1) / MAX_BYTES;
+                    for (int i = 0; i < count; ++i) {
+                        final int start = i * MAX_BYTES;
+                        final int end = Math.min((i + 1) * MAX_BYTES, bytes.length);
+                        final int opSize = end - start + TRANSACTION_OP_OVERHEAD;
+                        if (!blockOps.isEmpty() && blockOpsSize + opSize > MAX_BYTES) {
+                            createNodes(blockOps, blockIds);
+                            blockOpsSize = 0;
+                        }
+                        final byte[] b = Arrays.copyOfRange(bytes, start, end);
+                        blockOps.add(curator.transactionOp().create()
+                                            .withMode(CreateMode.PERSISTENT_SEQUENTIAL)
+                                            .forPath(absolutePath(LOG_BLOCK_PATH) + '/', b));
+                        blockOpsSize += opSize;
+                    }
+                }
+                createNodes(blockOps, blockIds);
+
+                // Create the logs which refer to the log blocks.
+                final List<CuratorOp> logOps = new ArrayList<>(batch.size());
+                int blockIndex = 0;
+                for (PendingLog pending : batch) {
+                    final byte[] bytes = pending.bytes;
+                    final LogMeta logMeta = new LogMeta(pending.log.replicaId(), System.currentTimeMillis(),
+                                                        bytes.length);
+                    final int count = (bytes.length + MAX_BYTES - 1) / MAX_BYTES;
+                    for (int i = 0; i < count; ++i) {
+                        logMeta.appendBlock(blockIds.get(blockIndex++));
+                    }
+                    logOps.add(curator.transactionOp().create()
+                                      .withMode(CreateMode.PERSISTENT_SEQUENTIAL)
+                                      .forPath(absolutePath(LOG_PATH) + '/',
+                                               Jackson.writeValueAsBytes(logMeta)));
+                }
+                final List<Long> revisions = new ArrayList<>(batch.size());
+                createNodes(logOps, revisions);
+
+                for (int i = 0; i < batch.size(); i++) {
+                    final PendingLog pending = batch.get(i);
+                    pending.revision = revisions.get(i);
+                    pending.done = true;
+                }
+            } catch (Exception e) {
+                for (PendingLog pending : batch) {
+                    logger.error("Failed to store a log; entering read-only mode: {}", pending.log, e);
+                    pending.cause = new ReplicationException("failed to store a log: " + pending.log, e);
+                    pending.done = true;
+                }
+                stopLater();
+            }
+        }
+
+        /**
+         * Creates the nodes in a single transaction and adds the sequence numbers of the created nodes to
+         * the specified {@link List}. The specified {@link CuratorOp}s are cleared afterwards.
+         */
+        private void createNodes(List<CuratorOp> ops, List<Long> sequenceNumbers) throws Exception {
+            if (ops.isEmpty()) {
+                return;
+            }
+            numTransactions++;
+            for (CuratorTransactionResult result : curator.transaction().forOperations(ops)) {
+                sequenceNumbers.add(revisionFromPath(result.getResultPath()));
+            }
+            ops.clear();
+        }
+
+        /**
+         * Returns the number of the batches stored so far.
+         */
+        int numBatches() {
+            lock.lock();
+            try {
+                return numBatches;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns the number of the logs in the largest batch stored so far.
+         */
+        int maxBatchSize() {
+            lock.lock();
+            try {
+                return maxBatchSize;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns the number of the ZooKeeper transactions executed to store the batches so far.
+         */
+        int numTransactions() {
+            lock.lock();
+            try {
+                return numTransactions;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A {@link ReplicationLog} waiting to be stored by the {@link LogGroupCommitter}. The mutable fields are
+     * accessed only while holding the lock of the {@link LogGroupCommitter}.
+     */
+    private static final class PendingLog {
+
+        final ReplicationLog<?> log;
+        final byte[] bytes;
+        long revision;
+        @Nullable
+        ReplicationException cause;
+        boolean done;
+
+        PendingLog(ReplicationLog<?> log, byte[] bytes) {
+            assert bytes.length > 0;
+            this.log = log;
+            this.bytes = bytes;
+        }
+    }
+
+    @VisibleForTesting
+    LogGroupCommitter logGroupCommitter() {
+        return logGroupCommitter;
     }
 
     @VisibleForTesting
@@ -1160,9 +1338,8 @@ public final class ZooKeeperCommandExecutor
             //     Other replicas may still append the logs with different execution paths, because, by design,
             //     two commands never conflict with each other if they have different execution paths.
 
-            final List<String> recentRevisions = curator.getChildren().forPath(absolutePath(LOG_PATH));
-            if (!recentRevisions.isEmpty()) {
-                final long lastRevision = recentRevisions.stream().mapToLong(Long::parseLong).max().getAsLong();
+            final long lastRevision = lastLogRevision();
+            if (lastRevision >= 0) {
                 replayLogs(lastRevision);
             }
 
@@ -1195,6 +1372,33 @@ public final class ZooKeeperCommandExecutor
         }
     }
 
+    /**
+     * Returns the revision of the latest log, or {@code -1} if there are no logs. Instead of listing all
+     * the retained logs, this method reads the {@link Stat} of the parent node first. ZooKeeper assigns the
+     * {@link Stat#getCversion() cversion} of the parent node as the sequence number of a new sequential node,
+     * so the log of {@code cversion - 1} is the latest one if it exists. The children are listed only when
+     * the cversion was also increased by the removal of old logs.
+     */
+    private long lastLogRevision() throws Exception {
+        final String logPath = absolutePath(LOG_PATH);
+        final Stat stat = curator.checkExists().forPath(logPath);
+        if (stat == null || stat.getNumChildren() == 0) {
+            return -1;
+        }
+
+        final long revision = stat.getCversion() - 1L;
+        if (revision >= 0 &&
+            curator.checkExists().forPath(logPath + '/' + pathFromRevision(revision)) != null) {
+            return revision;
+        }
+
+        long lastRevision = -1;
+        for (String childName : curator.getChildren().forPath(logPath)) {
+            lastRevision = Math.max(lastRevision, Long.parseLong(childName));
+        }
+        return lastRevision;
+    }
+
     private static Command<?> unwrapForcePush(Command<?> command) {
         if (command.type() == CommandType.FORCE_PUSH) {
             return ((ForcePushCommand<?>) command).delegate();
@@ -33,9 +33,12 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -45,6 +48,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
@@ -60,6 +64,12 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
     private static final String SUFFIX_PURGED = ".purged";
     private static final String GIT_EXTENSION = ".git";
 
+    /**
+     * The maximum number of the tasks which help the caller thread of {@link #init(Executor)}.
+     * The actual parallelism is also bounded by the number of the threads of the {@link Executor}.
+     */
+    private static final int MAX_LOADING_HELPERS = Runtime.getRuntime().availableProcessors();
+
     private final String childTypeName;
     private final File rootDir;
     private final StorageRemovalManager storageRemovalManager = new StorageRemovalManager();
@@ -98,17 +108,31 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
     }
 
     /**
-     * Initializes this {@link StorageManager} by loading all children.
+     * Initializes this {@link StorageManager} by loading all children in parallel.
+     * The children are loaded by the caller thread and at most {@link #MAX_LOADING_HELPERS} tasks submitted
+     * to the specified {@link Executor}. This method never waits for a task which has not started yet,
+     * so it is safe to call it from a thread of the same {@link Executor}, e.g. when a project loads its
+     * repositories while it is loaded by another {@link DirectoryBasedStorageManager}.
      */
-    protected final void init() {
+    protected final void init(Executor loadingWorker) {
+        requireNonNull(loadingWorker, "loadingWorker");
         checkState(!initialized, "initialized already");
         Throwable cause = null;
         try {
             final File[] childFiles = rootDir.listFiles();
-            if (childFiles != null) {
-                for (File f : childFiles) {
-                    loadChild(f);
+            if (childFiles != null && childFiles.length > 0) {
+                final ChildLoader loader = new ChildLoader(childFiles);
+                final int numHelpers = Math.min(childFiles.length - 1, MAX_LOADING_HELPERS);
+                for (int i = 0; i < numHelpers; i++) {
+                    try {
+                        loadingWorker.execute(loader);
+                    } catch (RejectedExecutionException e) {
+                        // The caller thread will load the remaining children.
+                        break;
+                    }
                 }
+                loader.run();
+                loader.await();
             }
             initialized = true;
         } catch (Throwable t) {
@@ -440,6 +464,56 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
         return Util.simpleTypeName(getClass()) + '(' + rootDir + ')';
     }
 
+    /**
+     * Loads the children one by one until there are no children left. It can be run by more than one thread
+     * to load the children in parallel.
+     */
+    private final class ChildLoader implements Runnable {
+
+        private final File[] childFiles;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final CountDownLatch remaining;
+        private final AtomicReference<Throwable> cause = new AtomicReference<>();
+
+        ChildLoader(File[] childFiles) {
+            this.childFiles = childFiles;
+            remaining = new CountDownLatch(childFiles.length);
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                final int index = nextIndex.getAndIncrement();
+                if (index >= childFiles.length) {
+                    return;
+                }
+
+                try {
+                    // Do not load the remaining children if failed to load any of them.
+                    if (cause.get() == null) {
+                        loadChild(childFiles[index]);
+                    }
+                } catch (Throwable t) {
+                    cause.compareAndSet(null, t);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        }
+
+        /**
+         * Waits until all children are loaded. Only the children which are being loaded by other threads
+         * are waited for because the caller thread has already taken all the children left.
+         */
+        void await() throws Throwable {
+            Uninterruptibles.awaitUninterruptibly(remaining);
+            final Throwable cause = this.cause.get();
+            if (cause != null) {
+                throw cause;
+            }
+        }
+    }
+
     private final class StorageRemovalManager {
 
         private static final String REMOVAL_TIMESTAMP_NAME = "removal.timestamp";
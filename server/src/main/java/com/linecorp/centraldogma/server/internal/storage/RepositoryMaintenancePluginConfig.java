@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.centraldogma.server.plugin.AbstractPluginConfig;
+
+/**
+ * A repository maintenance plugin configuration.
+ */
+public final class RepositoryMaintenancePluginConfig extends AbstractPluginConfig {
+
+    static final long DEFAULT_INTERVAL_MILLIS = 60 * 60 * 1000; // 1 hour
+    static final int DEFAULT_MIN_LOOSE_OBJECTS = 2048;
+    static final int DEFAULT_MIN_PACK_FILES = 16;
+
+    private final long intervalMillis;
+    private final int minLooseObjects;
+    private final int minPackFiles;
+
+    /**
+     * Creates a new instance.
+     */
+    @JsonCreator
+    public RepositoryMaintenancePluginConfig(
+            @JsonProperty("enabled") @Nullable Boolean enabled,
+            @JsonProperty("intervalMillis") @Nullable Long intervalMillis,
+            @JsonProperty("minLooseObjects") @Nullable Integer minLooseObjects,
+            @JsonProperty("minPackFiles") @Nullable Integer minPackFiles) {
+        super(enabled);
+        this.intervalMillis = firstNonNull(intervalMillis, DEFAULT_INTERVAL_MILLIS);
+        checkArgument(this.intervalMillis > 0,
+                      "intervalMillis: %s (expected: > 0)", this.intervalMillis);
+        this.minLooseObjects = firstNonNull(minLooseObjects, DEFAULT_MIN_LOOSE_OBJECTS);
+        checkArgument(this.minLooseObjects > 0,
+                      "minLooseObjects: %s (expected: > 0)", this.minLooseObjects);
+        this.minPackFiles = firstNonNull(minPackFiles, DEFAULT_MIN_PACK_FILES);
+        checkArgument(this.minPackFiles > 0,
+                      "minPackFiles: %s (expected: > 0)", this.minPackFiles);
+    }
+
+    /**
+     * Returns how often the repositories are checked, in milliseconds.
+     */
+    @JsonProperty
+    public long intervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Returns the minimum number of loose objects which triggers repacking a repository.
+     */
+    @JsonProperty
+    public int minLooseObjects() {
+        return minLooseObjects;
+    }
+
+    /**
+     * Returns the minimum number of pack files which triggers repacking a repository.
+     */
+    @JsonProperty
+    public int minPackFiles() {
+        return minPackFiles;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("enabled", enabled())
+                          .add("intervalMillis", intervalMillis)
+                          .add("minLooseObjects", minLooseObjects)
+                          .add("minPackFiles", minPackFiles)
+                          .toString();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.linecorp.centraldogma.server.internal.ExecutorServiceUtil.terminate;
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryManagerWrapper;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryMaintainer;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryMaintainer.Result;
+import com.linecorp.centraldogma.server.storage.project.ProjectManager;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * A service class for repacking the repositories which have too many loose objects or pack files.
+ * Unlike {@link PurgeSchedulingService}, it runs on every replica because each replica has its own copy of
+ * the repositories.
+ */
+public class RepositoryMaintenanceSchedulingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryMaintenanceSchedulingService.class);
+
+    private final ProjectManager projectManager;
+    private final MeterRegistry meterRegistry;
+    private final long intervalMillis;
+    private final GitRepositoryMaintainer maintainer;
+
+    /**
+     * The statistics of the repositories, keyed by {@code "<project>/<repository>"}.
+     * Accessed only by the scheduler thread.
+     */
+    private final Map<String, RepositoryStats> repositoryStats = new HashMap<>();
+
+    @Nullable
+    private volatile ScheduledExecutorService scheduler;
+
+    public RepositoryMaintenanceSchedulingService(ProjectManager projectManager, MeterRegistry meterRegistry,
+                                                  long intervalMillis, int minLooseObjects,
+                                                  int minPackFiles) {
+        this.projectManager = requireNonNull(projectManager, "projectManager");
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        checkArgument(intervalMillis > 0, "intervalMillis: %s (expected: > 0)", intervalMillis);
+        this.intervalMillis = intervalMillis;
+        maintainer = new GitRepositoryMaintainer(minLooseObjects, minPackFiles);
+    }
+
+    public boolean isStarted() {
+        return scheduler != null;
+    }
+
+    public synchronized void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                new DefaultThreadFactory("repository-maintenance-worker", true));
+        this.scheduler = scheduler;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                maintainRepositories();
+            } catch (Exception e) {
+                logger.warn("Unexpected repository maintenance failure", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        final ScheduledExecutorService scheduler = this.scheduler;
+        try {
+            final boolean interrupted = terminate(scheduler);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            this.scheduler = null;
+        }
+    }
+
+    @VisibleForTesting
+    void maintainRepositories() {
+        final Set<String> visited = new HashSet<>();
+        projectManager.list().forEach((projectName, project) -> {
+            RepositoryManager repos = project.repos();
+            while (repos instanceof RepositoryManagerWrapper) {
+                repos = ((RepositoryManagerWrapper) repos).unwrap();
+            }
+
+            repos.list().forEach((repoName, repo) -> {
+                final String key = projectName + '/' + repoName;
+                final Result result;
+                try {
+                    result = maintainer.maintain(repo);
+                } catch (Exception e) {
+                    logger.warn("Failed to maintain a repository: {}", key, e);
+                    return;
+                }
+
+                if (result == null) {
+                    return;
+                }
+                if (result.repacked()) {
+                    logger.info("Repacked a repository: {} (took {} ms, {} loose objects and {} packs left)",
+                                key, TimeUnit.NANOSECONDS.toMillis(result.durationNanos()),
+                                result.numLooseObjects(), result.numPackFiles());
+                }
+
+                visited.add(key);
+                repositoryStats.computeIfAbsent(key, unused -> new RepositoryStats(projectName, repoName))
+                               .update(result);
+            });
+        });
+
+        // Remove the metrics of the removed repositories.
+        repositoryStats.entrySet().removeIf(e -> {
+            if (visited.contains(e.getKey())) {
+                return false;
+            }
+            e.getValue().close();
+            return true;
+        });
+    }
+
+    @VisibleForTesting
+    Map<String, RepositoryStats> repositoryStats() {
+        return repositoryStats;
+    }
+
+    @VisibleForTesting
+    final class RepositoryStats {
+
+        private final ImmutableList<Meter> meters;
+        private volatile long numLooseObjects;
+        private volatile long numPackFiles;
+        private volatile long lastDurationNanos;
+
+        RepositoryStats(String projectName, String repoName) {
+            meters = ImmutableList.of(
+                    Gauge.builder("repository.objects.loose", this, self -> self.numLooseObjects)
+                         .tag("project", projectName)
+                         .tag("repo", repoName)
+                         .register(meterRegistry),
+                    Gauge.builder("repository.packs", this, self -> self.numPackFiles)
+                         .tag("project", projectName)
+                         .tag("repo", repoName)
+                         .register(meterRegistry),
+                    TimeGauge.builder("repository.gc.duration", this, TimeUnit.NANOSECONDS,
+                                      self -> self.lastDurationNanos)
+                             .tag("project", projectName)
+                             .tag("repo", repoName)
+                             .register(meterRegistry));
+        }
+
+        void update(Result result) {
+            numLooseObjects = result.numLooseObjects();
+            numPackFiles = result.numPackFiles();
+            if (result.repacked()) {
+                lastDurationNanos = result.durationNanos();
+            }
+        }
+
+        long numLooseObjects() {
+            return numLooseObjects;
+        }
+
+        long numPackFiles() {
+            return numPackFiles;
+        }
+
+        void close() {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+}
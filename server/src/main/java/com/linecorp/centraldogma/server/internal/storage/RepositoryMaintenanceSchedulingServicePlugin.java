@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.centraldogma.server.CentralDogmaConfig;
+import com.linecorp.centraldogma.server.plugin.Plugin;
+import com.linecorp.centraldogma.server.plugin.PluginConfig;
+import com.linecorp.centraldogma.server.plugin.PluginContext;
+import com.linecorp.centraldogma.server.plugin.PluginTarget;
+
+public final class RepositoryMaintenanceSchedulingServicePlugin implements Plugin {
+
+    @Nullable
+    private volatile RepositoryMaintenanceSchedulingService maintenanceService;
+
+    @Override
+    public PluginTarget target(CentralDogmaConfig config) {
+        // Every replica has its own copy of the repositories.
+        return PluginTarget.ALL_REPLICAS;
+    }
+
+    @Override
+    public synchronized CompletionStage<Void> start(PluginContext context) {
+        requireNonNull(context, "context");
+
+        RepositoryMaintenanceSchedulingService maintenanceService = this.maintenanceService;
+        if (maintenanceService == null) {
+            final RepositoryMaintenancePluginConfig maintenanceConfig =
+                    (RepositoryMaintenancePluginConfig) context.config().pluginConfigMap()
+                                                               .get(configType());
+            checkState(maintenanceConfig != null, "%s not found", configType().getSimpleName());
+            maintenanceService = new RepositoryMaintenanceSchedulingService(
+                    context.projectManager(), context.meterRegistry(),
+                    maintenanceConfig.intervalMillis(), maintenanceConfig.minLooseObjects(),
+                    maintenanceConfig.minPackFiles());
+            this.maintenanceService = maintenanceService;
+        }
+        maintenanceService.start();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized CompletionStage<Void> stop(PluginContext context) {
+        final RepositoryMaintenanceSchedulingService maintenanceService = this.maintenanceService;
+        if (maintenanceService != null && maintenanceService.isStarted()) {
+            maintenanceService.stop();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean isEnabled(CentralDogmaConfig config) {
+        // Disabled unless configured explicitly.
+        final PluginConfig pluginConfig = requireNonNull(config, "config").pluginConfigMap().get(configType());
+        return pluginConfig != null && pluginConfig.enabled();
+    }
+
+    @Override
+    public Class<?> configType() {
+        return RepositoryMaintenancePluginConfig.class;
+    }
+
+    @Nullable
+    public RepositoryMaintenanceSchedulingService maintenanceService() {
+        return maintenanceService;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .omitNullValues()
+                          .add("configType", configType().getName())
+                          .add("target", PluginTarget.ALL_REPLICAS)
+                          .toString();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Records how long each phase of loading the projects and repositories took at startup.
+ * The durations of the repository phases are the sum of the durations of all repositories, so they can be
+ * larger than the wall-clock time of {@link Phase#PROJECTS} when the repositories are loaded in parallel.
+ */
+public final class StorageLoadingMetrics {
+
+    private static final StorageLoadingMetrics NOOP = new StorageLoadingMetrics(false);
+
+    /**
+     * Returns a {@link StorageLoadingMetrics} which records nothing.
+     */
+    public static StorageLoadingMetrics noop() {
+        return NOOP;
+    }
+
+    /**
+     * The phases of loading the projects and repositories.
+     */
+    public enum Phase {
+        /**
+         * The wall-clock time taken to load all projects and their repositories.
+         */
+        PROJECTS("projects"),
+        /**
+         * Reading the project metadata of each project.
+         */
+        PROJECT_METADATA("project.metadata"),
+        /**
+         * Opening the Git repository and reading its configuration.
+         */
+        REPOSITORY_OPEN("repository.open"),
+        /**
+         * Opening or rebuilding the commit ID database.
+         */
+        COMMIT_ID_DATABASE("repository.commit.id.database"),
+        /**
+         * Opening the changed path database.
+         */
+        CHANGED_PATH_DATABASE("repository.changed.path.database"),
+        /**
+         * Reading the initial commit to retrieve the creation time and author.
+         */
+        INITIAL_COMMIT("repository.initial.commit");
+
+        private final String tagValue;
+
+        Phase(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        /**
+         * Returns the value of the {@code phase} tag.
+         */
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    private final boolean enabled;
+    private final LongAdder[] durationNanos;
+    private final LongAdder numRepositories = new LongAdder();
+
+    /**
+     * Creates a new instance.
+     */
+    public StorageLoadingMetrics() {
+        this(true);
+    }
+
+    private StorageLoadingMetrics(boolean enabled) {
+        this.enabled = enabled;
+        durationNanos = new LongAdder[Phase.values().length];
+        for (int i = 0; i < durationNanos.length; i++) {
+            durationNanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds the time elapsed since {@code startNanos} to the duration of the specified {@link Phase}.
+     *
+     * @return the current value of {@link System#nanoTime()}, which can be used as the {@code startNanos}
+     *         of the next {@link Phase}
+     */
+    public long record(Phase phase, long startNanos) {
+        requireNonNull(phase, "phase");
+        final long currentNanos = System.nanoTime();
+        if (enabled) {
+            durationNanos[phase.ordinal()].add(currentNanos - startNanos);
+        }
+        return currentNanos;
+    }
+
+    /**
+     * Increases the number of the loaded repositories.
+     */
+    public void incrementRepositories() {
+        if (enabled) {
+            numRepositories.increment();
+        }
+    }
+
+    /**
+     * Returns the duration of the specified {@link Phase} in nanoseconds.
+     */
+    public long durationNanos(Phase phase) {
+        return durationNanos[requireNonNull(phase, "phase").ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of the loaded repositories.
+     */
+    public long numRepositories() {
+        return numRepositories.sum();
+    }
+
+    /**
+     * Registers the meters which export the recorded durations to the specified {@link MeterRegistry}.
+     */
+    public void bindTo(MeterRegistry meterRegistry) {
+        requireNonNull(meterRegistry, "meterRegistry");
+        for (Phase phase : Phase.values()) {
+            TimeGauge.builder("storage.loading.duration", this, TimeUnit.NANOSECONDS,
+                              self -> self.durationNanos(phase))
+                     .tag("phase", phase.tagValue())
+                     .register(meterRegistry);
+        }
+        Gauge.builder("storage.loading.repositories", this, StorageLoadingMetrics::numRepositories)
+             .register(meterRegistry);
+    }
+
+    @Override
+    public String toString() {
+        final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+        helper.add("repositories", numRepositories());
+        for (Phase phase : Phase.values()) {
+            helper.add(phase.tagValue(), TimeUnit.NANOSECONDS.toMillis(durationNanos(phase)) + "ms");
+        }
+        return helper.toString();
+    }
+}
@@ -52,6 +52,8 @@ import com.linecorp.centraldogma.common.RepositoryExistsException;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.CommitResult;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics.Phase;
 import com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
 import com.linecorp.centraldogma.server.internal.storage.repository.cache.CachingRepositoryManager;
@@ -92,16 +94,17 @@ public class DefaultProject implements Project {
      * Opens an existing project.
      */
     DefaultProject(File rootDir, Executor repositoryWorker, Executor purgeWorker,
-                   @Nullable RepositoryCache cache) {
+                   @Nullable RepositoryCache cache, StorageLoadingMetrics loadingMetrics) {
         requireNonNull(rootDir, "rootDir");
         requireNonNull(repositoryWorker, "repositoryWorker");
+        requireNonNull(loadingMetrics, "loadingMetrics");
 
         if (!rootDir.exists()) {
             throw new ProjectNotFoundException(rootDir.toString());
         }
 
         name = rootDir.getName();
-        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache);
+        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, loadingMetrics);
         if (!repos.exists(REPO_DOGMA)) {
             throw new IllegalStateException(
                     "The project does not have a dogma repository: " + rootDir);
@@ -109,6 +112,7 @@ public class DefaultProject implements Project {
 
         boolean success = false;
         try {
+            final long startNanos = System.nanoTime();
             final ProjectMetadata projectedMetadata = initialMetadata();
             if (projectedMetadata != null) {
                 final UserAndTimestamp creation = projectedMetadata.creation();
@@ -120,6 +124,7 @@ public class DefaultProject implements Project {
                 creationTimeMillis = repos.get(REPO_DOGMA).creationTimeMillis();
                 author = repos.get(REPO_DOGMA).author();
             }
+            loadingMetrics.record(Phase.PROJECT_METADATA, startNanos);
             success = true;
         } catch (Exception e) {
             throw new CentralDogmaException("failed to initialize internal repositories of " + name, e);
@@ -145,7 +150,7 @@ public class DefaultProject implements Project {
         }
 
         name = rootDir.getName();
-        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache);
+        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, StorageLoadingMetrics.noop());
 
         final boolean useDogmaRepoAsMetaRepo;
         if (dogmaProject == null) {
@@ -175,10 +180,11 @@ public class DefaultProject implements Project {
     }
 
     private RepositoryManager newRepoManager(File rootDir, Executor repositoryWorker, Executor purgeWorker,
-                                             @Nullable RepositoryCache cache) {
+                                             @Nullable RepositoryCache cache,
+                                             StorageLoadingMetrics loadingMetrics) {
         // Enable caching if 'cache' is not null.
-        final GitRepositoryManager gitRepos =
-                new GitRepositoryManager(this, rootDir, repositoryWorker, purgeWorker, cache);
+        final GitRepositoryManager gitRepos = new GitRepositoryManager(
+                this, rootDir, repositoryWorker, purgeWorker, cache, loadingMetrics);
         return cache == null ? gitRepos : new CachingRepositoryManager(gitRepos, cache);
     }
 
@@ -24,11 +24,16 @@ import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.ProjectExistsException;
 import com.linecorp.centraldogma.common.ProjectNotFoundException;
 import com.linecorp.centraldogma.server.internal.storage.DirectoryBasedStorageManager;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics.Phase;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
@@ -38,7 +43,10 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 public class DefaultProjectManager extends DirectoryBasedStorageManager<Project> implements ProjectManager {
 
+    private static final Logger logger = LoggerFactory.getLogger(DefaultProjectManager.class);
+
     private final Executor repositoryWorker;
+    private final StorageLoadingMetrics loadingMetrics = new StorageLoadingMetrics();
     @Nullable
     private final RepositoryCache cache;
 
@@ -52,7 +60,18 @@ public class DefaultProjectManager extends DirectoryBasedStorageManager<Project>
         this.repositoryWorker = repositoryWorker;
         cache = cacheSpec != null ? new RepositoryCache(cacheSpec, meterRegistry) : null;
 
-        init();
+        final long startNanos = System.nanoTime();
+        init(repositoryWorker);
+        loadingMetrics.record(Phase.PROJECTS, startNanos);
+        loadingMetrics.bindTo(meterRegistry);
+        logger.info("Loaded the projects: {}", loadingMetrics);
+    }
+
+    /**
+     * Returns the {@link StorageLoadingMetrics} which recorded how long it took to load the projects.
+     */
+    public StorageLoadingMetrics loadingMetrics() {
+        return loadingMetrics;
     }
 
     @Override
@@ -65,7 +84,7 @@ public class DefaultProjectManager extends DirectoryBasedStorageManager<Project>
 
     @Override
     protected Project openChild(File childDir) throws Exception {
-        return new DefaultProject(childDir, repositoryWorker, purgeWorker(), cache);
+        return new DefaultProject(childDir, repositoryWorker, purgeWorker(), cache, loadingMetrics);
     }
 
     @Override
@@ -98,6 +98,31 @@ public final class RepositoryCache {
         return future;
     }
 
+    /**
+     * Returns the value of the specified {@link CacheableCall} if it has been cached and completed
+     * successfully. Unlike {@link #get(CacheableCall)}, this method never executes the call.
+     */
+    @Nullable
+    public <T> T getIfPresent(CacheableCall<T> call) {
+        requireNonNull(call, "call");
+        final CompletableFuture<Object> future = cache.getIfPresent(call);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        //noinspection unchecked
+        return (T) future.join();
+    }
+
+    /**
+     * Caches the specified {@code value} as the result of the specified {@link CacheableCall} unless
+     * the call has been cached already.
+     */
+    public <T> void putIfAbsent(CacheableCall<T> call, T value) {
+        requireNonNull(call, "call");
+        requireNonNull(value, "value");
+        cache.asMap().putIfAbsent(call, CompletableFuture.completedFuture(value));
+    }
+
     public void clear() {
         cache.synchronous().invalidateAll();
     }
@@ -52,6 +52,11 @@ public class RepositoryManagerWrapper implements RepositoryManager {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    public final <T extends RepositoryManager> T unwrap() {
+        return (T) delegate;
+    }
+
     @Override
     public Project parent() {
         return delegate.parent();
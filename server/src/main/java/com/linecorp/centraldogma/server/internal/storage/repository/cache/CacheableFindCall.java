@@ -17,6 +17,8 @@
 package com.linecorp.centraldogma.server.internal.storage.repository.cache;
 
 import static com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache.logger;
+import static com.linecorp.centraldogma.server.storage.repository.FindOptions.FIND_ALL_WITH_CONTENT;
+import static com.linecorp.centraldogma.server.storage.repository.Repository.ALL_PATH;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Map;
@@ -31,7 +33,15 @@ import com.linecorp.centraldogma.server.storage.repository.AbstractCacheableCall
 import com.linecorp.centraldogma.server.storage.repository.FindOption;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
-final class CacheableFindCall extends AbstractCacheableCall<Map<String, Entry<?>>> {
+public final class CacheableFindCall extends AbstractCacheableCall<Map<String, Entry<?>>> {
+
+    /**
+     * Returns a new {@link CacheableFindCall} which finds all entries with their contents at the specified
+     * {@link Revision}, i.e. the call used by {@link CachingRepository} to serve most queries.
+     */
+    public static CacheableFindCall ofAllWithContent(Repository repo, Revision revision) {
+        return new CacheableFindCall(repo, revision, ALL_PATH, FIND_ALL_WITH_CONTENT);
+    }
 
     final Revision revision;
     final String pathPattern;
@@ -15,23 +15,32 @@
  */
 package com.linecorp.centraldogma.server.internal.storage.repository.git;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.dircache.DirCache;
 import org.eclipse.jgit.dircache.DirCacheBuilder;
 import org.eclipse.jgit.dircache.DirCacheEditor;
 import org.eclipse.jgit.dircache.DirCacheEditor.PathEdit;
 import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectInserter;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.TreeWalk;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -42,7 +51,17 @@ import com.linecorp.centraldogma.server.storage.StorageException;
 
 abstract class AbstractChangesApplier {
 
-    private static final byte[] EMPTY_BYTE = new byte[0];
+    /**
+     * The paths of the files and the directories (with a trailing {@code '/'}) edited by this applier.
+     */
+    private final Set<String> editedPaths = new HashSet<>();
+
+    /**
+     * The {@link AffectedPathsFilter} which matches the entries of the base tree loaded into the
+     * {@link DirCache}, or {@code null} if there is no base tree.
+     */
+    @Nullable
+    private AffectedPathsFilter loadedPaths;
 
     int apply(Repository jGitRepository, Revision headRevision,
               @Nullable ObjectId baseTreeId, DirCache dirCache) {
@@ -50,11 +69,21 @@ abstract class AbstractChangesApplier {
              ObjectReader reader = jGitRepository.newObjectReader()) {
 
             if (baseTreeId != null) {
-                // the DirCacheBuilder is to used for doing update operations on the given DirCache object
+                // Add only the entries of the base tree which the changes may read or edit to the temporary
+                // DirCache object, rather than all entries of the tree.
+                loadedPaths = new AffectedPathsFilter(affectedPaths());
                 final DirCacheBuilder builder = dirCache.builder();
-
-                // Add the tree object indicated by the prevRevision to the temporary DirCache object.
-                builder.addTree(EMPTY_BYTE, 0, reader, baseTreeId);
+                try (TreeWalk treeWalk = new TreeWalk(reader)) {
+                    treeWalk.addTree(baseTreeId);
+                    treeWalk.setRecursive(true);
+                    treeWalk.setFilter(loadedPaths);
+                    while (treeWalk.next()) {
+                        final DirCacheEntry entry = new DirCacheEntry(treeWalk.getRawPath());
+                        entry.setFileMode(treeWalk.getFileMode(0));
+                        entry.setObjectId(treeWalk.getObjectId(0));
+                        builder.add(entry);
+                    }
+                }
                 builder.finish();
             }
 
@@ -66,9 +95,53 @@ abstract class AbstractChangesApplier {
         }
     }
 
+    /**
+     * Returns the paths (without a leading {@code '/'}) of the files and the directories which
+     * {@link #doApply(Revision, DirCache, ObjectReader, ObjectInserter)} may read or edit. Only the entries
+     * matched by {@link AffectedPathsFilter} with these paths are loaded into the {@link DirCache}.
+     */
+    abstract Iterable<String> affectedPaths();
+
     abstract int doApply(Revision headRevision, DirCache dirCache,
                          ObjectReader reader, ObjectInserter inserter) throws IOException;
 
+    /**
+     * Writes the tree which consists of the entries of the base tree and the {@link DirCache} that
+     * {@link #apply(Repository, Revision, ObjectId, DirCache)} built, and returns its {@link ObjectId}.
+     * Only the trees along the edited paths are written.
+     */
+    ObjectId writeTree(ObjectId baseTreeId, DirCache dirCache,
+                       ObjectReader reader, ObjectInserter inserter) throws IOException {
+        checkState(loadedPaths != null, "changes were not applied on a base tree");
+        return new IncrementalTreeWriter(dirCache, loadedPaths, editedPaths, reader, inserter)
+                .write(baseTreeId);
+    }
+
+    /**
+     * Returns the differences between the base tree and the {@link DirCache} that
+     * {@link #apply(Repository, Revision, ObjectId, DirCache)} built. Only the entries loaded into
+     * the {@link DirCache} are compared because the others are the same with the base tree.
+     */
+    List<DiffEntry> diff(Repository jGitRepository, ObjectReader reader,
+                         ObjectId baseTreeId, DirCache dirCache) throws IOException {
+        checkState(loadedPaths != null, "changes were not applied on a base tree");
+        try (DiffFormatter diffFormatter = new DiffFormatter(null)) {
+            diffFormatter.setReader(reader, jGitRepository.getConfig());
+            diffFormatter.setPathFilter(loadedPaths);
+            final CanonicalTreeParser p = new CanonicalTreeParser();
+            p.reset(reader, baseTreeId);
+            return diffFormatter.scan(p, new DirCacheIterator(dirCache));
+        }
+    }
+
+    /**
+     * Records the specified path as edited. Must be invoked for every {@link PathEdit} applied to
+     * the {@link DirCache}.
+     */
+    final void addEditedPath(String path) {
+        editedPaths.add(path);
+    }
+
     static void applyPathEdit(DirCache dirCache, PathEdit edit) {
         final DirCacheEditor e = dirCache.editor();
         e.add(edit);
@@ -119,6 +192,27 @@ abstract class AbstractChangesApplier {
         }
     }
 
+    static final class InsertBlob extends PathEdit {
+        private final ObjectInserter inserter;
+        private final byte[] content;
+
+        InsertBlob(String entryPath, ObjectInserter inserter, byte[] content) {
+            super(entryPath);
+            this.inserter = inserter;
+            this.content = content;
+        }
+
+        @Override
+        public void apply(DirCacheEntry ent) {
+            try {
+                ent.setObjectId(inserter.insert(Constants.OBJ_BLOB, content));
+                ent.setFileMode(FileMode.REGULAR_FILE);
+            } catch (IOException e) {
+                throw new StorageException("failed to create a new blob", e);
+            }
+        }
+    }
+
     static final class CopyOldEntry extends PathEdit {
         private final DirCacheEntry oldEntry;
 
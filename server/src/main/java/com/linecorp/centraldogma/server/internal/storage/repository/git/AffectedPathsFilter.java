@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * A {@link TreeFilter} which matches the entries that the changes on the specified paths may read or edit,
+ * i.e. the entries at or under the paths and the files at their parent paths, which conflict with the
+ * entries under them. The subtrees along the paths are walked, but their other entries are not matched.
+ */
+final class AffectedPathsFilter extends TreeFilter {
+
+    private final Set<String> paths = new HashSet<>();
+    private final Set<String> parentPaths = new HashSet<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param paths the paths of the files and directories without a leading {@code '/'}
+     */
+    AffectedPathsFilter(Iterable<String> paths) {
+        for (String path : paths) {
+            this.paths.add(path);
+            for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                parentPaths.add(path.substring(0, i));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the specified path is one of the paths of this filter or under one of them,
+     * i.e. whether all entries at or under the specified path are matched.
+     */
+    boolean matchesAll(String path) {
+        if (paths.contains(path)) {
+            return true;
+        }
+        for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+            if (paths.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the specified path is a parent path of one of the paths of this filter.
+     */
+    boolean isParent(String path) {
+        return parentPaths.contains(path);
+    }
+
+    @Override
+    public boolean include(TreeWalk walker) {
+        final String path = walker.getPathString();
+        return isParent(path) || matchesAll(path);
+    }
+
+    @Override
+    public boolean shouldBeRecursive() {
+        return true;
+    }
+
+    @Override
+    public TreeFilter clone() {
+        // Immutable.
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "AffectedPathsFilter(" + paths + ')';
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.spotify.futures.CompletableFutures;
+
+import com.linecorp.centraldogma.common.EntryType;
+import com.linecorp.centraldogma.server.storage.repository.AbstractCacheableCall;
+
+/**
+ * Reads and parses the content of a blob. Because the result is keyed by the ID of the blob rather than
+ * the revision, the content of the files which were not changed is shared between revisions.
+ * The content is either a {@link JsonNode} or a {@link String} depending on the {@link EntryType}.
+ */
+final class CacheableBlobContentCall extends AbstractCacheableCall<CacheableBlobContentCall.BlobContent> {
+
+    private final ObjectReader reader;
+    private final ObjectId blobId;
+    private final EntryType entryType;
+    private final int hashCode;
+
+    CacheableBlobContentCall(GitRepository repo, ObjectReader reader, ObjectId blobId, EntryType entryType) {
+        super(repo);
+        this.reader = reader;
+        this.blobId = blobId;
+        this.entryType = entryType;
+        hashCode = (blobId.hashCode() * 31 + entryType.hashCode()) * 31 + System.identityHashCode(repo);
+    }
+
+    @Override
+    public int weigh(BlobContent value) {
+        return value.size;
+    }
+
+    @Override
+    public CompletableFuture<BlobContent> execute() {
+        // Do not leave a debug log here because it will be called very frequently.
+        try {
+            final byte[] bytes = GitRepository.readBlob(reader, blobId);
+            return CompletableFuture.completedFuture(
+                    new BlobContent(GitRepository.parseContent(blobId, bytes, entryType), bytes.length));
+        } catch (Exception e) {
+            return CompletableFutures.exceptionallyCompletedFuture(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        final CacheableBlobContentCall that = (CacheableBlobContentCall) o;
+        return blobId.equals(that.blobId) &&
+               entryType == that.entryType;
+    }
+
+    @Override
+    protected void toString(ToStringHelper helper) {
+        helper.add("blobId", blobId.name())
+              .add("entryType", entryType);
+    }
+
+    /**
+     * The parsed content of a blob with the size of the blob, which is used as the weight of the content
+     * so that the content does not have to be serialized again to weigh it.
+     */
+    static final class BlobContent {
+        final Object content;
+        final int size;
+
+        BlobContent(Object content, int size) {
+            this.content = content;
+            this.size = size;
+        }
+    }
+}
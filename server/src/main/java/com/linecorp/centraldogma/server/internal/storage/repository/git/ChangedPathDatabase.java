@@ -0,0 +1,536 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.jgit.lib.ConfigConstants.CONFIG_CORE_SECTION;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.storage.StorageException;
+
+/**
+ * Simple file-based database of the paths changed by each {@link Revision}, which is kept alongside
+ * the {@link CommitIdDatabase} so that a path-filtered history query or a lookup of the latest revision
+ * can skip the revisions that did not touch the requested paths without comparing their trees.
+ *
+ * <h3>File layout</h3>
+ *
+ * <pre>{@code
+ * database = record*
+ * record = revision numPaths path*
+ * revision = 32-bit signed big-endian integer (4 bytes)
+ * numPaths = 32-bit signed big-endian integer (4 bytes), -1 if the paths were not recorded
+ * path = length (16-bit unsigned big-endian integer) + UTF-8 encoded path without the leading '/'
+ * }</pre>
+ *
+ * The records are appended in the order of their revisions, but the first record does not have to be
+ * the initial revision, because the database of an existing repository starts from the revision made after
+ * the database was introduced. The paths of a revision are not recorded if there are too many of them,
+ * in which case the revision is treated as if it changed every path.
+ *
+ * <p>The file offsets of the records are kept in memory so that the records of a range of revisions can be
+ * read with a few sequential reads. If the last record is behind the head revision of the repository, e.g.
+ * when the server stopped before a record is written or when the database is opened for an existing
+ * repository for the first time, the missing records are filled in by comparing the trees of the missing
+ * revisions, up to {@value #MAX_BACKFILL_REVISIONS} revisions.
+ */
+final class ChangedPathDatabase implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangedPathDatabase.class);
+
+    private static final int HEADER_LEN = 4 + 4; // 32-bit revision + 32-bit number of paths
+    private static final int UNRECORDED = -1;
+    @VisibleForTesting
+    static final int MAX_PATHS = 256;
+    @VisibleForTesting
+    static final int MAX_BACKFILL_REVISIONS = 1024;
+    private static final int MAX_RECORD_LEN = 32 * 1024;
+    private static final int READ_BUFFER_LEN = 64 * 1024;
+    private static final int MIN_INDEX_CAPACITY = 64;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ChangedPathLoader loader;
+    private final boolean fsync;
+
+    /**
+     * The immutable snapshot of the file offsets of the records, which is replaced whenever a record is
+     * appended or the records are discarded.
+     */
+    private volatile Index index = new Index(1, 0, new long[MIN_INDEX_CAPACITY + 1]);
+
+    ChangedPathDatabase(Repository repo, CommitIdDatabase commitIdDatabase, @Nullable Revision headRevision) {
+        // NB: Enable fsync only when the Git repository has been configured so, like CommitIdDatabase.
+        this(repo.getDirectory(), headRevision, revision -> loadChangedPaths(repo, commitIdDatabase, revision),
+             repo.getConfig().getBoolean(CONFIG_CORE_SECTION, "fsyncObjectFiles", false));
+    }
+
+    @VisibleForTesting
+    ChangedPathDatabase(File rootDir, @Nullable Revision headRevision, ChangedPathLoader loader) {
+        this(rootDir, headRevision, loader, false);
+    }
+
+    private ChangedPathDatabase(File rootDir, @Nullable Revision headRevision, ChangedPathLoader loader,
+                                boolean fsync) {
+        path = new File(rootDir, "changed_paths.dat").toPath();
+        try {
+            channel = FileChannel.open(path,
+                                       StandardOpenOption.CREATE,
+                                       StandardOpenOption.READ,
+                                       StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new StorageException("failed to open a changed path database: " + path, e);
+        }
+
+        this.loader = loader;
+        this.fsync = fsync;
+        boolean success = false;
+        try {
+            load();
+            catchUp(headRevision != null ? headRevision.major() : 0);
+            success = true;
+        } catch (IOException e) {
+            throw new StorageException("failed to update the changed path database: " + path, e);
+        } finally {
+            if (!success) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Returns the path changed by the specified {@link DiffEntry}, as recorded in this database.
+     */
+    static String changedPath(DiffEntry diffEntry) {
+        switch (diffEntry.getChangeType()) {
+            case ADD:
+                return diffEntry.getNewPath();
+            case MODIFY:
+            case DELETE:
+                return diffEntry.getOldPath();
+            default:
+                throw new Error();
+        }
+    }
+
+    /**
+     * Returns the paths changed by the specified revision, by comparing its tree with the tree of
+     * the previous revision.
+     */
+    private static List<String> loadChangedPaths(Repository repo, CommitIdDatabase commitIdDatabase,
+                                                 int revision) throws IOException {
+        try (ObjectReader reader = repo.newObjectReader();
+             RevWalk revWalk = GitRepository.newRevWalk(reader);
+             DiffFormatter diffFormatter = new DiffFormatter(null)) {
+            diffFormatter.setReader(reader, repo.getConfig());
+            final RevTree treeA = revision > 1 ? GitRepository.toTree(commitIdDatabase, revWalk,
+                                                                      new Revision(revision - 1))
+                                               : null;
+            final RevTree treeB = GitRepository.toTree(commitIdDatabase, revWalk, new Revision(revision));
+            return Lists.transform(diffFormatter.scan(treeA, treeB), ChangedPathDatabase::changedPath);
+        }
+    }
+
+    /**
+     * Appends the record of the specified {@link Revision}. The missing records of the previous revisions,
+     * e.g. those failed to be written, are filled in first. Any failure is logged rather than propagated,
+     * because this database is only an optimization and the revisions not found here are handled by
+     * comparing the trees.
+     */
+    synchronized void put(Revision revision, Iterable<String> changedPaths) {
+        checkArgument(!revision.isRelative(), "revision: %s (expected: an absolute revision)", revision);
+        try {
+            if (revision.major() != index.lastRevision() + 1) {
+                catchUp(revision.major() - 1);
+            }
+            append(encode(revision.major(), changedPaths));
+        } catch (IOException e) {
+            logger.warn("Failed to update the changed path database: {}", path, e);
+        }
+    }
+
+    /**
+     * Makes the specified revision the last record of this database, by discarding the records after it
+     * and filling in the missing records before it. If too many records are missing, the database starts
+     * over from the latest {@value #MAX_BACKFILL_REVISIONS} revisions.
+     */
+    private void catchUp(int lastRevision) throws IOException {
+        Index index = this.index;
+        if (index.lastRevision() > lastRevision) {
+            // Discard the records of the revisions which do not exist anymore.
+            if (lastRevision >= index.firstRevision) {
+                truncate(lastRevision - index.firstRevision + 1);
+            } else {
+                reset(lastRevision + 1);
+            }
+            index = this.index;
+        }
+        if (index.lastRevision() == lastRevision) {
+            return;
+        }
+
+        int revision;
+        if (index.numRecords > 0 && lastRevision - index.lastRevision() <= MAX_BACKFILL_REVISIONS) {
+            revision = index.lastRevision() + 1;
+        } else {
+            revision = Math.max(1, lastRevision - MAX_BACKFILL_REVISIONS + 1);
+            reset(revision);
+        }
+
+        logger.info("Filling in the changed path database from revision {} to {}: {}",
+                    revision, lastRevision, path);
+        for (; revision <= lastRevision; revision++) {
+            final Iterable<String> changedPaths;
+            try {
+                changedPaths = loader.load(revision);
+            } catch (Exception e) {
+                logger.warn("Failed to load the changed paths of revision {}; starting over from {}: {}",
+                            revision, lastRevision + 1, path, e);
+                reset(lastRevision + 1);
+                return;
+            }
+            append(encode(revision, changedPaths));
+        }
+    }
+
+    private void append(ByteBuffer buf) throws IOException {
+        final Index index = this.index;
+        long pos = index.offsets[index.numRecords];
+        do {
+            pos += channel.write(buf, pos);
+        } while (buf.hasRemaining());
+
+        if (fsync) {
+            channel.force(true);
+        }
+
+        this.index = index.append(pos);
+    }
+
+    private static ByteBuffer encode(int revision, Iterable<String> changedPaths) {
+        final List<byte[]> encodedPaths = new ArrayList<>();
+        int length = HEADER_LEN;
+        for (String changedPath : changedPaths) {
+            final byte[] encodedPath = changedPath.getBytes(UTF_8);
+            length += 2 + encodedPath.length;
+            encodedPaths.add(encodedPath);
+            if (encodedPaths.size() > MAX_PATHS || length > MAX_RECORD_LEN) {
+                break;
+            }
+        }
+
+        final ByteBuffer buf;
+        if (encodedPaths.size() > MAX_PATHS || length > MAX_RECORD_LEN) {
+            buf = ByteBuffer.allocate(HEADER_LEN);
+            buf.putInt(revision);
+            buf.putInt(UNRECORDED);
+        } else {
+            buf = ByteBuffer.allocate(length);
+            buf.putInt(revision);
+            buf.putInt(encodedPaths.size());
+            for (byte[] encodedPath : encodedPaths) {
+                buf.putShort((short) encodedPath.length);
+                buf.put(encodedPath);
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Finds the revisions in the specified range which may have changed the paths that match
+     * the specified {@link PathPatternFilter}. The bit {@code i} of the returned {@link BitSet} is set if
+     * the revision {@code fromRevision + i} changed a matching path, did not record its paths, or is not
+     * found in this database. Therefore, a revision whose bit is clear did not change any matching path.
+     *
+     * @param fromRevision the first revision of the range, inclusive
+     * @param toRevision the last revision of the range, inclusive
+     */
+    BitSet findMayChangedRevisions(int fromRevision, int toRevision, PathPatternFilter filter) {
+        checkArgument(fromRevision <= toRevision, "fromRevision: %s, toRevision: %s (expected: %s <= %s)",
+                      fromRevision, toRevision, "fromRevision", "toRevision");
+
+        final BitSet result = new BitSet(toRevision - fromRevision + 1);
+        final Index index = this.index;
+        final long[] offsets = index.offsets;
+        final int firstRevision = index.firstRevision;
+        final int lastRevision = index.lastRevision();
+
+        // Mark the revisions not found in this database.
+        if (fromRevision < firstRevision) {
+            result.set(0, Math.min(firstRevision, toRevision + 1) - fromRevision);
+        }
+        if (toRevision > lastRevision) {
+            result.set(Math.max(lastRevision + 1, fromRevision) - fromRevision, toRevision - fromRevision + 1);
+        }
+
+        final int startRevision = Math.max(fromRevision, firstRevision);
+        final int endRevision = Math.min(toRevision, lastRevision);
+        if (startRevision > endRevision) {
+            return result;
+        }
+
+        final ByteBuffer buf = ByteBuffer.allocate(
+                (int) Math.min(READ_BUFFER_LEN, offsets[endRevision - firstRevision + 1] -
+                                                offsets[startRevision - firstRevision]));
+        buf.flip();
+        long pos = offsets[startRevision - firstRevision];
+        try {
+            for (int revision = startRevision; revision <= endRevision; revision++) {
+                final int i = revision - firstRevision;
+                final int recordLen = (int) (offsets[i + 1] - offsets[i]);
+                if (buf.remaining() < recordLen) {
+                    pos = fill(buf, pos, offsets[endRevision - firstRevision + 1]);
+                }
+
+                final int recordEnd = buf.position() + recordLen;
+                if (buf.getInt() != revision) {
+                    throw new IOException("incorrect revision number (expected: " + revision + ')');
+                }
+                if (mayChange(buf, filter)) {
+                    result.set(revision - fromRevision);
+                }
+                buf.position(recordEnd);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The records might have been rewritten by put() after the index was retrieved.
+            // Fall back to comparing the trees.
+            logger.warn("Failed to read the changed path database: {}", path, e);
+            result.set(startRevision - fromRevision, endRevision - fromRevision + 1);
+        }
+
+        return result;
+    }
+
+    private static boolean mayChange(ByteBuffer buf, PathPatternFilter filter) {
+        final int numPaths = buf.getInt();
+        if (numPaths == UNRECORDED) {
+            return true;
+        }
+        if (filter.matchesAll()) {
+            return numPaths > 0;
+        }
+
+        for (int i = 0; i < numPaths; i++) {
+            final int pathLen = buf.getShort() & 0xFFFF;
+            final String changedPath = new String(buf.array(), buf.arrayOffset() + buf.position(),
+                                                  pathLen, UTF_8);
+            if (filter.matches(changedPath)) {
+                return true;
+            }
+            buf.position(buf.position() + pathLen);
+        }
+        return false;
+    }
+
+    /**
+     * Moves the remaining bytes of the specified buffer to its beginning and reads the following bytes
+     * from the file until the buffer is full or {@code end} is reached.
+     */
+    private long fill(ByteBuffer buf, long pos, long end) throws IOException {
+        buf.compact();
+        buf.limit((int) Math.min(buf.capacity(), buf.position() + end - pos));
+        while (buf.hasRemaining()) {
+            final int readBytes = channel.read(buf, pos);
+            if (readBytes < 0) {
+                throw new EOFException();
+            }
+            pos += readBytes;
+        }
+        buf.flip();
+        return pos;
+    }
+
+    /**
+     * Loads the file offsets of the records. Discards the records after the first incomplete record or
+     * the first record with an unexpected revision number.
+     */
+    private void load() {
+        final long size;
+        try {
+            size = channel.size();
+        } catch (IOException e) {
+            throw new StorageException("failed to get the file length: " + path, e);
+        }
+
+        final ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER_LEN);
+        buf.flip();
+        long readPos = 0;
+        long offset = 0;
+        Index index = this.index;
+        try {
+            for (;;) {
+                if (buf.remaining() < HEADER_LEN) {
+                    readPos = fill(buf, readPos, size);
+                    if (buf.remaining() < HEADER_LEN) {
+                        break;
+                    }
+                }
+
+                final int revision = buf.getInt();
+                final int numPaths = buf.getInt();
+                if (index.numRecords == 0) {
+                    index = new Index(revision, 0, index.offsets);
+                } else if (revision != index.lastRevision() + 1) {
+                    logger.warn("Found an incorrect revision number in the changed path database: {} " +
+                                "(expected: {}, actual: {})", path, index.lastRevision() + 1, revision);
+                    break;
+                }
+
+                long recordLen = HEADER_LEN;
+                boolean complete = true;
+                for (int i = 0; i < numPaths; i++) {
+                    if (buf.remaining() < 2) {
+                        readPos = fill(buf, readPos, size);
+                        if (buf.remaining() < 2) {
+                            complete = false;
+                            break;
+                        }
+                    }
+                    final int pathLen = buf.getShort() & 0xFFFF;
+                    recordLen += 2 + pathLen;
+                    if (buf.remaining() < pathLen) {
+                        readPos = fill(buf, readPos, size);
+                        if (buf.remaining() < pathLen) {
+                            complete = false;
+                            break;
+                        }
+                    }
+                    buf.position(buf.position() + pathLen);
+                }
+
+                if (!complete) {
+                    break;
+                }
+
+                offset += recordLen;
+                index = index.append(offset);
+            }
+
+            if (offset != size) {
+                logger.warn("Discarding the incomplete records in the changed path database: {} " +
+                            "(valid: {} bytes, actual: {} bytes)", path, offset, size);
+                channel.truncate(offset);
+            }
+        } catch (IOException e) {
+            throw new StorageException("failed to read the changed path database: " + path, e);
+        }
+
+        if (index.numRecords == 0) {
+            index = new Index(1, 0, index.offsets);
+        }
+        this.index = index;
+    }
+
+    /**
+     * Discards all records. The next record will be the specified revision.
+     */
+    private void reset(int firstRevision) throws IOException {
+        channel.truncate(0);
+        index = new Index(firstRevision, 0, new long[MIN_INDEX_CAPACITY + 1]);
+    }
+
+    /**
+     * Discards the records after the specified number of records.
+     */
+    private void truncate(int numRecords) throws IOException {
+        final Index index = this.index;
+        channel.truncate(index.offsets[numRecords]);
+        // Copy the offsets so that the readers of the current index do not see the offsets of the records
+        // appended later.
+        this.index = new Index(index.firstRevision, numRecords,
+                               Arrays.copyOf(index.offsets, index.offsets.length));
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the changed path database: {}", path, e);
+        }
+    }
+
+    /**
+     * Loads the paths changed by a revision, which is used to fill in the missing records.
+     */
+    @FunctionalInterface
+    interface ChangedPathLoader {
+        Iterable<String> load(int revision) throws Exception;
+    }
+
+    /**
+     * An immutable snapshot of the file offsets of the records. The {@link #offsets} array may be shared
+     * with the next snapshot which has more records, but the elements visible to this snapshot, i.e.
+     * {@code offsets[0..numRecords]}, never change.
+     */
+    private static final class Index {
+
+        final int firstRevision;
+        final int numRecords;
+
+        /**
+         * The file offsets of the records, followed by the end of the last record.
+         */
+        final long[] offsets;
+
+        Index(int firstRevision, int numRecords, long[] offsets) {
+            this.firstRevision = firstRevision;
+            this.numRecords = numRecords;
+            this.offsets = offsets;
+        }
+
+        int lastRevision() {
+            return firstRevision + numRecords - 1;
+        }
+
+        Index append(long endOffset) {
+            long[] offsets = this.offsets;
+            if (numRecords + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[numRecords + 1] = endOffset;
+            return new Index(firstRevision, numRecords + 1, offsets);
+        }
+    }
+}
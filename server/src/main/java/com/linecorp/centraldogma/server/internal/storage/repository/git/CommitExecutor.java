@@ -28,9 +28,7 @@ import java.util.function.Function;
 import javax.annotation.Nullable;
 
 import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.dircache.DirCache;
-import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.lib.CommitBuilder;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectInserter;
@@ -38,10 +36,10 @@ import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
@@ -129,27 +127,30 @@ final class CommitExecutor {
             final CommitIdDatabase commitIdDatabase = gitRepository.commitIdDatabase();
 
             // The staging area that keeps the entries of the new tree.
-            // It starts with the entries of the tree at the headRevision (or with no entries if the
-            // headRevision is the initial commit), and then this method will apply the requested changes
-            // to build the new tree.
+            // It starts with the entries of the tree at the headRevision which the requested changes may
+            // read or edit (or with no entries if the headRevision is the initial commit), and then this
+            // method will apply the requested changes to build the new tree.
             final DirCache dirCache = DirCache.newInCore();
             final List<DiffEntry> diffEntries;
+            final ObjectId nextTreeId;
 
             if (headRevision != null) {
                 final ObjectId prevTreeId = toTree(commitIdDatabase, revWalk, headRevision);
                 // Apply the changes and retrieve the list of the affected files.
-                final int numEdits = new DefaultChangesApplier(changes)
-                        .apply(jGitRepository, headRevision, prevTreeId, dirCache);
-                // Reject empty commit if necessary.
-                boolean isEmpty = numEdits == 0;
+                final DefaultChangesApplier applier = new DefaultChangesApplier(changes);
+                final int numEdits = applier.apply(jGitRepository, headRevision, prevTreeId, dirCache);
+                if (numEdits == 0) {
+                    nextTreeId = prevTreeId;
+                } else {
+                    // Write only the trees along the edited paths, reusing the other entries and subtrees.
+                    nextTreeId = applier.writeTree(prevTreeId, dirCache, reader, inserter);
+                }
+
+                // Even if there are edits, the resulting tree might be identical with the previous tree.
+                final boolean isEmpty = nextTreeId.equals(prevTreeId);
                 if (!isEmpty) {
-                    // Even if there are edits, the resulting tree might be identical with the previous tree.
-                    final CanonicalTreeParser p = new CanonicalTreeParser();
-                    p.reset(reader, prevTreeId);
-                    final DiffFormatter diffFormatter = new DiffFormatter(null);
-                    diffFormatter.setRepository(jGitRepository);
-                    diffEntries = diffFormatter.scan(p, new DirCacheIterator(dirCache));
-                    isEmpty = diffEntries.isEmpty();
+                    // Compare only the entries the changes may have edited.
+                    diffEntries = applier.diff(jGitRepository, reader, prevTreeId, dirCache);
                 } else {
                     diffEntries = ImmutableList.of();
                 }
@@ -162,11 +163,10 @@ final class CommitExecutor {
             } else {
                 // initial commit.
                 diffEntries = ImmutableList.of();
+                // flush the current index to repository and get the result tree object id.
+                nextTreeId = dirCache.writeTree(inserter);
             }
 
-            // flush the current index to repository and get the result tree object id.
-            final ObjectId nextTreeId = dirCache.writeTree(inserter);
-
             // build a commit object
             final PersonIdent personIdent = new PersonIdent(author.name(), author.email(),
                                                             commitTimeMillis / 1000L * 1000L, 0);
@@ -192,6 +192,8 @@ final class CommitExecutor {
             // tagging the revision object, for history lookup purpose.
             commitIdDatabase.put(nextRevision, nextCommitId);
             doRefUpdate(jGitRepository, revWalk, R_HEADS_MASTER, nextCommitId);
+            gitRepository.changedPathDatabase().put(
+                    nextRevision, Lists.transform(diffEntries, ChangedPathDatabase::changedPath));
 
             return new RevisionAndEntries(nextRevision, diffEntries);
         } catch (CentralDogmaException | IllegalArgumentException e) {
@@ -27,6 +27,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 import javax.annotation.Nullable;
 
@@ -62,12 +63,22 @@ import com.linecorp.centraldogma.server.storage.StorageException;
  * </ul>
  * Therefore, {@link #put(Revision, ObjectId)} is always appending at the end of the database file and
  * {@link #get(Revision)} is always reading a record at the offset {@code (revision - 1) * 24}.
+ *
+ * <h3>In-memory index</h3>
+ *
+ * The commit IDs are also kept in a compact {@code byte} array, which is loaded when the database is opened
+ * and appended after a record is written to the file successfully, so that {@link #get(Revision)} does not
+ * issue a system call for each lookup. A record is read from the file only when it was not loaded into
+ * the index, e.g. when the file contains a record with an unexpected revision number.
  */
 final class CommitIdDatabase implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(CommitIdDatabase.class);
 
     private static final int RECORD_LEN = 4 + 20; // 32-bit integer + 160-bit SHA1 hash
+    private static final int COMMIT_ID_LEN = 20; // 160-bit SHA1 hash
+    private static final int MIN_INDEX_CAPACITY = 64;
+    private static final int LOAD_BATCH_RECORDS = 4096;
 
     private static final ThreadLocal<ByteBuffer> threadLocalBuffer =
             ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(RECORD_LEN));
@@ -77,6 +88,13 @@ final class CommitIdDatabase implements AutoCloseable {
     private final boolean fsync;
     private volatile Revision headRevision;
 
+    /**
+     * The raw commit IDs of the revisions from {@code 1} to {@link #numIndexedRecords}.
+     * Always updated before {@link #numIndexedRecords}.
+     */
+    private volatile byte[] commitIdIndex = new byte[0];
+    private volatile int numIndexedRecords;
+
     CommitIdDatabase(Repository repo) {
         // NB: We enable fsync only when our Git repository has been configured so,
         //     because there's no point of doing fsync only on this file when the
@@ -116,6 +134,7 @@ final class CommitIdDatabase implements AutoCloseable {
 
             final int numRecords = (int) (size / RECORD_LEN);
             headRevision = numRecords > 0 ? new Revision(numRecords) : null;
+            loadIndex(numRecords);
             success = true;
         } finally {
             if (!success) {
@@ -136,6 +155,11 @@ final class CommitIdDatabase implements AutoCloseable {
             throw new RevisionNotFoundException(revision);
         }
 
+        final int numIndexedRecords = this.numIndexedRecords;
+        if (revision.major() <= numIndexedRecords) {
+            return ObjectId.fromRaw(commitIdIndex, (revision.major() - 1) * COMMIT_ID_LEN);
+        }
+
         final ByteBuffer buf = threadLocalBuffer.get();
         buf.clear();
         long pos = (long) (revision.major() - 1) * RECORD_LEN;
@@ -198,6 +222,11 @@ final class CommitIdDatabase implements AutoCloseable {
             throw new StorageException("failed to update the commit ID database: " + path, e);
         }
 
+        if (revision.major() == numIndexedRecords + 1) {
+            // Update the index only after the record has been written successfully.
+            appendToIndex(commitId);
+        }
+
         if (safeMode ||
             headRevision == null ||
             headRevision.major() < revision.major()) {
@@ -205,6 +234,63 @@ final class CommitIdDatabase implements AutoCloseable {
         }
     }
 
+    /**
+     * Loads the records in the database file into the in-memory index. Stops loading at the first
+     * record with an unexpected revision number, so that {@link #get(Revision)} reads and rejects it from
+     * the file.
+     */
+    private synchronized void loadIndex(int numRecords) {
+        numIndexedRecords = 0;
+        commitIdIndex = new byte[Math.max(numRecords, MIN_INDEX_CAPACITY) * COMMIT_ID_LEN];
+
+        final ByteBuffer buf = ByteBuffer.allocate(LOAD_BATCH_RECORDS * RECORD_LEN);
+        long pos = 0;
+        int revision = 1;
+        try {
+            while (revision <= numRecords) {
+                buf.clear();
+                buf.limit(Math.min(LOAD_BATCH_RECORDS, numRecords - revision + 1) * RECORD_LEN);
+                do {
+                    final int readBytes = channel.read(buf, pos);
+                    if (readBytes < 0) {
+                        throw new EOFException();
+                    }
+                    pos += readBytes;
+                } while (buf.hasRemaining());
+                buf.flip();
+
+                while (buf.hasRemaining()) {
+                    if (buf.getInt() != revision) {
+                        logger.warn("Found an incorrect revision number in the commit ID database: {} " +
+                                    "(expected: {})", path, revision);
+                        return;
+                    }
+                    appendToIndex(new ObjectId(buf.getInt(), buf.getInt(), buf.getInt(),
+                                               buf.getInt(), buf.getInt()));
+                    revision++;
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("failed to read the commit ID database: " + path, e);
+        }
+    }
+
+    private void appendToIndex(ObjectId commitId) {
+        final int numIndexedRecords = this.numIndexedRecords;
+        byte[] commitIdIndex = this.commitIdIndex;
+        final int offset = numIndexedRecords * COMMIT_ID_LEN;
+        if (offset + COMMIT_ID_LEN > commitIdIndex.length) {
+            commitIdIndex = Arrays.copyOf(commitIdIndex, Math.max(commitIdIndex.length * 2,
+                                                                  MIN_INDEX_CAPACITY * COMMIT_ID_LEN));
+        }
+
+        commitId.copyRawTo(commitIdIndex, offset);
+
+        // Publish the new record after it has been written to the array.
+        this.commitIdIndex = commitIdIndex;
+        this.numIndexedRecords = numIndexedRecords + 1;
+    }
+
     void rebuild(Repository gitRepo) {
         logger.warn("Rebuilding the commit ID database ..");
 
@@ -215,6 +301,7 @@ final class CommitIdDatabase implements AutoCloseable {
             throw new StorageException("failed to drop the commit ID database: " + path, e);
         }
         headRevision = null;
+        numIndexedRecords = 0;
 
         // Get the commit IDs of all revisions.
         try (RevWalk revWalk = new RevWalk(gitRepo)) {
@@ -261,6 +348,9 @@ final class CommitIdDatabase implements AutoCloseable {
 
             // All commit IDs except the head have been stored. Store the head finally.
             put(headRevision, headCommitId);
+
+            // The records were stored in the reverse order, so build the index again.
+            loadIndex(headRevision.major());
         } catch (Exception e) {
             throw new StorageException("failed to rebuild the commit ID database", e);
         }
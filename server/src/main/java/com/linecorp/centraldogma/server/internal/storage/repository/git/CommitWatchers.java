@@ -16,16 +16,20 @@
 
 package com.linecorp.centraldogma.server.internal.storage.repository.git;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -39,12 +43,51 @@ import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.Watch.WatchListener;
 
+/**
+ * Keeps the {@link Watch}es registered to a {@link GitRepository} and notifies them when a commit changes
+ * the paths they are interested in.
+ *
+ * <p>The {@link PathPatternFilter}s are indexed so that a notification does not need to evaluate every
+ * registered pattern:
+ * <ul>
+ *   <li>a pattern that consists only of exact paths (e.g. {@code /foo/bar.json}) is looked up by the path,</li>
+ *   <li>a pattern that consists only of directory prefixes (e.g. {@code /foo/**}) is looked up by
+ *       the ancestor directories of the path, and</li>
+ *   <li>only the other patterns that contain a glob (e.g. {@code /foo/*.json}) are evaluated one by one.</li>
+ * </ul>
+ *
+ * <p>The {@link Watch}es of a {@link PathPatternFilter} are only accessed via
+ * {@link ConcurrentHashMap#compute(Object, java.util.function.BiFunction)} and its variants, so that
+ * registering a {@link Watch} does not contend with the notifications for other patterns.
+ */
 final class CommitWatchers {
 
     private static final Logger logger = LoggerFactory.getLogger(CommitWatchers.class);
 
+    private final Executor notificationExecutor;
+
     @VisibleForTesting
-    final Map<PathPatternFilter, Set<Watch>> watchesMap = new WatcherMap(8192);
+    final Map<PathPatternFilter, Set<Watch>> watchesMap = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link PathPatternFilter}s with exact path patterns, keyed by the path.
+     */
+    private final Map<String, Set<PathPatternFilter>> exactPathIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link PathPatternFilter}s with directory prefix patterns, keyed by the directory path
+     * which ends with {@code '/'}, e.g. {@code "/foo/"} for {@code "/foo/**"}.
+     */
+    private final Map<String, Set<PathPatternFilter>> prefixIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link PathPatternFilter}s which cannot be indexed and thus have to be evaluated one by one.
+     */
+    private final Set<PathPatternFilter> globFilters = ConcurrentHashMap.newKeySet();
+
+    CommitWatchers(Executor notificationExecutor) {
+        this.notificationExecutor = requireNonNull(notificationExecutor, "notificationExecutor");
+    }
 
     void add(Revision lastKnownRev, String pathPattern,
              @Nullable CompletableFuture<Revision> future, @Nullable WatchListener listener) {
@@ -52,12 +95,14 @@ final class CommitWatchers {
     }
 
     private void add0(final PathPatternFilter pathPattern, Watch watch) {
-        synchronized (watchesMap) {
-            final Set<Watch> watches =
-                    watchesMap.computeIfAbsent(pathPattern,
-                                               k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+        watchesMap.compute(pathPattern, (filter, watches) -> {
+            if (watches == null) {
+                watches = Collections.newSetFromMap(new IdentityHashMap<>());
+                index(filter);
+            }
             watches.add(watch);
-        }
+            return watches;
+        });
 
         final CompletableFuture<Revision> future = watch.future();
         if (future == null) {
@@ -70,76 +115,145 @@ final class CommitWatchers {
 
             // Remove manually only when the watch was not removed from the set successfully.
             // This usually happens when a user cancels the promise.
-            synchronized (watchesMap) {
-                final Set<Watch> watches = watchesMap.get(pathPattern);
+            watchesMap.computeIfPresent(pathPattern, (filter, watches) -> {
                 watches.remove(watch);
-                if (watches.isEmpty()) {
-                    watchesMap.remove(pathPattern);
-                }
-            }
+                return removeIfEmpty(filter, watches);
+            });
         });
     }
 
-    void notify(Revision revision, String path) {
-        List<Watch> eligibleWatches = null;
-        synchronized (watchesMap) {
-            if (watchesMap.isEmpty()) {
-                return;
-            }
-
-            for (final Iterator<Entry<PathPatternFilter, Set<Watch>>> mapIt = watchesMap.entrySet().iterator();
-                 mapIt.hasNext();) {
+    /**
+     * Notifies the {@link Watch}es whose path pattern matches any of the specified paths changed by
+     * the commit at the specified {@link Revision}. Each path pattern is evaluated only once for the whole
+     * set of the changed paths, so a {@link Watch} is notified at most once per commit.
+     *
+     * <p>The {@link WatchListener}s are notified in the caller thread so that they observe the commits
+     * in order. The {@link CompletableFuture}s are completed in a single batch by
+     * the {@code notificationExecutor}, so that the committing thread does not run their callbacks.
+     */
+    void notify(Revision revision, Collection<String> changedPaths) {
+        if (watchesMap.isEmpty() || changedPaths.isEmpty()) {
+            return;
+        }
 
-                final Entry<PathPatternFilter, Set<Watch>> entry = mapIt.next();
-                if (!entry.getKey().matches(path)) {
-                    continue;
-                }
+        final Set<PathPatternFilter> matchingFilters = findMatchingFilters(changedPaths);
+        if (matchingFilters == null) {
+            return;
+        }
 
-                final Set<Watch> watches = entry.getValue();
+        final List<Watch> eligibleWatches = new ArrayList<>();
+        for (PathPatternFilter filter : matchingFilters) {
+            watchesMap.computeIfPresent(filter, (f, watches) -> {
                 for (final Iterator<Watch> i = watches.iterator(); i.hasNext();) {
                     final Watch w = i.next();
                     final Revision lastKnownRevision = w.lastKnownRevision();
                     if (lastKnownRevision.compareTo(revision) < 0) {
-                        eligibleWatches = move(eligibleWatches, i, w);
+                        move(eligibleWatches, i, w);
                     } else {
                         logIneligibleFuture(lastKnownRevision, revision);
                     }
                 }
+                return removeIfEmpty(f, watches);
+            });
+        }
 
-                if (watches.isEmpty()) {
-                    mapIt.remove();
+        if (eligibleWatches.isEmpty()) {
+            return;
+        }
+
+        // Notify the listeners first and collect the promises found above.
+        List<Watch> eligiblePromises = null;
+        for (Watch w : eligibleWatches) {
+            if (w.future() == null) {
+                w.notify(revision);
+            } else {
+                if (eligiblePromises == null) {
+                    eligiblePromises = new ArrayList<>(eligibleWatches.size());
                 }
+                eligiblePromises.add(w);
             }
         }
 
-        if (eligibleWatches == null) {
+        if (eligiblePromises == null) {
             return;
         }
 
-        // Notify the matching promises found above.
-        final int numEligiblePromises = eligibleWatches.size();
-        for (int i = 0; i < numEligiblePromises; i++) {
-            eligibleWatches.get(i).notify(revision);
+        // Notify the matching promises in a single batch.
+        final List<Watch> promises = eligiblePromises;
+        notificationExecutor.execute(() -> {
+            final int numEligiblePromises = promises.size();
+            for (int i = 0; i < numEligiblePromises; i++) {
+                promises.get(i).notify(revision);
+            }
+        });
+    }
+
+    /**
+     * Returns the {@link PathPatternFilter}s which match any of the specified paths,
+     * or {@code null} if there is none.
+     */
+    @Nullable
+    private Set<PathPatternFilter> findMatchingFilters(Collection<String> changedPaths) {
+        final List<String> paths = new ArrayList<>(changedPaths.size());
+        Set<PathPatternFilter> matchingFilters = null;
+        for (String path : changedPaths) {
+            if (path.charAt(0) != '/') {
+                path = '/' + path;
+            }
+            paths.add(path);
+
+            matchingFilters = addAll(matchingFilters, exactPathIndex.get(path));
+            // Look up all ancestor directories, e.g. '/', '/foo/' and '/foo/bar/' for '/foo/bar/baz.json'.
+            for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                matchingFilters = addAll(matchingFilters, prefixIndex.get(path.substring(0, i + 1)));
+            }
+        }
+
+        for (PathPatternFilter filter : globFilters) {
+            for (String path : paths) {
+                if (filter.matches(path)) {
+                    if (matchingFilters == null) {
+                        matchingFilters = new HashSet<>();
+                    }
+                    matchingFilters.add(filter);
+                    break;
+                }
+            }
         }
+        return matchingFilters;
+    }
+
+    @Nullable
+    private static Set<PathPatternFilter> addAll(@Nullable Set<PathPatternFilter> matchingFilters,
+                                                 @Nullable Set<PathPatternFilter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return matchingFilters;
+        }
+        if (matchingFilters == null) {
+            matchingFilters = new HashSet<>();
+        }
+        matchingFilters.addAll(filters);
+        return matchingFilters;
     }
 
     void close(Supplier<CentralDogmaException> causeSupplier) {
-        List<Watch> eligibleWatches = null;
-        synchronized (watchesMap) {
-            for (final Set<Watch> watches : watchesMap.values()) {
+        final List<Watch> eligibleWatches = new ArrayList<>();
+        for (PathPatternFilter filter : watchesMap.keySet()) {
+            watchesMap.computeIfPresent(filter, (f, watches) -> {
                 for (final Iterator<Watch> i = watches.iterator(); i.hasNext();) {
                     final Watch w = i.next();
                     if (!w.canRemove()) {
                         // ResponseListener does not need to propagate errors when closing.
                         i.remove();
                     } else {
-                        eligibleWatches = move(eligibleWatches, i, w);
+                        move(eligibleWatches, i, w);
                     }
                 }
-            }
+                return removeIfEmpty(f, watches);
+            });
         }
 
-        if (eligibleWatches == null) {
+        if (eligibleWatches.isEmpty()) {
             return;
         }
 
@@ -151,41 +265,109 @@ final class CommitWatchers {
         }
     }
 
-    private static List<Watch> move(@Nullable List<Watch> watches, Iterator<Watch> i, Watch w) {
+    private static void move(List<Watch> watches, Iterator<Watch> i, Watch w) {
         if (w.canRemove()) {
             i.remove();
             w.remove();
         }
 
-        if (watches == null) {
-            watches = new ArrayList<>();
-        }
-
         watches.add(w);
-        return watches;
     }
 
-    private static void logIneligibleFuture(Revision lastKnownRevision, Revision newRevision) {
-        logger.debug("Not notifying a future with same or newer lastKnownRevision: {} (newRevision: {})",
-                     lastKnownRevision, newRevision);
+    /**
+     * Returns {@code null} and removes the specified {@link PathPatternFilter} from the index
+     * if the {@link Watch} set is empty. Must be invoked while computing the entry of {@link #watchesMap}.
+     */
+    @Nullable
+    private Set<Watch> removeIfEmpty(PathPatternFilter filter, Set<Watch> watches) {
+        if (!watches.isEmpty()) {
+            return watches;
+        }
+        unindex(filter);
+        return null;
     }
 
-    private static final class WatcherMap
-            extends LinkedHashMap<PathPatternFilter, Set<Watch>> {
+    private void index(PathPatternFilter filter) {
+        if (!isIndexable(filter)) {
+            globFilters.add(filter);
+            return;
+        }
+
+        for (String p : filter.normalizedPathPatterns()) {
+            if (isLiteral(p)) {
+                addToIndex(exactPathIndex, p, filter);
+            } else {
+                addToIndex(prefixIndex, directoryPrefix(p), filter);
+            }
+        }
+    }
+
+    private void unindex(PathPatternFilter filter) {
+        if (!isIndexable(filter)) {
+            globFilters.remove(filter);
+            return;
+        }
+
+        for (String p : filter.normalizedPathPatterns()) {
+            if (isLiteral(p)) {
+                removeFromIndex(exactPathIndex, p, filter);
+            } else {
+                removeFromIndex(prefixIndex, directoryPrefix(p), filter);
+            }
+        }
+    }
 
-        private static final long serialVersionUID = 6793455658134063005L;
+    private static void addToIndex(Map<String, Set<PathPatternFilter>> index, String key,
+                                   PathPatternFilter filter) {
+        index.compute(key, (unused, filters) -> {
+            if (filters == null) {
+                filters = ConcurrentHashMap.newKeySet();
+            }
+            filters.add(filter);
+            return filters;
+        });
+    }
 
-        private final int maxEntries;
+    private static void removeFromIndex(Map<String, Set<PathPatternFilter>> index, String key,
+                                        PathPatternFilter filter) {
+        index.computeIfPresent(key, (unused, filters) -> {
+            filters.remove(filter);
+            return filters.isEmpty() ? null : filters;
+        });
+    }
 
-        WatcherMap(int maxEntries) {
-            super(maxEntries, 0.75f, true);
-            this.maxEntries = maxEntries;
+    /**
+     * Returns {@code true} if all path patterns of the specified {@link PathPatternFilter} are
+     * either an exact path or a directory prefix which ends with {@code "/**"}.
+     */
+    private static boolean isIndexable(PathPatternFilter filter) {
+        for (String p : filter.normalizedPathPatterns()) {
+            if (!isLiteral(p) && directoryPrefix(p) == null) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        @Override
-        protected boolean removeEldestEntry(Entry<PathPatternFilter, Set<Watch>> eldest) {
-            // Remove only the entries with empty watchers.
-            return size() > maxEntries && eldest.getValue().isEmpty();
+    private static boolean isLiteral(String pathPattern) {
+        return pathPattern.indexOf('*') < 0;
+    }
+
+    /**
+     * Returns the directory prefix of the specified path pattern, e.g. {@code "/foo/"} for
+     * {@code "/foo/**"}, or {@code null} if the path pattern is not a directory prefix pattern.
+     */
+    @Nullable
+    private static String directoryPrefix(String pathPattern) {
+        if (!pathPattern.endsWith("/**")) {
+            return null;
         }
+        final String prefix = pathPattern.substring(0, pathPattern.length() - 2);
+        return isLiteral(prefix) ? prefix : null;
+    }
+
+    private static void logIneligibleFuture(Revision lastKnownRevision, Revision newRevision) {
+        logger.debug("Not notifying a future with same or newer lastKnownRevision: {} (newRevision: {})",
+                     lastKnownRevision, newRevision);
     }
 }
@@ -20,10 +20,13 @@ import static com.linecorp.centraldogma.server.internal.storage.repository.git.G
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.TreeSet;
 
 import javax.annotation.Nullable;
 
@@ -31,6 +34,7 @@ import org.eclipse.jgit.dircache.DirCache;
 import org.eclipse.jgit.dircache.DirCacheEditor;
 import org.eclipse.jgit.dircache.DirCacheEditor.DeletePath;
 import org.eclipse.jgit.dircache.DirCacheEditor.DeleteTree;
+import org.eclipse.jgit.dircache.DirCacheEditor.PathEdit;
 import org.eclipse.jgit.dircache.DirCacheEntry;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectInserter;
@@ -42,6 +46,7 @@ import com.google.common.base.MoreObjects;
 
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.ChangeConflictException;
+import com.linecorp.centraldogma.common.ChangeType;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.common.TextPatchConflictException;
 import com.linecorp.centraldogma.common.jsonpatch.JsonPatchConflictException;
@@ -60,56 +65,70 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
         this.changes = changes;
     }
 
+    @Override
+    Iterable<String> affectedPaths() {
+        final List<String> paths = new ArrayList<>();
+        for (Change<?> change : changes) {
+            paths.add(change.path().substring(1)); // Strip the leading '/'.
+            if (change.type() == ChangeType.RENAME) {
+                paths.add(((String) change.content()).substring(1));
+            }
+        }
+        return paths;
+    }
+
     @Override
     int doApply(Revision unused, DirCache dirCache,
                 ObjectReader reader, ObjectInserter inserter) throws IOException {
         int numEdits = 0;
+        final BatchedDirCacheEditor editor = new BatchedDirCacheEditor(dirCache);
         // loop over the specified changes.
         for (Change<?> change : changes) {
             final String changePath = change.path().substring(1); // Strip the leading '/'.
+            // Make the edits of the previous changes visible if this change depends on them.
+            editor.flushIfEdited(changePath);
             final DirCacheEntry oldEntry = dirCache.getEntry(changePath);
-            final byte[] oldContent = oldEntry != null ? reader.open(oldEntry.getObjectId()).getBytes()
-                                                       : null;
 
             switch (change.type()) {
                 case UPSERT_JSON: {
-                    final JsonNode oldJsonNode = oldContent != null ? Jackson.readTree(oldContent) : null;
                     final JsonNode newJsonNode = firstNonNull((JsonNode) change.content(),
                                                               JsonNodeFactory.instance.nullNode());
-
-                    // Upsert only when the contents are really different.
-                    if (!Objects.equals(newJsonNode, oldJsonNode)) {
-                        applyPathEdit(dirCache, new InsertJson(changePath, inserter, newJsonNode));
+                    final byte[] newContent = Jackson.writeValueAsBytes(newJsonNode);
+
+                    // Upsert only when the contents are really different. The old content is parsed only
+                    // when its blob ID differs, because it may have been formatted differently.
+                    if (!hasContent(oldEntry, newContent, inserter) &&
+                        !Objects.equals(newJsonNode, readJson(reader, oldEntry))) {
+                        editor.add(changePath, new InsertBlob(changePath, inserter, newContent));
+                        addEditedPath(changePath);
                         numEdits++;
                     }
                     break;
                 }
                 case UPSERT_TEXT: {
-                    final String sanitizedOldText;
-                    if (oldContent != null) {
-                        sanitizedOldText = sanitizeText(new String(oldContent, UTF_8));
-                    } else {
-                        sanitizedOldText = null;
-                    }
-
                     final String sanitizedNewText = sanitizeText(change.contentAsText());
-
-                    // Upsert only when the contents are really different.
-                    if (!sanitizedNewText.equals(sanitizedOldText)) {
-                        applyPathEdit(dirCache, new InsertText(changePath, inserter, sanitizedNewText));
+                    final byte[] newContent = sanitizedNewText.getBytes(UTF_8);
+
+                    // Upsert only when the contents are really different. The old content is read only
+                    // when its blob ID differs, because it may have not been sanitized.
+                    if (!hasContent(oldEntry, newContent, inserter) &&
+                        !sanitizedNewText.equals(readSanitizedText(reader, oldEntry))) {
+                        editor.add(changePath, new InsertBlob(changePath, inserter, newContent));
+                        addEditedPath(changePath);
                         numEdits++;
                     }
                     break;
                 }
                 case REMOVE:
                     if (oldEntry != null) {
-                        applyPathEdit(dirCache, new DeletePath(changePath));
+                        editor.add(changePath, new DeletePath(changePath));
+                        addEditedPath(changePath);
                         numEdits++;
                         break;
                     }
 
                     // The path might be a directory.
-                    if (applyDirectoryEdits(dirCache, changePath, null, change)) {
+                    if (applyDirectoryEdits(dirCache, editor, changePath, null, change)) {
                         numEdits++;
                     } else {
                         // Was not a directory either; conflict.
@@ -120,6 +139,7 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
                 case RENAME: {
                     final String newPath =
                             ((String) change.content()).substring(1); // Strip the leading '/'.
+                    editor.flushIfEdited(newPath);
 
                     if (dirCache.getEntry(newPath) != null) {
                         throw new ChangeConflictException("a file exists at the target path: " + change);
@@ -131,16 +151,16 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
                             break;
                         }
 
-                        final DirCacheEditor editor = dirCache.editor();
-                        editor.add(new DeletePath(changePath));
-                        editor.add(new CopyOldEntry(newPath, oldEntry));
-                        editor.finish();
+                        editor.add(changePath, new DeletePath(changePath));
+                        editor.add(newPath, new CopyOldEntry(newPath, oldEntry));
+                        addEditedPath(changePath);
+                        addEditedPath(newPath);
                         numEdits++;
                         break;
                     }
 
                     // The path might be a directory.
-                    if (applyDirectoryEdits(dirCache, changePath, newPath, change)) {
+                    if (applyDirectoryEdits(dirCache, editor, changePath, newPath, change)) {
                         numEdits++;
                     } else {
                         // Was not a directory either; conflict.
@@ -149,12 +169,7 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
                     break;
                 }
                 case APPLY_JSON_PATCH: {
-                    final JsonNode oldJsonNode;
-                    if (oldContent != null) {
-                        oldJsonNode = Jackson.readTree(oldContent);
-                    } else {
-                        oldJsonNode = Jackson.nullNode;
-                    }
+                    final JsonNode oldJsonNode = firstNonNull(readJson(reader, oldEntry), Jackson.nullNode);
 
                     final JsonNode newJsonNode;
                     try {
@@ -167,7 +182,8 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
 
                     // Apply only when the contents are really different.
                     if (!newJsonNode.equals(oldJsonNode)) {
-                        applyPathEdit(dirCache, new InsertJson(changePath, inserter, newJsonNode));
+                        editor.add(changePath, new InsertJson(changePath, inserter, newJsonNode));
+                        addEditedPath(changePath);
                         numEdits++;
                     }
                     break;
@@ -176,13 +192,11 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
                     final Patch<String> patch = DiffUtils.parseUnifiedDiff(
                             Util.stringToLines(sanitizeText((String) change.content())));
 
-                    final String sanitizedOldText;
+                    final String sanitizedOldText = readSanitizedText(reader, oldEntry);
                     final List<String> sanitizedOldTextLines;
-                    if (oldContent != null) {
-                        sanitizedOldText = sanitizeText(new String(oldContent, UTF_8));
+                    if (sanitizedOldText != null) {
                         sanitizedOldTextLines = Util.stringToLines(sanitizedOldText);
                     } else {
-                        sanitizedOldText = null;
                         sanitizedOldTextLines = Collections.emptyList();
                     }
 
@@ -208,12 +222,14 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
 
                     // Apply only when the contents are really different.
                     if (!newText.equals(sanitizedOldText)) {
-                        applyPathEdit(dirCache, new InsertText(changePath, inserter, newText));
+                        editor.add(changePath, new InsertText(changePath, inserter, newText));
+                        addEditedPath(changePath);
                         numEdits++;
                     }
                     break;
             }
         }
+        editor.flush();
         return numEdits;
     }
 
@@ -232,8 +248,8 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
      *
      * @return {@code true} if any edits were made to {@code dirCache}, {@code false} otherwise
      */
-    private static boolean applyDirectoryEdits(DirCache dirCache,
-                                               String oldDir, @Nullable String newDir, Change<?> change) {
+    private boolean applyDirectoryEdits(DirCache dirCache, BatchedDirCacheEditor editor,
+                                        String oldDir, @Nullable String newDir, Change<?> change) {
 
         if (!oldDir.endsWith("/")) {
             oldDir += '/';
@@ -245,7 +261,7 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
         final byte[] rawOldDir = Constants.encode(oldDir);
         final byte[] rawNewDir = newDir != null ? Constants.encode(newDir) : null;
         final int numEntries = dirCache.getEntryCount();
-        DirCacheEditor editor = null;
+        boolean edited = false;
 
         loop:
         for (int i = 0; i < numEntries; i++) {
@@ -290,11 +306,11 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
                 }
             }
 
-            // Do not create an editor until we find an entry to rename/remove.
-            // We can tell if there was any matching entries or not from the nullness of editor later.
-            if (editor == null) {
-                editor = dirCache.editor();
-                editor.add(new DeleteTree(oldDir));
+            // Do not add an edit until we find an entry to rename/remove.
+            if (!edited) {
+                edited = true;
+                editor.add(oldDir, new DeleteTree(oldDir));
+                addEditedPath(oldDir);
                 if (newDir == null) {
                     // Recursive removal
                     break;
@@ -305,18 +321,104 @@ final class DefaultChangesApplier extends AbstractChangesApplier {
 
             final String oldPath = e.getPathString();
             final String newPath = newDir + oldPath.substring(oldDir.length());
-            editor.add(new CopyOldEntry(newPath, e));
+            editor.add(newPath, new CopyOldEntry(newPath, e));
+            addEditedPath(newPath);
         }
 
-        if (editor != null) {
-            editor.finish();
-            return true;
-        } else {
-            return false;
+        return edited;
+    }
+
+    /**
+     * Returns whether the specified {@link DirCacheEntry} has the specified content. Only the blob IDs are
+     * compared, so the old blob is not read.
+     */
+    private static boolean hasContent(@Nullable DirCacheEntry entry, byte[] content, ObjectInserter inserter) {
+        return entry != null && entry.getObjectId().equals(inserter.idFor(Constants.OBJ_BLOB, content));
+    }
+
+    @Nullable
+    private static JsonNode readJson(ObjectReader reader, @Nullable DirCacheEntry entry) throws IOException {
+        return entry != null ? Jackson.readTree(reader.open(entry.getObjectId()).getBytes()) : null;
+    }
+
+    @Nullable
+    private static String readSanitizedText(ObjectReader reader,
+                                            @Nullable DirCacheEntry entry) throws IOException {
+        if (entry == null) {
+            return null;
         }
+        return sanitizeText(new String(reader.open(entry.getObjectId()).getBytes(), UTF_8));
     }
 
     private static void reportNonExistentEntry(Change<?> change) {
         throw new ChangeConflictException("non-existent file/directory: " + change);
     }
+
+    /**
+     * Collects the {@link PathEdit}s of the changes into one {@link DirCacheEditor}, so that the entries of
+     * the {@link DirCache} are rebuilt once rather than once per change. The collected edits are applied
+     * before a change which reads a path they edit, so that the change is applied on top of them.
+     */
+    private static final class BatchedDirCacheEditor {
+
+        private final DirCache dirCache;
+
+        /**
+         * The paths of the files and the directories (with a trailing {@code '/'}) edited by the collected
+         * edits.
+         */
+        private final NavigableSet<String> editedPaths = new TreeSet<>();
+
+        @Nullable
+        private DirCacheEditor editor;
+
+        BatchedDirCacheEditor(DirCache dirCache) {
+            this.dirCache = dirCache;
+        }
+
+        void add(String path, PathEdit edit) {
+            if (editor == null) {
+                editor = dirCache.editor();
+            }
+            editor.add(edit);
+            editedPaths.add(path);
+        }
+
+        /**
+         * Applies the collected edits if any of them edits the specified path, its parent directories or
+         * the files under it.
+         */
+        void flushIfEdited(String path) {
+            if (isEdited(path)) {
+                flush();
+            }
+        }
+
+        private boolean isEdited(String path) {
+            if (editedPaths.isEmpty()) {
+                return false;
+            }
+            if (editedPaths.contains(path)) {
+                return true;
+            }
+            for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                // A parent may have been edited as a file, e.g. replaced with a directory.
+                if (editedPaths.contains(path.substring(0, i)) ||
+                    editedPaths.contains(path.substring(0, i + 1))) {
+                    return true;
+                }
+            }
+            final String dir = path + '/';
+            final String ceiling = editedPaths.ceiling(dir);
+            return ceiling != null && ceiling.startsWith(dir);
+        }
+
+        void flush() {
+            if (editor != null) {
+                editor.finish();
+                editor = null;
+                editedPaths.clear();
+            }
+        }
+    }
 }
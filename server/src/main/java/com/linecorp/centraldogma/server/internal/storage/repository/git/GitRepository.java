@@ -29,18 +29,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -51,7 +55,6 @@ import javax.annotation.Nullable;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.dircache.DirCache;
-import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectIdOwnerMap;
@@ -67,7 +70,6 @@ import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.revwalk.TreeRevFilter;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.storage.file.FileBasedConfig;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
@@ -82,6 +84,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
@@ -105,7 +108,10 @@ import com.linecorp.centraldogma.server.command.CommitResult;
 import com.linecorp.centraldogma.server.command.ContentTransformer;
 import com.linecorp.centraldogma.server.internal.IsolatedSystemReader;
 import com.linecorp.centraldogma.server.internal.JGitUtil;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics.Phase;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.cache.CacheableFindCall;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.Watch.WatchListener;
 import com.linecorp.centraldogma.server.storage.StorageException;
 import com.linecorp.centraldogma.server.storage.project.Project;
@@ -127,6 +133,12 @@ class GitRepository implements Repository {
 
     private static final Pattern CR = Pattern.compile("\r", Pattern.LITERAL);
 
+    /**
+     * The maximum number of revisions to look up from the {@link ChangedPathDatabase} when finding
+     * the latest revision. The two trees are compared without the lookup if the range is wider.
+     */
+    private static final int MAX_CHANGED_PATH_LOOKUP_REVISIONS = MAX_MAX_COMMITS * 10;
+
     private static final Field revWalkObjectsField;
 
     static {
@@ -161,7 +173,18 @@ class GitRepository implements Repository {
         revWalkObjectsField = field;
     }
 
-    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+    /**
+     * The lock which serializes the updates of the head revision and closing. The read operations do not
+     * acquire this lock but read {@link #headRevision} which is published only after the commit has been
+     * stored completely.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    /**
+     * The number of the read operations in progress. {@link #close(Supplier)} waits until it becomes zero
+     * before closing the underlying resources. See {@link #beginRead()}.
+     */
+    private final AtomicInteger numActiveReads = new AtomicInteger();
+    private final SafeCloseable readGuard = this::endRead;
     private final Project parent;
     private final Executor repositoryWorker;
     private final long creationTimeMillis;
@@ -172,8 +195,9 @@ class GitRepository implements Repository {
     private final String name;
     private final org.eclipse.jgit.lib.Repository jGitRepository;
     private final CommitIdDatabase commitIdDatabase;
+    private final ChangedPathDatabase changedPathDatabase;
     @VisibleForTesting
-    final CommitWatchers commitWatchers = new CommitWatchers();
+    final CommitWatchers commitWatchers;
     private final AtomicReference<Supplier<CentralDogmaException>> closePending = new AtomicReference<>();
     private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
     private final List<RepositoryListener> listeners = new CopyOnWriteArrayList<>();
@@ -215,6 +239,7 @@ class GitRepository implements Repository {
         this.parent = requireNonNull(parent, "parent");
         name = requireNonNull(repoDir, "repoDir").getName();
         this.repositoryWorker = requireNonNull(repositoryWorker, "repositoryWorker");
+        commitWatchers = new CommitWatchers(repositoryWorker);
         this.creationTimeMillis = creationTimeMillis;
         this.author = requireNonNull(author, "author");
         this.cache = cache;
@@ -244,6 +269,7 @@ class GitRepository implements Repository {
 
             // Initialize the commit ID database.
             commitIdDatabase = new CommitIdDatabase(jGitRepository);
+            changedPathDatabase = new ChangedPathDatabase(jGitRepository, commitIdDatabase, null);
 
             new CommitExecutor(this, creationTimeMillis, author, "Create a new repository", "",
                                Markup.PLAINTEXT, true)
@@ -271,9 +297,26 @@ class GitRepository implements Repository {
      * @throws StorageException if failed to open the repository at the specified location
      */
     GitRepository(Project parent, File repoDir, Executor repositoryWorker, @Nullable RepositoryCache cache) {
+        this(parent, repoDir, repositoryWorker, cache, StorageLoadingMetrics.noop());
+    }
+
+    /**
+     * Opens an existing Git-backed repository.
+     *
+     * @param repoDir the location of this repository
+     * @param repositoryWorker the {@link Executor} which will perform the blocking repository operations
+     * @param loadingMetrics the {@link StorageLoadingMetrics} which records how long each phase took
+     *
+     * @throws StorageException if failed to open the repository at the specified location
+     */
+    GitRepository(Project parent, File repoDir, Executor repositoryWorker, @Nullable RepositoryCache cache,
+                  StorageLoadingMetrics loadingMetrics) {
+        requireNonNull(loadingMetrics, "loadingMetrics");
+        long startNanos = System.nanoTime();
         this.parent = requireNonNull(parent, "parent");
         name = requireNonNull(repoDir, "repoDir").getName();
         this.repositoryWorker = requireNonNull(repositoryWorker, "repositoryWorker");
+        commitWatchers = new CommitWatchers(repositoryWorker);
         this.cache = cache;
 
         final RepositoryBuilder repositoryBuilder = new RepositoryBuilder().setGitDir(repoDir).setBare();
@@ -299,15 +342,34 @@ class GitRepository implements Repository {
 
         boolean success = false;
         try {
-            headRevision = uncachedHeadRevision();
+            final RepositoryMetadataSnapshot snapshot = RepositoryMetadataSnapshot.load(repoDir);
+            final ObjectId headCommitId = resolveHeadCommitId();
+            startNanos = loadingMetrics.record(Phase.REPOSITORY_OPEN, startNanos);
             commitIdDatabase = new CommitIdDatabase(jGitRepository);
-            if (!headRevision.equals(commitIdDatabase.headRevision())) {
-                commitIdDatabase.rebuild(jGitRepository);
-                assert headRevision.equals(commitIdDatabase.headRevision());
+            if (snapshot != null && snapshot.isHead(headCommitId, commitIdDatabase)) {
+                // Nothing has been committed since the snapshot was taken.
+                headRevision = snapshot.headRevision();
+            } else {
+                headRevision = uncachedHeadRevision();
+                if (!headRevision.equals(commitIdDatabase.headRevision())) {
+                    commitIdDatabase.rebuild(jGitRepository);
+                    assert headRevision.equals(commitIdDatabase.headRevision());
+                }
             }
-            final Commit initialCommit = blockingHistory(Revision.INIT, Revision.INIT, ALL_PATH, 1).get(0);
-            creationTimeMillis = initialCommit.when();
-            author = initialCommit.author();
+            startNanos = loadingMetrics.record(Phase.COMMIT_ID_DATABASE, startNanos);
+            changedPathDatabase = new ChangedPathDatabase(jGitRepository, commitIdDatabase, headRevision);
+            startNanos = loadingMetrics.record(Phase.CHANGED_PATH_DATABASE, startNanos);
+            if (snapshot != null && snapshot.hasInitialCommit(commitIdDatabase)) {
+                creationTimeMillis = snapshot.creationTimeMillis();
+                author = snapshot.author();
+            } else {
+                final Commit initialCommit =
+                        blockingHistory(Revision.INIT, Revision.INIT, ALL_PATH, 1).get(0);
+                creationTimeMillis = initialCommit.when();
+                author = initialCommit.author();
+            }
+            loadingMetrics.record(Phase.INITIAL_COMMIT, startNanos);
+            loadingMetrics.incrementRepositories();
             success = true;
         } finally {
             if (!success) {
@@ -331,45 +393,80 @@ class GitRepository implements Repository {
 
     /**
      * Waits until all pending operations are complete and closes this repository.
+     * The underlying resources are closed by the caller thread rather than a {@code repositoryWorker}
+     * thread, because this method may be called from a {@code repositoryWorker} thread, e.g. when
+     * a repository failed to open while the repositories are loaded in parallel, and waiting for a task
+     * submitted to the same {@link Executor} from its own thread may never end.
      *
      * @param failureCauseSupplier the {@link Supplier} that creates a new {@link CentralDogmaException}
      *                             which will be used to fail the operations issued after this method is called
      */
     void close(Supplier<CentralDogmaException> failureCauseSupplier) {
         requireNonNull(failureCauseSupplier, "failureCauseSupplier");
-        if (closePending.compareAndSet(null, failureCauseSupplier)) {
-            repositoryWorker.execute(() -> {
-                // MUST acquire gcLock first to prevent a dead lock
-                rwLock.writeLock().lock();
+        if (!closePending.compareAndSet(null, failureCauseSupplier)) {
+            // Closed or being closed by another thread.
+            closeFuture.join();
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            awaitActiveReads();
+            saveMetadataSnapshot();
+
+            if (commitIdDatabase != null) {
                 try {
-                    if (commitIdDatabase != null) {
-                        try {
-                            commitIdDatabase.close();
-                        } catch (Exception e) {
-                            logger.warn("Failed to close a commitId database:", e);
-                        }
-                    }
+                    commitIdDatabase.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close a commitId database:", e);
+                }
+            }
 
-                    if (jGitRepository != null) {
-                        try {
-                            jGitRepository.close();
-                        } catch (Exception e) {
-                            logger.warn("Failed to close a Git repository: {}",
-                                        jGitRepository.getDirectory(), e);
-                        }
-                    }
-                } finally {
-                    try {
-                        rwLock.writeLock().unlock();
-                    } finally {
-                        commitWatchers.close(failureCauseSupplier);
-                        closeFuture.complete(null);
-                    }
+            if (changedPathDatabase != null) {
+                try {
+                    changedPathDatabase.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close a changed path database:", e);
                 }
-            });
+            }
+
+            if (jGitRepository != null) {
+                try {
+                    jGitRepository.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close a Git repository: {}",
+                                jGitRepository.getDirectory(), e);
+                }
+            }
+        } finally {
+            try {
+                writeLock.unlock();
+            } finally {
+                commitWatchers.close(failureCauseSupplier);
+                closeFuture.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Writes the {@link RepositoryMetadataSnapshot} so that the next {@link GitRepository} opened from
+     * the same directory does not need to parse any commits. Must be called while holding the write lock.
+     */
+    private void saveMetadataSnapshot() {
+        final Revision headRevision = this.headRevision;
+        if (jGitRepository == null || commitIdDatabase == null || headRevision == null || author == null) {
+            // Failed to open or create the repository.
+            return;
         }
 
-        closeFuture.join();
+        try {
+            final RepositoryMetadataSnapshot snapshot = new RepositoryMetadataSnapshot(
+                    headRevision, commitIdDatabase.get(headRevision), commitIdDatabase.get(Revision.INIT),
+                    creationTimeMillis, author);
+            snapshot.save(jGitRepository.getDirectory());
+        } catch (Exception e) {
+            logger.warn("Failed to save a repository metadata snapshot: {}/{}", parent.name(), name, e);
+        }
     }
 
     void internalClose() {
@@ -380,6 +477,10 @@ class GitRepository implements Repository {
         return commitIdDatabase;
     }
 
+    ChangedPathDatabase changedPathDatabase() {
+        return changedPathDatabase;
+    }
+
     @Override
     public org.eclipse.jgit.lib.Repository jGitRepository() {
         return jGitRepository;
@@ -461,9 +562,11 @@ class GitRepository implements Repository {
         final boolean fetchContent = FindOption.FETCH_CONTENT.get(options);
         final int maxEntries = FindOption.MAX_ENTRIES.get(options);
 
-        readLock();
-        try (ObjectReader reader = jGitRepository.newObjectReader();
-             TreeWalk treeWalk = new TreeWalk(reader);
+        // Use the cache for reading the tree objects and the contents of the blobs, so that they are
+        // shared between the revisions which did not change them.
+        try (SafeCloseable ignored = beginRead();
+             ObjectReader reader = jGitRepository.newObjectReader();
+             TreeWalk treeWalk = new TreeWalk(new CachingTreeObjectReader(this, reader, cache));
              RevWalk revWalk = newRevWalk(reader)) {
 
             // Query on a non-exist revision will return empty result.
@@ -506,15 +609,13 @@ class GitRepository implements Repository {
                 final Entry<?> entry;
                 final EntryType entryType = EntryType.guessFromPath(path);
                 if (fetchContent) {
-                    final byte[] content = reader.open(treeWalk.getObjectId(0)).getBytes();
+                    final Object content = readContent(reader, treeWalk.getObjectId(0), entryType);
                     switch (entryType) {
                         case JSON:
-                            final JsonNode jsonNode = Jackson.readTree(content);
-                            entry = Entry.ofJson(normRevision, path, jsonNode);
+                            entry = Entry.ofJson(normRevision, path, (JsonNode) content);
                             break;
                         case TEXT:
-                            final String strVal = sanitizeText(new String(content, UTF_8));
-                            entry = Entry.ofText(normRevision, path, strVal);
+                            entry = Entry.ofText(normRevision, path, (String) content);
                             break;
                         default:
                             throw new Error("unexpected entry type: " + entryType);
@@ -536,14 +637,56 @@ class GitRepository implements Repository {
             }
 
             return Util.unsafeCast(result);
-        } catch (CentralDogmaException | IllegalArgumentException e) {
+        } catch (CentralDogmaException | StorageException | IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
             throw new StorageException(
                     "failed to get data from '" + parent.name() + '/' + name + "' at " + pathPattern +
                     " for " + revision, e);
-        } finally {
-            readUnlock();
+        }
+    }
+
+    /**
+     * Reads the content of the specified blob (with caching). The content is a {@link JsonNode} if
+     * the {@link EntryType} is {@link EntryType#JSON} or a {@link String} otherwise.
+     */
+    private Object readContent(ObjectReader reader, ObjectId blobId, EntryType entryType) {
+        if (cache == null) {
+            return readContentUncached(reader, blobId, entryType);
+        }
+
+        try {
+            return cache.get(new CacheableBlobContentCall(this, reader, blobId, entryType)).join().content;
+        } catch (CompletionException e) {
+            // Rethrow the exception raised by readBlob() or parseContent() as it is.
+            return Exceptions.throwUnsafely(Exceptions.peel(e));
+        }
+    }
+
+    private static Object readContentUncached(ObjectReader reader, ObjectId blobId, EntryType entryType) {
+        return parseContent(blobId, readBlob(reader, blobId), entryType);
+    }
+
+    static byte[] readBlob(ObjectReader reader, ObjectId blobId) {
+        try {
+            return reader.open(blobId).getBytes();
+        } catch (IOException e) {
+            throw new StorageException("failed to read a blob: " + blobId.name(), e);
+        }
+    }
+
+    static Object parseContent(ObjectId blobId, byte[] content, EntryType entryType) {
+        switch (entryType) {
+            case JSON:
+                try {
+                    return Jackson.readTree(content);
+                } catch (IOException e) {
+                    throw new StorageException("failed to parse a JSON blob: " + blobId.name(), e);
+                }
+            case TEXT:
+                return sanitizeText(new String(content, UTF_8));
+            default:
+                throw new Error("unexpected entry type: " + entryType);
         }
     }
 
@@ -573,12 +716,12 @@ class GitRepository implements Repository {
         final RevisionRange descendingRange = range.toDescending();
 
         // At this point, we are sure: from.major >= to.major
-        readLock();
         final RepositoryCache cache =
                 // Do not cache too old data.
                 (descendingRange.from().major() < headRevision.major() - MAX_MAX_COMMITS * 3) ? null
                                                                                               : this.cache;
-        try (ObjectReader objectReader = jGitRepository.newObjectReader();
+        try (SafeCloseable ignored = beginRead();
+             ObjectReader objectReader = jGitRepository.newObjectReader();
              RevWalk revWalk = newRevWalk(new CachingTreeObjectReader(this, objectReader, cache))) {
             final ObjectIdOwnerMap<?> revWalkInternalMap =
                     (ObjectIdOwnerMap<?>) revWalkObjectsField.get(revWalk);
@@ -594,19 +737,30 @@ class GitRepository implements Repository {
             // - Have more control on when iteration should be stopped.
             //   (A single Iterator.next() doesn't take long.)
             // - Clean up the internal map as early as possible.
+            final PathPatternFilter pathPatternFilter = PathPatternFilter.of(pathPattern);
             final RevFilter filter = new TreeRevFilter(revWalk, AndTreeFilter.create(
-                    TreeFilter.ANY_DIFF, PathPatternFilter.of(pathPattern)));
+                    TreeFilter.ANY_DIFF, pathPatternFilter));
 
             // Search up to 1000 commits when maxCommits <= 100.
             // Search up to (maxCommits * 10) commits when 100 < maxCommits <= 1000.
             final int maxNumProcessedCommits = Math.max(maxCommits * 10, MAX_MAX_COMMITS);
 
+            // Look up the changed path database first, so that the trees are compared only for the commits
+            // which may have changed the matching paths. Note that the history is linear, i.e. the n-th
+            // commit yielded by RevWalk is always the revision (from - n + 1).
+            final int fromMajor = descendingRange.from().major();
+            final int minMajor = Math.max(descendingRange.to().major(), fromMajor - maxNumProcessedCommits + 1);
+            final BitSet mayChangedRevisions =
+                    changedPathDatabase.findMayChangedRevisions(minMajor, fromMajor, pathPatternFilter);
+
             final List<Commit> commitList = new ArrayList<>();
             int numProcessedCommits = 0;
             for (RevCommit revCommit : revWalk) {
                 numProcessedCommits++;
 
-                if (filter.include(revWalk, revCommit)) {
+                final int major = fromMajor - numProcessedCommits + 1;
+                if (mayChangedRevisions.get(major - minMajor) &&
+                    filter.include(revWalk, revCommit)) {
                     revWalk.parseBody(revCommit);
                     commitList.add(toCommit(revCommit));
                     revCommit.disposeBody();
@@ -648,8 +802,6 @@ class GitRepository implements Repository {
             throw new StorageException(
                     "failed to retrieve the history: " + parent.name() + '/' + name +
                     " (" + pathPattern + ", " + from + ".." + to + ')', e);
-        } finally {
-            readUnlock();
         }
     }
 
@@ -684,8 +836,8 @@ class GitRepository implements Repository {
             failFastIfTimedOut(this, logger, ctx, "diff", from, to, pathPattern);
 
             final RevisionRange range = normalizeNow(from, to).toAscending();
-            readLock();
-            try (RevWalk rw = newRevWalk()) {
+            try (SafeCloseable ignored = beginRead();
+                 RevWalk rw = newRevWalk()) {
                 final RevTree treeA = rw.parseTree(commitIdDatabase.get(range.from()));
                 final RevTree treeB = rw.parseTree(commitIdDatabase.get(range.to()));
 
@@ -693,12 +845,10 @@ class GitRepository implements Repository {
                 // Note that we do not cache here because CachingRepository caches the final result already.
                 return toChangeMap(blockingCompareTreesUncached(
                         treeA, treeB, pathPatternFilterOrTreeFilter(pathPattern)), diffResultType);
-            } catch (StorageException e) {
+            } catch (CentralDogmaException | StorageException e) {
                 throw e;
             } catch (Exception e) {
                 throw new StorageException("failed to parse two trees: range=" + range, e);
-            } finally {
-                readUnlock();
             }
         }, repositoryWorker);
     }
@@ -725,10 +875,9 @@ class GitRepository implements Repository {
     Map<String, Change<?>> blockingPreviewDiff(Revision baseRevision, AbstractChangesApplier changesApplier) {
         baseRevision = normalizeNow(baseRevision);
 
-        readLock();
-        try (ObjectReader reader = jGitRepository.newObjectReader();
-             RevWalk revWalk = newRevWalk(reader);
-             DiffFormatter diffFormatter = new DiffFormatter(null)) {
+        try (SafeCloseable ignored = beginRead();
+             ObjectReader reader = jGitRepository.newObjectReader();
+             RevWalk revWalk = newRevWalk(reader)) {
 
             final ObjectId baseTreeId = toTree(revWalk, baseRevision);
             final DirCache dirCache = DirCache.newInCore();
@@ -737,15 +886,10 @@ class GitRepository implements Repository {
                 return Collections.emptyMap();
             }
 
-            final CanonicalTreeParser p = new CanonicalTreeParser();
-            p.reset(reader, baseTreeId);
-            diffFormatter.setRepository(jGitRepository);
-            final List<DiffEntry> result = diffFormatter.scan(p, new DirCacheIterator(dirCache));
+            final List<DiffEntry> result = changesApplier.diff(jGitRepository, reader, baseTreeId, dirCache);
             return toChangeMap(result, DiffResultType.NORMAL);
         } catch (IOException e) {
             throw new StorageException("failed to perform a dry-run diff", e);
-        } finally {
-            readUnlock();
         }
     }
 
@@ -947,9 +1091,10 @@ class GitRepository implements Repository {
         }, repositoryWorker);
     }
 
+    @VisibleForTesting
     @Nullable
-    private Revision blockingFindLatestRevision(Revision lastKnownRevision, String pathPattern,
-                                                boolean errorOnEntryNotFound) {
+    Revision blockingFindLatestRevision(Revision lastKnownRevision, String pathPattern,
+                                        boolean errorOnEntryNotFound) {
         final RevisionRange range = normalizeNow(lastKnownRevision, Revision.HEAD);
         if (range.from().equals(range.to())) {
             // Empty range.
@@ -980,36 +1125,29 @@ class GitRepository implements Repository {
             }
         }
 
-        // Slow path: compare the two trees.
         final PathPatternFilter filter = PathPatternFilter.of(pathPattern);
-        // Convert the revisions to Git trees.
-        final List<DiffEntry> diffEntries;
-        readLock();
-        try (RevWalk revWalk = newRevWalk()) {
-            final RevTree treeA = toTree(revWalk, range.from());
-            final RevTree treeB = toTree(revWalk, range.to());
-            diffEntries = blockingCompareTrees(treeA, treeB);
-        } finally {
-            readUnlock();
-        }
-
-        // Return the latest revision if the changes between the two trees contain the file.
-        for (DiffEntry e : diffEntries) {
-            final String path;
-            switch (e.getChangeType()) {
-                case ADD:
-                    path = e.getNewPath();
-                    break;
-                case MODIFY:
-                case DELETE:
-                    path = e.getOldPath();
-                    break;
-                default:
-                    throw new Error();
-            }
+        try (SafeCloseable ignored = beginRead()) {
+            // Fast path: no need to compare if none of the revisions in the range changed the matching paths.
+            final boolean mayChanged =
+                    range.to().major() - range.from().major() > MAX_CHANGED_PATH_LOOKUP_REVISIONS ||
+                    !changedPathDatabase.findMayChangedRevisions(range.from().major() + 1, range.to().major(),
+                                                                 filter).isEmpty();
+            if (mayChanged) {
+                // Slow path: compare the two trees.
+                // Convert the revisions to Git trees.
+                final List<DiffEntry> diffEntries;
+                try (RevWalk revWalk = newRevWalk()) {
+                    final RevTree treeA = toTree(revWalk, range.from());
+                    final RevTree treeB = toTree(revWalk, range.to());
+                    diffEntries = blockingCompareTrees(treeA, treeB);
+                }
 
-            if (filter.matches(path)) {
-                return range.to();
+                // Return the latest revision if the changes between the two trees contain the file.
+                for (DiffEntry e : diffEntries) {
+                    if (filter.matches(ChangedPathDatabase.changedPath(e))) {
+                        return range.to();
+                    }
+                }
             }
         }
 
@@ -1039,15 +1177,13 @@ class GitRepository implements Repository {
     List<DiffEntry> blockingCompareTreesUncached(@Nullable RevTree treeA,
                                                  @Nullable RevTree treeB,
                                                  TreeFilter filter) {
-        readLock();
-        try (DiffFormatter diffFormatter = new DiffFormatter(null)) {
+        try (SafeCloseable ignored = beginRead();
+             DiffFormatter diffFormatter = new DiffFormatter(null)) {
             diffFormatter.setRepository(jGitRepository);
             diffFormatter.setPathFilter(filter);
             return ImmutableList.copyOf(diffFormatter.scan(treeA, treeB));
         } catch (IOException e) {
             throw new StorageException("failed to compare two trees: " + treeA + " vs. " + treeB, e);
-        } finally {
-            readUnlock();
         }
     }
 
@@ -1061,19 +1197,19 @@ class GitRepository implements Repository {
         final CompletableFuture<Revision> future = new CompletableFuture<>();
         CompletableFuture.runAsync(() -> {
             failFastIfTimedOut(this, logger, ctx, "watch", lastKnownRevision, pathPattern);
-            readLock();
-            try {
+            try (SafeCloseable ignored = beginRead()) {
+                // Register the watch before looking up the latest revision, so that a commit made in
+                // between is notified to the watch even though no lock is held.
+                commitWatchers.add(normLastKnownRevision, pathPattern, future, null);
+
                 // If lastKnownRevision is outdated already and the recent changes match,
                 // there's no need to watch.
                 final Revision latestRevision = blockingFindLatestRevision(normLastKnownRevision, pathPattern,
                                                                            errorOnEntryNotFound);
                 if (latestRevision != null) {
+                    // The watch will be removed from commitWatchers when the future is completed.
                     future.complete(latestRevision);
-                } else {
-                    commitWatchers.add(normLastKnownRevision, pathPattern, future, null);
                 }
-            } finally {
-                readUnlock();
             }
         }, repositoryWorker).exceptionally(cause -> {
             future.completeExceptionally(cause);
@@ -1137,23 +1273,126 @@ class GitRepository implements Repository {
     }
 
     private boolean shouldStopListening() {
+        return isClosing();
+    }
+
+    /**
+     * Returns whether this repository is being closed or has been closed.
+     */
+    boolean isClosing() {
         return closePending.get() != null;
     }
 
     void notifyWatchers(Revision newRevision, List<DiffEntry> diffEntries) {
+        if (diffEntries.isEmpty()) {
+            return;
+        }
+
+        // Populate the cache for the new revision before the watchers wake up and query it.
+        carryOverCachedEntries(newRevision, diffEntries);
+
+        final List<String> changedPaths = new ArrayList<>(diffEntries.size());
         for (DiffEntry entry : diffEntries) {
             switch (entry.getChangeType()) {
                 case ADD:
-                    commitWatchers.notify(newRevision, entry.getNewPath());
+                    changedPaths.add(entry.getNewPath());
                     break;
                 case MODIFY:
                 case DELETE:
-                    commitWatchers.notify(newRevision, entry.getOldPath());
+                    changedPaths.add(entry.getOldPath());
                     break;
                 default:
                     throw new Error();
             }
         }
+        commitWatchers.notify(newRevision, changedPaths);
+    }
+
+    /**
+     * Derives all entries at the specified new revision from the cached entries at the previous revision and
+     * the {@link DiffEntry}s of the commit, so that the whole tree does not have to be walked again when
+     * the watchers query the new revision. Nothing is done if the previous revision is not in the cache.
+     */
+    private void carryOverCachedEntries(Revision newRevision, List<DiffEntry> diffEntries) {
+        if (cache == null) {
+            return;
+        }
+
+        final Map<String, Entry<?>> oldEntries =
+                cache.getIfPresent(CacheableFindCall.ofAllWithContent(this, newRevision.backward(1)));
+        if (oldEntries == null) {
+            return;
+        }
+
+        try (ObjectReader reader = jGitRepository.newObjectReader()) {
+            // The contents of the files at the new revision, keyed by their paths.
+            final Map<String, Object> contents = new HashMap<>(oldEntries.size() + diffEntries.size());
+            for (Entry<?> e : oldEntries.values()) {
+                if (e.type() != EntryType.DIRECTORY) {
+                    contents.put(e.path(), e.content());
+                }
+            }
+
+            for (DiffEntry diffEntry : diffEntries) {
+                switch (diffEntry.getChangeType()) {
+                    case ADD:
+                    case MODIFY:
+                        final String path = '/' + diffEntry.getNewPath();
+                        contents.put(path, readContent(reader, diffEntry.getNewId().toObjectId(),
+                                                       EntryType.guessFromPath(path)));
+                        break;
+                    case DELETE:
+                        contents.remove('/' + diffEntry.getOldPath());
+                        break;
+                    default:
+                        // Renames and copies are not detected when committing.
+                        return;
+                }
+            }
+
+            // Sort the entries in the same order as TreeWalk does, i.e. a directory is compared as if its
+            // path ends with '/', so that the result is identical to what blockingFind() returns.
+            final Map<String, Entry<?>> sorted = new TreeMap<>(GitRepository::compareTreePaths);
+            contents.forEach((path, content) -> {
+                final EntryType entryType = EntryType.guessFromPath(path);
+                sorted.put(path, Entry.of(newRevision, path, entryType, content));
+                for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+                    final String dirPath = path.substring(0, i);
+                    if (sorted.putIfAbsent(dirPath + '/', Entry.ofDirectory(newRevision, dirPath)) != null) {
+                        // The ancestors were added already.
+                        break;
+                    }
+                }
+            });
+
+            final Map<String, Entry<?>> newEntries = new LinkedHashMap<>(sorted.size());
+            sorted.values().forEach(e -> newEntries.put(e.path(), e));
+            cache.putIfAbsent(CacheableFindCall.ofAllWithContent(this, newRevision), newEntries);
+        } catch (Exception e) {
+            logger.warn("Failed to carry over the cached entries of {}/{} to {}",
+                        parent.name(), name, newRevision, e);
+        }
+    }
+
+    /**
+     * Compares the paths in the same order as Git sorts tree entries, i.e. by the code points which is
+     * equivalent to the byte order of their UTF-8 representations.
+     */
+    private static int compareTreePaths(String a, String b) {
+        final int aLen = a.length();
+        final int bLen = b.length();
+        int i = 0;
+        int j = 0;
+        while (i < aLen && j < bLen) {
+            final int aCodePoint = a.codePointAt(i);
+            final int bCodePoint = b.codePointAt(j);
+            if (aCodePoint != bCodePoint) {
+                return Integer.compare(aCodePoint, bCodePoint);
+            }
+            i += Character.charCount(aCodePoint);
+            j += Character.charCount(bCodePoint);
+        }
+        return Integer.compare(aLen - i, bLen - j);
     }
 
     Revision cachedHeadRevision() {
@@ -1164,6 +1403,18 @@ class GitRepository implements Repository {
         this.headRevision = headRevision;
     }
 
+    /**
+     * Returns the ID of the head commit, or {@code null} if the repository has no commits yet.
+     */
+    @Nullable
+    private ObjectId resolveHeadCommitId() {
+        try {
+            return jGitRepository.resolve(R_HEADS_MASTER);
+        } catch (Exception e) {
+            throw new StorageException("failed to resolve the HEAD: " + parent.name() + '/' + name, e);
+        }
+    }
+
     /**
      * Returns the current revision.
      */
@@ -1213,20 +1464,52 @@ class GitRepository implements Repository {
         revWalk.setRewriteParents(false);
     }
 
-    private void readLock() {
-        rwLock.readLock().lock();
-        if (closePending.get() != null) {
-            rwLock.readLock().unlock();
-            throw closePending.get().get();
+    /**
+     * Marks the beginning of a read operation, which must be ended by closing the returned
+     * {@link SafeCloseable}. Fails if this repository is being closed. Note that the read operations do not
+     * acquire any lock because Git objects are immutable and a {@link Revision} up to
+     * {@link #cachedHeadRevision()} is always resolved to the same commit. Instead, {@link #close(Supplier)}
+     * waits for the read operations in progress before closing the underlying resources.
+     */
+    SafeCloseable beginRead() {
+        numActiveReads.incrementAndGet();
+        final Supplier<CentralDogmaException> failureCauseSupplier = closePending.get();
+        if (failureCauseSupplier != null) {
+            endRead();
+            throw failureCauseSupplier.get();
         }
+        return readGuard;
     }
 
-    private void readUnlock() {
-        rwLock.readLock().unlock();
+    private void endRead() {
+        if (numActiveReads.decrementAndGet() == 0 && closePending.get() != null) {
+            synchronized (numActiveReads) {
+                numActiveReads.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all read operations started before {@link #closePending} was set are ended.
+     */
+    private void awaitActiveReads() {
+        boolean interrupted = false;
+        synchronized (numActiveReads) {
+            while (numActiveReads.get() > 0) {
+                try {
+                    numActiveReads.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     void writeLock() {
-        rwLock.writeLock().lock();
+        writeLock.lock();
         if (closePending.get() != null) {
             writeUnLock();
             throw closePending.get().get();
@@ -1234,7 +1517,7 @@ class GitRepository implements Repository {
     }
 
     void writeUnLock() {
-        rwLock.writeLock().unlock();
+        writeLock.unlock();
     }
 
     /**
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.internal.storage.file.GC.RepoStatistics;
+import org.eclipse.jgit.storage.pack.PackConfig;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.centraldogma.server.storage.StorageException;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+/**
+ * Repacks the objects of a {@link GitRepository} when it has too many loose objects or pack files.
+ *
+ * <p>Note that {@link GC#gc()} is not used because it registers a JVM shutdown hook for each run.
+ * Instead, the references are packed while the write lock of the {@link GitRepository} is held, so that
+ * a concurrent commit does not fail to update its reference, and then the objects are repacked without
+ * the lock. Repacking is safe with the concurrent commits because a new pack file is written before the
+ * old pack files and the packed loose objects are deleted, and the loose objects not referenced yet are
+ * not pruned until they expire. Repacking is performed as a read operation of the {@link GitRepository},
+ * so that the repository is not closed, removed or renamed until it is done.
+ */
+public final class GitRepositoryMaintainer {
+
+    private final int minLooseObjects;
+    private final int minPackFiles;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param minLooseObjects the minimum number of loose objects which triggers repacking
+     * @param minPackFiles the minimum number of pack files which triggers repacking
+     */
+    public GitRepositoryMaintainer(int minLooseObjects, int minPackFiles) {
+        checkArgument(minLooseObjects > 0, "minLooseObjects: %s (expected: > 0)", minLooseObjects);
+        checkArgument(minPackFiles > 0, "minPackFiles: %s (expected: > 0)", minPackFiles);
+        this.minLooseObjects = minLooseObjects;
+        this.minPackFiles = minPackFiles;
+    }
+
+    /**
+     * Repacks the specified {@link Repository} if necessary.
+     *
+     * @return the {@link Result} of the maintenance, or {@code null} if the specified {@link Repository}
+     *         is not a {@link GitRepository} backed by the file system or it has been closed.
+     */
+    @Nullable
+    public Result maintain(Repository repo) {
+        requireNonNull(repo, "repo");
+        if (!(repo instanceof GitRepository) ||
+            !(repo.jGitRepository() instanceof FileRepository)) {
+            return null;
+        }
+
+        final GitRepository gitRepo = (GitRepository) repo;
+        final GC gc = new GC((FileRepository) gitRepo.jGitRepository());
+        try {
+            final RepoStatistics stats;
+            try (SafeCloseable ignored = gitRepo.beginRead()) {
+                stats = gc.getStatistics();
+            }
+            if (stats.numberOfLooseObjects < minLooseObjects && stats.numberOfPackFiles < minPackFiles) {
+                return new Result(stats.numberOfLooseObjects, stats.numberOfPackFiles, -1);
+            }
+
+            final long startTimeNanos = System.nanoTime();
+            final PackConfig packConfig = new PackConfig(gitRepo.jGitRepository());
+            packConfig.setBuildBitmaps(true);
+            gc.setPackConfig(packConfig);
+
+            // Begin a read operation while holding the write lock rather than acquiring the write lock
+            // during a read operation, which would deadlock with close() that waits for the read operations
+            // while holding the write lock.
+            final SafeCloseable readGuard;
+            gitRepo.writeLock();
+            try {
+                gc.packRefs();
+                readGuard = gitRepo.beginRead();
+            } finally {
+                gitRepo.writeUnLock();
+            }
+
+            final RepoStatistics newStats;
+            try (SafeCloseable ignored = readGuard) {
+                gc.repack();
+                gc.prune(Collections.emptySet());
+                newStats = gc.getStatistics();
+            }
+            final long durationNanos = System.nanoTime() - startTimeNanos;
+            return new Result(newStats.numberOfLooseObjects, newStats.numberOfPackFiles, durationNanos);
+        } catch (Exception e) {
+            if (gitRepo.isClosing()) {
+                // Removed, renamed or closed during the maintenance.
+                return null;
+            }
+            throw new StorageException("failed to repack a repository: " +
+                                       gitRepo.parent().name() + '/' + gitRepo.name(), e);
+        }
+    }
+
+    /**
+     * The result of {@link #maintain(Repository)}.
+     */
+    public static final class Result {
+
+        private final long numLooseObjects;
+        private final long numPackFiles;
+        private final long durationNanos;
+
+        Result(long numLooseObjects, long numPackFiles, long durationNanos) {
+            this.numLooseObjects = numLooseObjects;
+            this.numPackFiles = numPackFiles;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Returns the number of the loose objects after the maintenance.
+         */
+        public long numLooseObjects() {
+            return numLooseObjects;
+        }
+
+        /**
+         * Returns the number of the pack files after the maintenance.
+         */
+        public long numPackFiles() {
+            return numPackFiles;
+        }
+
+        /**
+         * Returns whether the repository has been repacked.
+         */
+        public boolean repacked() {
+            return durationNanos >= 0;
+        }
+
+        /**
+         * Returns how long it took to repack the repository, or {@code -1} if not repacked.
+         */
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("numLooseObjects", numLooseObjects)
+                              .add("numPackFiles", numPackFiles)
+                              .add("durationNanos", durationNanos)
+                              .toString();
+        }
+    }
+}
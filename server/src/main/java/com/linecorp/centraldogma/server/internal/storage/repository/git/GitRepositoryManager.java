@@ -29,6 +29,7 @@ import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.RepositoryExistsException;
 import com.linecorp.centraldogma.common.RepositoryNotFoundException;
 import com.linecorp.centraldogma.server.internal.storage.DirectoryBasedStorageManager;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
@@ -42,14 +43,22 @@ public class GitRepositoryManager extends DirectoryBasedStorageManager<Repositor
 
     @Nullable
     private final RepositoryCache cache;
+    private final StorageLoadingMetrics loadingMetrics;
 
     public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
                                 Executor purgeWorker, @Nullable RepositoryCache cache) {
+        this(parent, rootDir, repositoryWorker, purgeWorker, cache, StorageLoadingMetrics.noop());
+    }
+
+    public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
+                                Executor purgeWorker, @Nullable RepositoryCache cache,
+                                StorageLoadingMetrics loadingMetrics) {
         super(rootDir, Repository.class, purgeWorker);
         this.parent = requireNonNull(parent, "parent");
         this.repositoryWorker = requireNonNull(repositoryWorker, "repositoryWorker");
         this.cache = cache;
-        init();
+        this.loadingMetrics = requireNonNull(loadingMetrics, "loadingMetrics");
+        init(repositoryWorker);
     }
 
     @Override
@@ -59,7 +68,7 @@ public class GitRepositoryManager extends DirectoryBasedStorageManager<Repositor
 
     @Override
     protected Repository openChild(File childDir) throws Exception {
-        return new GitRepository(parent, childDir, repositoryWorker, cache);
+        return new GitRepository(parent, childDir, repositoryWorker, cache, loadingMetrics);
     }
 
     @Override
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+
+/**
+ * Writes a new tree on top of a base tree, using a {@link DirCache} which has only the entries of the base
+ * tree matched by an {@link AffectedPathsFilter}, with the edits applied. Only the tree objects along
+ * the edited paths are rewritten. The other entries and subtrees are copied from the base tree, so they are
+ * neither loaded into the {@link DirCache} nor written again.
+ */
+final class IncrementalTreeWriter {
+
+    private final DirCache dirCache;
+    private final AffectedPathsFilter loadedPaths;
+    private final ObjectReader reader;
+    private final ObjectInserter inserter;
+    private final Set<String> dirtyDirs;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dirCache the {@link DirCache} which has the entries of the base tree matched by
+     *                 {@code loadedPaths}, with the edits applied
+     * @param loadedPaths the {@link AffectedPathsFilter} which the {@link DirCache} was loaded with
+     * @param editedPaths the paths of the files and directories (with a trailing {@code '/'}) which were
+     *                    edited since the {@link DirCache} was loaded
+     */
+    IncrementalTreeWriter(DirCache dirCache, AffectedPathsFilter loadedPaths, Set<String> editedPaths,
+                          ObjectReader reader, ObjectInserter inserter) {
+        this.dirCache = dirCache;
+        this.loadedPaths = loadedPaths;
+        this.reader = reader;
+        this.inserter = inserter;
+
+        // Collect the directories which contain the edited paths; the root directory is an empty string.
+        dirtyDirs = new HashSet<>();
+        dirtyDirs.add("");
+        for (String path : editedPaths) {
+            for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                dirtyDirs.add(path.substring(0, i + 1));
+            }
+        }
+    }
+
+    /**
+     * Writes the tree objects along the edited paths and returns the {@link ObjectId} of the new root tree.
+     */
+    ObjectId write(ObjectId baseTreeId) throws IOException {
+        final ObjectId treeId = writeTree("", baseTreeId);
+        return treeId != null ? treeId : inserter.insert(new TreeFormatter());
+    }
+
+    /**
+     * Writes the tree of the specified directory and returns its {@link ObjectId}, or {@code null} if
+     * the directory has no entries.
+     */
+    @Nullable
+    private ObjectId writeTree(String dir, @Nullable ObjectId baseTreeId) throws IOException {
+        // The entries sorted in the order of a tree, which compares the name of a subtree as if it ends
+        // with '/'. The paths consist of ASCII characters, so String.compareTo() gives the same order.
+        final SortedMap<String, Entry> entries = new TreeMap<>();
+        // The subtrees of the base tree whose entries are all in the DirCache.
+        final Map<String, ObjectId> loadedSubtrees = new HashMap<>();
+
+        if (baseTreeId != null) {
+            final CanonicalTreeParser parser = new CanonicalTreeParser();
+            parser.reset(reader, baseTreeId);
+            for (; !parser.eof(); parser.next()) {
+                final String name = parser.getEntryPathString();
+                final String path = dir + name;
+                if (loadedPaths.matchesAll(path)) {
+                    if (FileMode.TREE.equals(parser.getEntryRawMode())) {
+                        loadedSubtrees.put(name, parser.getEntryObjectId());
+                    }
+                    continue;
+                }
+
+                if (FileMode.TREE.equals(parser.getEntryRawMode())) {
+                    // A subtree which is not loaded or partially loaded.
+                    final String subdir = path + '/';
+                    final ObjectId subtreeId;
+                    if (dirtyDirs.contains(subdir)) {
+                        subtreeId = writeTree(subdir, parser.getEntryObjectId());
+                    } else {
+                        subtreeId = parser.getEntryObjectId();
+                    }
+                    if (subtreeId != null) {
+                        entries.put(name + '/', new Entry(name, FileMode.TREE, subtreeId));
+                    }
+                } else if (!loadedPaths.isParent(path)) {
+                    // A file which is not loaded.
+                    entries.put(name, new Entry(name, parser.getEntryFileMode(), parser.getEntryObjectId()));
+                }
+            }
+        }
+
+        final int numEntries = dirCache.getEntryCount();
+        int i = lowerBound(dir);
+        while (i < numEntries) {
+            final DirCacheEntry entry = dirCache.getEntry(i);
+            final String path = entry.getPathString();
+            if (!path.startsWith(dir)) {
+                break;
+            }
+
+            final int slashIndex = path.indexOf('/', dir.length());
+            if (slashIndex < 0) {
+                final String name = path.substring(dir.length());
+                entries.put(name, new Entry(name, entry.getFileMode(), entry.getObjectId()));
+                i++;
+                continue;
+            }
+
+            final String name = path.substring(dir.length(), slashIndex);
+            final String subdir = path.substring(0, slashIndex + 1);
+            // Partially loaded subtrees have been written above already.
+            if (!entries.containsKey(name + '/')) {
+                // The base subtree is null if it is a new directory.
+                final ObjectId baseSubtreeId = loadedSubtrees.get(name);
+                final ObjectId subtreeId;
+                if (baseSubtreeId != null && !dirtyDirs.contains(subdir)) {
+                    // Nothing has been changed in the subtree.
+                    subtreeId = baseSubtreeId;
+                } else {
+                    subtreeId = writeTree(subdir, baseSubtreeId);
+                }
+                if (subtreeId != null) {
+                    entries.put(name + '/', new Entry(name, FileMode.TREE, subtreeId));
+                }
+            }
+
+            // Skip the entries in the subtree. '0' is the next character of '/'.
+            i = lowerBound(path.substring(0, slashIndex) + '0');
+        }
+
+        if (entries.isEmpty()) {
+            return null;
+        }
+        final TreeFormatter formatter = new TreeFormatter();
+        for (Entry e : entries.values()) {
+            formatter.append(e.name, e.mode, e.id);
+        }
+        return inserter.insert(formatter);
+    }
+
+    /**
+     * Returns the index of the first entry whose path is equal to or greater than the specified path.
+     */
+    private int lowerBound(String path) {
+        if (path.isEmpty()) {
+            return 0;
+        }
+        final int index = dirCache.findEntry(path);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private static final class Entry {
+        final String name;
+        final FileMode mode;
+        final ObjectId id;
+
+        Entry(String name, FileMode mode, ObjectId id) {
+            this.name = name;
+            this.mode = mode;
+            this.id = id;
+        }
+    }
+}
@@ -49,6 +49,7 @@ public final class PathPatternFilter extends TreeFilter {
     }
 
     private final Pattern[] pathPatterns;
+    private final String[] normalizedPathPatterns;
     private final String pathPattern;
 
     private PathPatternFilter(String pathPattern) {
@@ -57,6 +58,7 @@ public final class PathPatternFilter extends TreeFilter {
         final String[] pathPatterns = SPLIT.split(pathPattern);
         final StringBuilder pathPatternBuf = new StringBuilder(pathPattern.length());
         final List<Pattern> compiledPathPatterns = new ArrayList<>(pathPatterns.length);
+        final List<String> normalizedPathPatterns = new ArrayList<>(pathPatterns.length);
         boolean matchAll = false;
         for (String p: pathPatterns) {
             if (Repository.ALL_PATH.equals(p)) {
@@ -70,11 +72,13 @@ public final class PathPatternFilter extends TreeFilter {
 
             final String normalized = normalize(p);
             compiledPathPatterns.add(compile(normalized));
+            normalizedPathPatterns.add(normalized);
             pathPatternBuf.append(normalized).append(',');
         }
 
         if (matchAll) {
             this.pathPatterns = null;
+            this.normalizedPathPatterns = new String[] { Repository.ALL_PATH };
             this.pathPattern = "/**";
         } else {
             if (compiledPathPatterns.isEmpty()) {
@@ -82,6 +86,8 @@ public final class PathPatternFilter extends TreeFilter {
             }
 
             this.pathPatterns = compiledPathPatterns.toArray(new Pattern[compiledPathPatterns.size()]);
+            this.normalizedPathPatterns =
+                    normalizedPathPatterns.toArray(new String[normalizedPathPatterns.size()]);
             this.pathPattern = pathPatternBuf.substring(0, pathPatternBuf.length() - 1);
         }
     }
@@ -244,6 +250,15 @@ public final class PathPatternFilter extends TreeFilter {
         return pathPatterns == null;
     }
 
+    /**
+     * Returns the normalized path patterns, which always start with {@code '/'}.
+     * A relative pattern such as {@code "foo.json"} is prefixed with {@code "/**"}, and
+     * {@code "/**"} is returned alone if this filter matches all paths.
+     */
+    String[] normalizedPathPatterns() {
+        return normalizedPathPatterns;
+    }
+
     @Override
     public boolean shouldBeRecursive() {
         return true;
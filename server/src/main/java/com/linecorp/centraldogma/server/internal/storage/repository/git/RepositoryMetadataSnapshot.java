@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+/**
+ * A snapshot of the metadata of a {@link GitRepository} which is written when the repository is closed,
+ * so that the repository can be opened without parsing any commits on the next start-up.
+ *
+ * <p>The snapshot is only a hint. {@link GitRepository} uses the head {@link Revision} only when the commit
+ * ID of the {@code master} branch and the {@link CommitIdDatabase} agree with it, and uses the creation time
+ * and author only when the commit ID of the initial commit is the same.
+ */
+final class RepositoryMetadataSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryMetadataSnapshot.class);
+
+    static final String FILE_NAME = "repository_metadata.json";
+
+    /**
+     * Loads the {@link RepositoryMetadataSnapshot} from the specified repository directory.
+     *
+     * @return {@code null} if the snapshot does not exist or is corrupt
+     */
+    @Nullable
+    static RepositoryMetadataSnapshot load(File repoDir) {
+        final Path path = new File(repoDir, FILE_NAME).toPath();
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            return Jackson.readValue(Files.readAllBytes(path), RepositoryMetadataSnapshot.class);
+        } catch (Exception e) {
+            logger.warn("Failed to read a repository metadata snapshot: {}", path, e);
+            return null;
+        }
+    }
+
+    private final Revision headRevision;
+    private final ObjectId headCommitId;
+    private final ObjectId initialCommitId;
+    private final long creationTimeMillis;
+    private final Author author;
+
+    RepositoryMetadataSnapshot(Revision headRevision, ObjectId headCommitId, ObjectId initialCommitId,
+                               long creationTimeMillis, Author author) {
+        this.headRevision = requireNonNull(headRevision, "headRevision");
+        this.headCommitId = requireNonNull(headCommitId, "headCommitId").copy();
+        this.initialCommitId = requireNonNull(initialCommitId, "initialCommitId").copy();
+        this.creationTimeMillis = creationTimeMillis;
+        this.author = requireNonNull(author, "author");
+    }
+
+    @JsonCreator
+    RepositoryMetadataSnapshot(@JsonProperty("headRevision") int headRevision,
+                               @JsonProperty("headCommitId") String headCommitId,
+                               @JsonProperty("initialCommitId") String initialCommitId,
+                               @JsonProperty("creationTimeMillis") long creationTimeMillis,
+                               @JsonProperty("author") Author author) {
+        this(new Revision(headRevision),
+             ObjectId.fromString(requireNonNull(headCommitId, "headCommitId")),
+             ObjectId.fromString(requireNonNull(initialCommitId, "initialCommitId")),
+             creationTimeMillis, author);
+    }
+
+    Revision headRevision() {
+        return headRevision;
+    }
+
+    @JsonProperty("headRevision")
+    int headRevisionMajor() {
+        return headRevision.major();
+    }
+
+    ObjectId headCommitId() {
+        return headCommitId;
+    }
+
+    @JsonProperty("headCommitId")
+    String headCommitIdName() {
+        return headCommitId.name();
+    }
+
+    ObjectId initialCommitId() {
+        return initialCommitId;
+    }
+
+    @JsonProperty("initialCommitId")
+    String initialCommitIdName() {
+        return initialCommitId.name();
+    }
+
+    @JsonProperty
+    long creationTimeMillis() {
+        return creationTimeMillis;
+    }
+
+    @JsonProperty
+    Author author() {
+        return author;
+    }
+
+    /**
+     * Returns whether this snapshot describes the current head of the repository, i.e. the {@code master}
+     * branch points to {@link #headCommitId()} and the {@link CommitIdDatabase} ends with the same commit.
+     */
+    boolean isHead(@Nullable ObjectId currentHeadCommitId, CommitIdDatabase commitIdDatabase) {
+        if (!headCommitId.equals(currentHeadCommitId) ||
+            !headRevision.equals(commitIdDatabase.headRevision())) {
+            return false;
+        }
+        try {
+            return headCommitId.equals(commitIdDatabase.get(headRevision));
+        } catch (Exception e) {
+            // The database is corrupt. Let GitRepository rebuild it.
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether this snapshot was taken from the same repository, i.e. the {@link CommitIdDatabase}
+     * starts with {@link #initialCommitId()}.
+     */
+    boolean hasInitialCommit(CommitIdDatabase commitIdDatabase) {
+        try {
+            return initialCommitId.equals(commitIdDatabase.get(Revision.INIT));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes this snapshot into the specified repository directory. The previous snapshot is replaced
+     * atomically, so that a crash while writing never leaves a partially written snapshot.
+     */
+    void save(File repoDir) throws IOException {
+        final Path path = new File(repoDir, FILE_NAME).toPath();
+        final Path tmpPath = new File(repoDir, FILE_NAME + ".tmp").toPath();
+        Files.write(tmpPath, Jackson.writeValueAsBytes(this));
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("headRevision", headRevision)
+                          .add("headCommitId", headCommitId.name())
+                          .add("initialCommitId", initialCommitId.name())
+                          .add("creationTimeMillis", creationTimeMillis)
+                          .add("author", author)
+                          .toString();
+    }
+}
@@ -29,6 +29,7 @@ import org.eclipse.jgit.lib.ObjectReader;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 
 import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.ChangeConflictException;
@@ -48,6 +49,11 @@ final class TransformingChangesApplier extends AbstractChangesApplier {
         this.transformer = (ContentTransformer<JsonNode>) transformer;
     }
 
+    @Override
+    Iterable<String> affectedPaths() {
+        return ImmutableList.of(transformer.path().substring(1)); // Strip the leading '/'.
+    }
+
     @Override
     int doApply(Revision headRevision, DirCache dirCache,
                 ObjectReader reader, ObjectInserter inserter) throws IOException {
@@ -62,6 +68,7 @@ final class TransformingChangesApplier extends AbstractChangesApplier {
             requireNonNull(newJsonNode, "transformer.transformer().apply() returned null");
             if (!Objects.equals(newJsonNode, oldJsonNode)) {
                 applyPathEdit(dirCache, new InsertJson(changePath, inserter, newJsonNode));
+                addEditedPath(changePath);
                 return 1;
             }
         } catch (CentralDogmaException e) {
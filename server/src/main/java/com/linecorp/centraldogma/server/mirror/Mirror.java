@@ -29,6 +29,8 @@ import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.credential.Credential;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Contains the properties for a mirroring task and performs the task.
  */
@@ -120,4 +122,15 @@ public interface Mirror {
      */
     MirrorResult mirror(File workDir, CommandExecutor executor, int maxNumFiles, long maxNumBytes,
                         Instant triggeredTime);
+
+    /**
+     * Performs the mirroring task, recording the metrics of the task, such as the number of bytes fetched
+     * from the remote repository, to the specified {@link MeterRegistry}.
+     *
+     * @see #mirror(File, CommandExecutor, int, long, Instant)
+     */
+    default MirrorResult mirror(File workDir, CommandExecutor executor, int maxNumFiles, long maxNumBytes,
+                                Instant triggeredTime, MeterRegistry meterRegistry) {
+        return mirror(workDir, executor, maxNumFiles, maxNumBytes, triggeredTime);
+    }
 }
@@ -27,6 +27,8 @@ import com.google.common.collect.ImmutableMap;
 
 import com.linecorp.centraldogma.server.internal.mirror.DefaultMirroringServicePlugin;
 import com.linecorp.centraldogma.server.internal.storage.PurgeSchedulingServicePlugin;
+import com.linecorp.centraldogma.server.internal.storage.RepositoryMaintenancePluginConfig;
+import com.linecorp.centraldogma.server.internal.storage.RepositoryMaintenanceSchedulingServicePlugin;
 import com.linecorp.centraldogma.server.mirror.MirroringServicePluginConfig;
 import com.linecorp.centraldogma.server.plugin.AbstractNoopPlugin;
 import com.linecorp.centraldogma.server.plugin.NoopPluginForAllReplicas;
@@ -91,6 +93,29 @@ class PluginGroupTest {
         assertThat(group2.findFirstPlugin(PurgeSchedulingServicePlugin.class)).isNull();
     }
 
+    @Test
+    void confirmRepositoryMaintenanceServiceLoadedDependingOnConfig() {
+        final CentralDogmaConfig cfg = mock(CentralDogmaConfig.class);
+        when(cfg.pluginConfigMap()).thenReturn(ImmutableMap.of());
+        final PluginGroup group1 = PluginGroup.loadPlugins(PluginTarget.ALL_REPLICAS, cfg);
+        assertThat(group1).isNotNull();
+        assertThat(group1.findFirstPlugin(RepositoryMaintenanceSchedulingServicePlugin.class)).isNull();
+
+        when(cfg.pluginConfigMap()).thenReturn(ImmutableMap.of(
+                RepositoryMaintenancePluginConfig.class,
+                new RepositoryMaintenancePluginConfig(true, null, null, null)));
+        final PluginGroup group2 = PluginGroup.loadPlugins(PluginTarget.ALL_REPLICAS, cfg);
+        assertThat(group2).isNotNull();
+        assertThat(group2.findFirstPlugin(RepositoryMaintenanceSchedulingServicePlugin.class)).isNotNull();
+
+        when(cfg.pluginConfigMap()).thenReturn(ImmutableMap.of(
+                RepositoryMaintenancePluginConfig.class,
+                new RepositoryMaintenancePluginConfig(false, null, null, null)));
+        final PluginGroup group3 = PluginGroup.loadPlugins(PluginTarget.ALL_REPLICAS, cfg);
+        assertThat(group3).isNotNull();
+        assertThat(group3.findFirstPlugin(RepositoryMaintenanceSchedulingServicePlugin.class)).isNull();
+    }
+
     private static void confirmPluginStartStop(@Nullable AbstractNoopPlugin plugin) {
         assertThat(plugin).isNotNull();
 
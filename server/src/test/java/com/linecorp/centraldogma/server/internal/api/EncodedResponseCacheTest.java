@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.api.converter.EncodedJson;
+import com.linecorp.centraldogma.server.internal.api.converter.HttpApiResponseConverter;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+class EncodedResponseCacheTest {
+
+    @Test
+    void encodeOnce() {
+        final EncodedResponseCache cache = new EncodedResponseCache(1024, NoopMeterRegistry.get());
+        final Repository repo = repository("foo", "bar", 1);
+        final AtomicInteger numEncodes = new AtomicInteger();
+
+        assertThat(cache.getIfPresent(repo, new Revision(2), Query.ofText("/a.txt"), false)).isNull();
+        for (int i = 0; i < 3; i++) {
+            final EncodedJson encoded =
+                    cache.get(repo, new Revision(2), Query.ofText("/a.txt"), false, () -> {
+                        numEncodes.incrementAndGet();
+                        return ImmutableMap.of("a", "b");
+                    });
+            assertThat(encoded.content().toStringUtf8()).isEqualTo("{\"a\":\"b\"}");
+        }
+        assertThat(numEncodes).hasValue(1);
+        assertThat(cache.getIfPresent(repo, new Revision(2), Query.ofText("/a.txt"), false)).isNotNull();
+
+        // The repository is identified by its name and creation time.
+        assertThat(cache.getIfPresent(repository("foo", "bar", 1), new Revision(2), Query.ofText("/a.txt"),
+                                      false)).isNotNull();
+
+        // A different revision, query, response type or repository is encoded separately.
+        cache.get(repo, new Revision(3), Query.ofText("/a.txt"), false, numEncodes::incrementAndGet);
+        cache.get(repo, new Revision(2), Query.ofText("/b.txt"), false, numEncodes::incrementAndGet);
+        cache.get(repo, new Revision(2), Query.ofText("/a.txt"), true, numEncodes::incrementAndGet);
+        cache.get(repository("foo", "baz", 1), new Revision(2), Query.ofText("/a.txt"), false,
+                  numEncodes::incrementAndGet);
+        assertThat(numEncodes).hasValue(5);
+
+        // A repository created again with the same name does not get the responses of the removed one.
+        cache.get(repository("foo", "bar", 2), new Revision(2), Query.ofText("/a.txt"), false,
+                  numEncodes::incrementAndGet);
+        assertThat(numEncodes).hasValue(6);
+    }
+
+    @Test
+    void convertEncodedJson() throws Exception {
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+        final EncodedJson encoded = new EncodedJson("{\"a\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+        try (SafeCloseable ignored = ctx.push()) {
+            // The encoded JSON is sent with the same headers as the object it was encoded from.
+            final AggregatedHttpResponse expected =
+                    new HttpApiResponseConverter().convertResponse(ctx, ResponseHeaders.of(HttpStatus.OK),
+                                                                   ImmutableMap.of("a", "b"),
+                                                                   HttpHeaders.of())
+                                                  .aggregate().join();
+            final AggregatedHttpResponse actual =
+                    new HttpApiResponseConverter().convertResponse(ctx, ResponseHeaders.of(HttpStatus.OK),
+                                                                   encoded, HttpHeaders.of())
+                                                  .aggregate().join();
+            assertThat(actual.headers()).isEqualTo(expected.headers());
+            assertThat(actual.contentUtf8()).isEqualTo(expected.contentUtf8());
+            assertThat(actual.contentType()).isEqualTo(MediaType.JSON_UTF_8);
+        }
+    }
+
+    private static Repository repository(String projectName, String repoName, long creationTimeMillis) {
+        final Project project = mock(Project.class);
+        when(project.name()).thenReturn(projectName);
+        final Repository repo = mock(Repository.class);
+        when(repo.parent()).thenReturn(project);
+        when(repo.name()).thenReturn(repoName);
+        when(repo.creationTimeMillis()).thenReturn(creationTimeMillis);
+        return repo;
+    }
+}
@@ -16,7 +16,10 @@
 package com.linecorp.centraldogma.server.internal.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.eclipse.jgit.transport.GitProtocolConstants.VERSION_2_REQUEST;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,10 +30,13 @@ import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
 import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.TransportHttp;
@@ -42,12 +48,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 
 import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.RequestHeaders;
@@ -56,8 +67,15 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.centraldogma.client.CentralDogma;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.server.internal.api.GitHttpService.PacketLineFraming;
+import com.linecorp.centraldogma.server.internal.storage.project.ProjectApiManager;
+import com.linecorp.centraldogma.server.metadata.User;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
 import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class GitHttpServiceTest {
 
     @TempDir
@@ -236,6 +254,64 @@ class GitHttpServiceTest {
         git1.close();
     }
 
+    @Test
+    void limitConcurrentUploadPackRequests() {
+        final Repository jGitRepository = new InMemoryRepository(new DfsRepositoryDescription("bar"));
+        final com.linecorp.centraldogma.server.storage.repository.Repository repo =
+                mock(com.linecorp.centraldogma.server.storage.repository.Repository.class);
+        when(repo.jGitRepository()).thenReturn(jGitRepository);
+        final RepositoryManager repos = mock(RepositoryManager.class);
+        when(repos.exists("bar")).thenReturn(true);
+        when(repos.get("bar")).thenReturn(repo);
+        final Project project = mock(Project.class);
+        when(project.repos()).thenReturn(repos);
+        final ProjectApiManager projectApiManager = mock(ProjectApiManager.class);
+        when(projectApiManager.exists("foo")).thenReturn(true);
+        when(projectApiManager.getProject("foo", User.DEFAULT)).thenReturn(project);
+
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final GitHttpService service = new GitHttpService(projectApiManager, meterRegistry, 1, 1);
+
+        // The first request occupies the only worker until its body is written.
+        final HttpRequestWriter req1 = uploadPackRequest();
+        final HttpResponse res1 = service.gitUploadPack(req1, "foo", "bar", User.DEFAULT);
+        await().untilAsserted(() -> assertThat(uploadPackWorkerGauge(meterRegistry, "executor.active"))
+                .isEqualTo(1.0));
+
+        // The second request is queued rather than served concurrently.
+        final HttpRequestWriter req2 = uploadPackRequest();
+        final HttpResponse res2 = service.gitUploadPack(req2, "foo", "bar", User.DEFAULT);
+        assertThat(uploadPackWorkerGauge(meterRegistry, "executor.queued")).isEqualTo(1.0);
+        assertThat(uploadPackWorkerGauge(meterRegistry, "executor.active")).isEqualTo(1.0);
+
+        // The third request is rejected because the queue is full.
+        assertThat(service.gitUploadPack(uploadPackRequest(), "foo", "bar", User.DEFAULT)
+                          .aggregate().join().status()).isSameAs(HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (HttpRequestWriter req : ImmutableList.of(req1, req2)) {
+            req.write(HttpData.ofUtf8(lsRefsCommand()));
+            req.close();
+        }
+        assertThat(res1.aggregate().join().status()).isSameAs(HttpStatus.OK);
+        assertThat(res2.aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+        // The requests are rejected after the service is closed.
+        service.close();
+        assertThat(service.gitUploadPack(uploadPackRequest(), "foo", "bar", User.DEFAULT)
+                          .aggregate().join().status()).isSameAs(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static HttpRequestWriter uploadPackRequest() {
+        return HttpRequest.streaming(
+                RequestHeaders.of(HttpMethod.POST, "/foo/bar.git/git-upload-pack",
+                                  HttpHeaderNames.CONTENT_TYPE, "application/x-git-upload-pack-request",
+                                  HttpHeaderNames.GIT_PROTOCOL, VERSION_2_REQUEST));
+    }
+
+    private static double uploadPackWorkerGauge(MeterRegistry meterRegistry, String name) {
+        return meterRegistry.get(name).tag("name", "gitUploadPackWorker").gauge().value();
+    }
+
     private static Git clone(File directory) throws GitAPIException {
         final CloneCommand cloneCommand = Git.cloneRepository().setURI("http://127.0.0.1:" +
                                                                        dogma.serverAddress().getPort() +
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.storage.RequestAlreadyTimedOutException;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+class WatchServiceTest {
+
+    private static final Query<String> QUERY = Query.ofText("/foo.txt");
+
+    private WatchService watchService;
+    private Repository repo;
+    private CompletableFuture<Entry<String>> underlyingFuture;
+
+    @BeforeEach
+    void setUp() {
+        watchService = new WatchService(NoopMeterRegistry.get());
+        repo = mock(Repository.class);
+        underlyingFuture = new CompletableFuture<>();
+        doReturn(underlyingFuture).when(repo).watch(any(Revision.class), any(Query.class), anyBoolean());
+    }
+
+    @Test
+    void coalesceWatches() {
+        final CompletableFuture<Entry<String>> future1 = watchFile(new Revision(1));
+        final CompletableFuture<Entry<String>> future2 = watchFile(new Revision(1));
+        assertThat(watchService.sharedWatches).hasSize(1);
+        verify(repo, times(1)).watch(new Revision(1), QUERY, false);
+
+        // A watch since a different revision is not shared.
+        final CompletableFuture<Entry<String>> future3 = watchFile(new Revision(2));
+        assertThat(watchService.sharedWatches).hasSize(2);
+        verify(repo, times(1)).watch(new Revision(2), QUERY, false);
+
+        final Entry<String> entry = Entry.ofText(new Revision(3), "/foo.txt", "bar");
+        underlyingFuture.complete(entry);
+        assertThat(future1.join()).isSameAs(entry);
+        assertThat(future2.join()).isSameAs(entry);
+        assertThat(future3.join()).isSameAs(entry);
+        assertThat(watchService.sharedWatches).isEmpty();
+    }
+
+    @Test
+    void cancelUnderlyingWatchWhenAllWaitersAreGone() {
+        final CompletableFuture<Entry<String>> future1 = watchFile(new Revision(1));
+        final CompletableFuture<Entry<String>> future2 = watchFile(new Revision(1));
+
+        future1.cancel(false);
+        assertThat(underlyingFuture).isNotDone();
+        assertThat(watchService.sharedWatches).hasSize(1);
+
+        future2.cancel(false);
+        assertThat(underlyingFuture).isCompletedExceptionally();
+        assertThat(watchService.sharedWatches).isEmpty();
+
+        // A new watch starts a new underlying watch.
+        watchFile(new Revision(1));
+        verify(repo, times(2)).watch(new Revision(1), QUERY, false);
+    }
+
+    @Test
+    void timeoutOfFirstWaiterDoesNotFailOtherWaiters() {
+        // Fail the watch if the request in whose context the watch started has timed out when the watch
+        // completes, as the Repository implementations do.
+        doAnswer(invocation -> {
+            final ServiceRequestContext ctx = ServiceRequestContext.currentOrNull();
+            return underlyingFuture.thenApply(entry -> {
+                if (ctx != null && ctx.isTimedOut()) {
+                    throw new RequestAlreadyTimedOutException();
+                }
+                return entry;
+            });
+        }).when(repo).watch(any(Revision.class), any(Query.class), anyBoolean());
+
+        final ServiceRequestContext ctx1 = newContext();
+        final CompletableFuture<Entry<String>> future1 = watchFile(ctx1, new Revision(1));
+        final CompletableFuture<Entry<String>> future2 = watchFile(newContext(), new Revision(1));
+        final CompletableFuture<Entry<String>> future3 = watchFile(newContext(), new Revision(1));
+        verify(repo, times(1)).watch(new Revision(1), QUERY, false);
+
+        ctx1.timeoutNow();
+        future1.cancel(false);
+
+        final Entry<String> entry = Entry.ofText(new Revision(2), "/foo.txt", "bar");
+        underlyingFuture.complete(entry);
+        assertThat(future2.join()).isSameAs(entry);
+        assertThat(future3.join()).isSameAs(entry);
+    }
+
+    private CompletableFuture<Entry<String>> watchFile(Revision lastKnownRevision) {
+        return watchFile(newContext(), lastKnownRevision);
+    }
+
+    private CompletableFuture<Entry<String>> watchFile(ServiceRequestContext ctx, Revision lastKnownRevision) {
+        try (SafeCloseable ignored = ctx.push()) {
+            return watchService.watchFile(repo, lastKnownRevision, QUERY, 10000, false);
+        }
+    }
+
+    private static ServiceRequestContext newContext() {
+        return ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+    }
+}
@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -35,6 +36,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,12 +54,14 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.function.ThrowingConsumer;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.common.CommonPools;
@@ -73,6 +80,7 @@ import com.linecorp.centraldogma.server.command.ForcePushCommand;
 import com.linecorp.centraldogma.server.command.NormalizingPushCommand;
 import com.linecorp.centraldogma.server.command.PushAsIsCommand;
 import com.linecorp.centraldogma.server.command.TransformCommand;
+import com.linecorp.centraldogma.server.internal.replication.ZooKeeperCommandExecutor.LogGroupCommitter;
 import com.linecorp.centraldogma.server.management.ServerStatus;
 import com.linecorp.centraldogma.testing.internal.FlakyTest;
 
@@ -234,6 +242,196 @@ class ZooKeeperCommandExecutorTest {
         }
     }
 
+    /**
+     * Makes sure that the logs of the commands executed concurrently are stored once and in order even if
+     * they are stored in batches.
+     */
+    @Test
+    void storeLogsOfConcurrentCommands() throws Exception {
+        try (Cluster cluster = Cluster.builder()
+                                      .numReplicas(3)
+                                      .build(ZooKeeperCommandExecutorTest::newMockDelegate)) {
+            final Replica replica = cluster.get(0);
+            final int numCommands = 32;
+            final List<Command<Void>> commands = new ArrayList<>();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < numCommands; i++) {
+                // Use different execution paths so that the commands are executed concurrently.
+                final Command<Void> command = Command.createRepository(Author.SYSTEM, "project", "repo" + i);
+                commands.add(command);
+                futures.add(replica.commandExecutor().execute(command));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            final List<Command<?>> loggedCommands = new ArrayList<>();
+            for (int i = 0; i < numCommands; i++) {
+                loggedCommands.add(replica.commandExecutor().loadLog(i, false).get().command());
+            }
+            assertThat(loggedCommands).containsExactlyInAnyOrderElementsOf(commands);
+
+            for (Command<Void> command : commands) {
+                awaitUntilReplicated(cluster, command);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that the logs stored concurrently share batches of up to 64 logs, which are stored with
+     * fewer ZooKeeper transactions and thus faster than storing them one by one, while a single writer still
+     * stores its log right away with two transactions.
+     */
+    @Test
+    void storeLogsInBatches() throws Exception {
+        try (Cluster cluster = Cluster.builder()
+                                      .numReplicas(3)
+                                      .build(ZooKeeperCommandExecutorTest::newMockDelegate)) {
+            final ZooKeeperCommandExecutor executor = cluster.get(0).commandExecutor();
+            final LogGroupCommitter committer = executor.logGroupCommitter();
+
+            // A single writer does not wait for the other logs. Each log is stored in its own batch with
+            // a transaction for the log block and another for the log.
+            final int numSequentialLogs = 32;
+            final long sequentialStartNanos = System.nanoTime();
+            for (int i = 0; i < numSequentialLogs; i++) {
+                assertThat(executor.storeLog(newLog(executor, "sequential" + i))).isEqualTo(i);
+            }
+            final long sequentialNanos = System.nanoTime() - sequentialStartNanos;
+            assertThat(committer.numBatches()).isEqualTo(numSequentialLogs);
+            assertThat(committer.maxBatchSize()).isOne();
+            assertThat(committer.numTransactions()).isEqualTo(numSequentialLogs * 2);
+
+            // The logs stored concurrently share batches.
+            final int numConcurrentLogs = 256;
+            final List<ReplicationLog<?>> logs = new ArrayList<>();
+            for (int i = 0; i < numConcurrentLogs; i++) {
+                logs.add(newLog(executor, "concurrent" + i));
+            }
+            final long concurrentStartNanos = System.nanoTime();
+            final List<Long> revisions = storeLogsConcurrently(executor, logs);
+            final long concurrentNanos = System.nanoTime() - concurrentStartNanos;
+
+            assertThat(revisions).doesNotHaveDuplicates()
+                                 .allMatch(revision -> revision >= numSequentialLogs &&
+                                                       revision < numSequentialLogs + numConcurrentLogs);
+            for (int i = 0; i < numConcurrentLogs; i++) {
+                assertThat(executor.loadLog(revisions.get(i), false).get()).isEqualTo(logs.get(i));
+            }
+            final int numConcurrentBatches = committer.numBatches() - numSequentialLogs;
+            assertThat(numConcurrentBatches).isLessThan(numConcurrentLogs);
+            assertThat(committer.maxBatchSize()).isBetween(2, 64);
+            assertThat(committer.numTransactions() - numSequentialLogs * 2).isEqualTo(numConcurrentBatches * 2);
+
+            logger.info("Stored {} logs one by one in {} ms, and {} logs concurrently in {} ms ({} batches)",
+                        numSequentialLogs, TimeUnit.NANOSECONDS.toMillis(sequentialNanos),
+                        numConcurrentLogs, TimeUnit.NANOSECONDS.toMillis(concurrentNanos),
+                        numConcurrentBatches);
+            // The throughput is higher than storing the logs one by one.
+            assertThat((double) concurrentNanos / numConcurrentLogs)
+                    .isLessThan((double) sequentialNanos / numSequentialLogs);
+        }
+    }
+
+    /**
+     * Makes sure that the log blocks of the large logs stored concurrently are split into multiple
+     * transactions, so that a transaction does not exceed the request size limit of ZooKeeper.
+     */
+    @Test
+    void storeLargeLogsInBatches() throws Exception {
+        try (Cluster cluster = Cluster.builder()
+                                      .numReplicas(3)
+                                      .build(ZooKeeperCommandExecutorTest::newMockDelegate)) {
+            final ZooKeeperCommandExecutor executor = cluster.get(0).commandExecutor();
+            final LogGroupCommitter committer = executor.logGroupCommitter();
+
+            // Half of the logs take a block of about 600 KiB and the others take two blocks of about 1 MiB and
+            // 500 KiB, which are about 8.2 MiB in total.
+            final List<ReplicationLog<?>> logs = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final int size = i % 2 == 0 ? 600 * 1024 : 1500 * 1024;
+                logs.add(newLog(executor, Strings.repeat(String.valueOf(i), size)));
+            }
+            final List<Long> revisions = storeLogsConcurrently(executor, logs);
+            for (int i = 0; i < logs.size(); i++) {
+                assertThat(executor.loadLog(revisions.get(i), false).get()).isEqualTo(logs.get(i));
+            }
+
+            // A transaction for the logs of each batch and at least 9 transactions for the blocks.
+            assertThat(committer.numTransactions()).isGreaterThanOrEqualTo(committer.numBatches() + 9);
+        }
+    }
+
+    private static ReplicationLog<Void> newLog(ZooKeeperCommandExecutor executor, String repoName) {
+        return new ReplicationLog<>(executor.replicaId(),
+                                    Command.createRepository(Author.SYSTEM, "project", repoName), null);
+    }
+
+    /**
+     * Stores the specified logs from as many threads at once, and returns their revisions in order.
+     */
+    private static List<Long> storeLogsConcurrently(ZooKeeperCommandExecutor executor,
+                                                    List<ReplicationLog<?>> logs) throws Exception {
+        final ExecutorService threadPool = Executors.newFixedThreadPool(logs.size());
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            final List<Future<Long>> futures = new ArrayList<>();
+            for (ReplicationLog<?> log : logs) {
+                futures.add(threadPool.submit(() -> {
+                    startLatch.await();
+                    return executor.storeLog(log);
+                }));
+            }
+            startLatch.countDown();
+
+            final List<Long> revisions = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                revisions.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return revisions;
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Makes sure that a replica replays the logs stored by the other replicas before executing a command,
+     * so that the commands with the same execution path are applied in the order of their logs.
+     */
+    @Test
+    void replayLogsOfOtherReplicasBeforeExecution() throws Exception {
+        try (Cluster cluster = Cluster.builder()
+                                      .numReplicas(3)
+                                      .build(ZooKeeperCommandExecutorTest::newMockDelegate)) {
+            final int numCommands = 12;
+            final List<Command<Void>> commands = new ArrayList<>();
+            for (int i = 0; i < numCommands; i++) {
+                // Use the same execution path so that the commands are executed one by one.
+                final Command<Void> command =
+                        Command.removeRepository((long) i, Author.SYSTEM, "project", "repo1");
+                commands.add(command);
+                cluster.get(i % cluster.size()).commandExecutor().execute(command).join();
+            }
+
+            for (int i = 0; i < numCommands; i++) {
+                final Optional<ReplicationLog<?>> log = cluster.get(0).commandExecutor().loadLog(i, false);
+                assertThat(log).isPresent();
+                assertThat(log.get().command()).isEqualTo(commands.get(i));
+                assertThat(log.get().replicaId()).isEqualTo(
+                        cluster.get(i % cluster.size()).commandExecutor().replicaId());
+            }
+            assertThat(cluster.get(0).commandExecutor().loadLog(numCommands, false)).isEmpty();
+
+            for (int i = 0; i < cluster.size(); i++) {
+                final Replica replica = cluster.get(i);
+                await().untilAsserted(() -> verify(replica.delegate())
+                        .apply(eq(commands.get(numCommands - 1))));
+                final InOrder inOrder = inOrder(replica.delegate());
+                for (Command<Void> command : commands) {
+                    inOrder.verify(replica.delegate()).apply(eq(command));
+                }
+            }
+        }
+    }
+
     /**
      * Makes sure that we can stop a replica that's waiting for the initial quorum.
      */
@@ -17,22 +17,34 @@
 package com.linecorp.centraldogma.server.internal.storage;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.google.common.base.Strings;
 import com.google.common.util.concurrent.MoreExecutors;
 
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
 import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.ShuttingDownException;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoadingMetrics.Phase;
 import com.linecorp.centraldogma.server.internal.storage.project.DefaultProjectManager;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
 
-import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class DefaultProjectManagerTest {
 
@@ -46,7 +58,7 @@ class DefaultProjectManagerTest {
                 tempDir,
                 MoreExecutors.directExecutor(),
                 (Runnable r) -> counter.incrementAndGet(),
-                mock(MeterRegistry.class),
+                NoopMeterRegistry.get(),
                 null);
 
         final String projectName = "foo";
@@ -64,4 +76,82 @@ class DefaultProjectManagerTest {
         pm.purgeMarked();
         assertThat(counter.get()).isEqualTo(2);
     }
+
+    @Test
+    void loadProjectsAndRepositoriesInParallel() throws Exception {
+        final DefaultProjectManager pm = new DefaultProjectManager(
+                tempDir, MoreExecutors.directExecutor(), MoreExecutors.directExecutor(),
+                NoopMeterRegistry.get(), null);
+        for (int i = 0; i < 8; i++) {
+            final Project project = pm.create("foo" + i, Author.SYSTEM);
+            for (int j = 0; j < 4; j++) {
+                project.repos().create("bar" + j, Author.SYSTEM);
+            }
+        }
+        pm.close(ShuttingDownException::new);
+
+        // Use fewer threads than the projects to make sure that loading the repositories of a project does
+        // not wait for the tasks queued behind the projects.
+        final ExecutorService repositoryWorker = Executors.newFixedThreadPool(2);
+        try {
+            final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            final DefaultProjectManager reopened = new DefaultProjectManager(
+                    tempDir, repositoryWorker, MoreExecutors.directExecutor(), meterRegistry, null);
+            assertThat(reopened.list()).hasSize(8);
+            for (int i = 0; i < 8; i++) {
+                assertThat(reopened.get("foo" + i).repos().list()).containsKeys("bar0", "bar1", "bar2", "bar3");
+            }
+
+            final StorageLoadingMetrics loadingMetrics = reopened.loadingMetrics();
+            final long numRepositories = loadingMetrics.numRepositories();
+            assertThat(numRepositories).isGreaterThanOrEqualTo(8 * 4);
+            assertThat(loadingMetrics.durationNanos(Phase.PROJECTS)).isPositive();
+            assertThat(loadingMetrics.durationNanos(Phase.INITIAL_COMMIT)).isPositive();
+            assertThat(meterRegistry.find("storage.loading.repositories").gauge().value())
+                    .isEqualTo(numRepositories);
+            final TimeGauge projects = meterRegistry.find("storage.loading.duration")
+                                                    .tag("phase", "projects")
+                                                    .timeGauge();
+            assertThat(projects).isNotNull();
+            assertThat(projects.value(TimeUnit.NANOSECONDS)).isPositive();
+            reopened.close(ShuttingDownException::new);
+        } finally {
+            repositoryWorker.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void failToLoadRepositoriesInParallel() throws Exception {
+        final DefaultProjectManager pm = new DefaultProjectManager(
+                tempDir, MoreExecutors.directExecutor(), MoreExecutors.directExecutor(),
+                NoopMeterRegistry.get(), null);
+        for (int i = 0; i < 8; i++) {
+            final Project project = pm.create("foo" + i, Author.SYSTEM);
+            for (int j = 0; j < 4; j++) {
+                project.repos().create("bar" + j, Author.SYSTEM);
+            }
+        }
+        pm.close(ShuttingDownException::new);
+
+        // Make most of the repositories point to a missing commit so that they fail to open after
+        // the underlying resources are opened.
+        for (int i = 0; i < 8; i++) {
+            for (int j = 1; j < 4; j++) {
+                final File master = new File(tempDir, "foo" + i + "/bar" + j + "/refs/heads/master");
+                Files.write(master.toPath(), (Strings.repeat("1", 40) + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        // The repositories which failed to open are closed by the threads of the repository worker.
+        // They must not wait for a task queued behind them.
+        final ExecutorService repositoryWorker = Executors.newFixedThreadPool(2);
+        try {
+            assertThatThrownBy(() -> new DefaultProjectManager(
+                    tempDir, repositoryWorker, MoreExecutors.directExecutor(), NoopMeterRegistry.get(), null))
+                    .isInstanceOf(CentralDogmaException.class);
+        } finally {
+            repositoryWorker.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.command.Command;
+import com.linecorp.centraldogma.server.internal.storage.RepositoryMaintenanceSchedulingService.RepositoryStats;
+import com.linecorp.centraldogma.testing.internal.ProjectManagerExtension;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RepositoryMaintenanceSchedulingServiceTest {
+
+    private static final Author AUTHOR = Author.SYSTEM;
+
+    @RegisterExtension
+    final ProjectManagerExtension manager = new ProjectManagerExtension() {
+        @Override
+        protected void afterExecutorStarted() {
+            executor().execute(Command.createProject(AUTHOR, "foo")).join();
+            executor().execute(Command.createRepository(AUTHOR, "foo", "bar")).join();
+            for (int i = 0; i < 10; i++) {
+                executor().execute(Command.push(AUTHOR, "foo", "bar", Revision.HEAD, "Add a file", "",
+                                                Markup.PLAINTEXT,
+                                                Change.ofTextUpsert("/file_" + i + ".txt", "content")))
+                          .join();
+            }
+        }
+
+        @Override
+        protected boolean runForEachTest() {
+            return true;
+        }
+    };
+
+    @Test
+    void repackRepositoriesAndExportMetrics() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RepositoryMaintenanceSchedulingService service =
+                new RepositoryMaintenanceSchedulingService(manager.projectManager(), meterRegistry,
+                                                           60_000, 10, 10000);
+        service.maintainRepositories();
+
+        final RepositoryStats stats = service.repositoryStats().get("foo/bar");
+        assertThat(stats).isNotNull();
+        assertThat(stats.numLooseObjects()).isZero();
+        assertThat(stats.numPackFiles()).isOne();
+        final Gauge gauge = meterRegistry.find("repository.objects.loose")
+                                         .tag("project", "foo")
+                                         .tag("repo", "bar")
+                                         .gauge();
+        assertThat(gauge).isNotNull();
+        assertThat(gauge.value()).isZero();
+        assertThat(meterRegistry.find("repository.gc.duration").tag("repo", "bar").timeGauge()).isNotNull();
+
+        // The metrics of a removed repository should be removed.
+        manager.executor().execute(Command.removeRepository(AUTHOR, "foo", "bar")).join();
+        service.maintainRepositories();
+        assertThat(service.repositoryStats()).doesNotContainKey("foo/bar");
+        assertThat(meterRegistry.find("repository.objects.loose").tag("repo", "bar").gauge()).isNull();
+    }
+}
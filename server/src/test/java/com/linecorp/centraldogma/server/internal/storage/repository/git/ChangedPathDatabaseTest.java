@@ -0,0 +1,252 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.ChangedPathDatabase.ChangedPathLoader;
+
+class ChangedPathDatabaseTest {
+
+    @TempDir
+    File tempDir;
+
+    private final List<Integer> loadedRevisions = new ArrayList<>();
+    private final ChangedPathLoader loader = revision -> {
+        loadedRevisions.add(revision);
+        return ImmutableList.of("loaded/" + revision + ".json");
+    };
+
+    private ChangedPathDatabase db;
+
+    @BeforeEach
+    void setUp() {
+        db = new ChangedPathDatabase(tempDir, null, loader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    void findMayChangedRevisions() {
+        db.put(new Revision(1), ImmutableList.of());
+        db.put(new Revision(2), ImmutableList.of("foo/a.json"));
+        db.put(new Revision(3), ImmutableList.of("bar/b.json", "bar/c.txt"));
+        db.put(new Revision(4), ImmutableList.of("foo/d.txt"));
+
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/foo/**")))
+                .isEqualTo(bitSet(1, 3));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("*.json")))
+                .isEqualTo(bitSet(1, 2));
+        assertThat(db.findMayChangedRevisions(3, 4, PathPatternFilter.of("/bar/c.txt")))
+                .isEqualTo(bitSet(0));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/**")))
+                .isEqualTo(bitSet(1, 2, 3));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/baz/**"))).isEmpty();
+
+        // The revisions not found in the database may have changed anything.
+        assertThat(db.findMayChangedRevisions(3, 6, PathPatternFilter.of("/baz/**")))
+                .isEqualTo(bitSet(2, 3));
+    }
+
+    @Test
+    void tooManyPaths() {
+        final List<String> paths = IntStream.rangeClosed(0, ChangedPathDatabase.MAX_PATHS)
+                                            .mapToObj(i -> "foo/" + i + ".json")
+                                            .collect(Collectors.toList());
+        db.put(new Revision(1), ImmutableList.of());
+        db.put(new Revision(2), paths);
+        assertThat(db.findMayChangedRevisions(1, 2, PathPatternFilter.of("/bar/**")))
+                .isEqualTo(bitSet(1));
+    }
+
+    @Test
+    void fillInExistingRepository() {
+        db.close();
+        db = new ChangedPathDatabase(tempDir, new Revision(10), loader);
+        assertThat(loadedRevisions).containsExactlyElementsOf(revisions(1, 10));
+        db.put(new Revision(11), ImmutableList.of("foo/a.json"));
+        assertThat(db.findMayChangedRevisions(1, 11, PathPatternFilter.of("/bar/**"))).isEmpty();
+        assertThat(db.findMayChangedRevisions(9, 11, PathPatternFilter.of("/loaded/**")))
+                .isEqualTo(bitSet(0, 1));
+    }
+
+    @Test
+    void fillInRecentRevisionsOfLargeRepository() {
+        final int headRevision = ChangedPathDatabase.MAX_BACKFILL_REVISIONS + 10;
+        db.close();
+        db = new ChangedPathDatabase(tempDir, new Revision(headRevision), loader);
+        assertThat(loadedRevisions).containsExactlyElementsOf(revisions(11, headRevision));
+
+        // The revisions not found in the database may have changed anything.
+        assertThat(db.findMayChangedRevisions(9, 12, PathPatternFilter.of("/bar/**")))
+                .isEqualTo(bitSet(0, 1));
+    }
+
+    @Test
+    void reopen() {
+        for (int i = 1; i <= 100; i++) {
+            db.put(new Revision(i), ImmutableList.of("foo/" + i + ".json"));
+        }
+        db.close();
+
+        db = new ChangedPathDatabase(tempDir, new Revision(100), loader);
+        assertThat(db.findMayChangedRevisions(1, 100, PathPatternFilter.of("/foo/42.json")))
+                .isEqualTo(bitSet(41));
+
+        db.put(new Revision(101), ImmutableList.of("foo/101.json"));
+        assertThat(db.findMayChangedRevisions(1, 101, PathPatternFilter.of("/foo/101.json")))
+                .isEqualTo(bitSet(100));
+        assertThat(loadedRevisions).isEmpty();
+    }
+
+    @Test
+    void fillInMissingRecordsOnReopen() throws Exception {
+        db.put(new Revision(1), ImmutableList.of());
+        db.put(new Revision(2), ImmutableList.of("foo/a.json"));
+        db.close();
+
+        // Simulate a partially written record.
+        final File file = new File(tempDir, "changed_paths.dat");
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ch.truncate(file.length() - 3);
+        }
+
+        // The incomplete record and the record not written before the server stopped are filled in.
+        db = new ChangedPathDatabase(tempDir, new Revision(3), loader);
+        assertThat(loadedRevisions).containsExactly(2, 3);
+        assertThat(db.findMayChangedRevisions(1, 3, PathPatternFilter.of("/loaded/**")))
+                .isEqualTo(bitSet(1, 2));
+
+        db.put(new Revision(4), ImmutableList.of("foo/b.json"));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/bar/**"))).isEmpty();
+    }
+
+    @Test
+    void discardRecordsAfterHeadRevision() {
+        for (int i = 1; i <= 5; i++) {
+            db.put(new Revision(i), ImmutableList.of("foo/" + i + ".json"));
+        }
+        db.close();
+
+        db = new ChangedPathDatabase(tempDir, new Revision(3), loader);
+        assertThat(db.findMayChangedRevisions(1, 5, PathPatternFilter.of("/foo/**")))
+                .isEqualTo(bitSet(0, 1, 2, 3, 4));
+        assertThat(db.findMayChangedRevisions(1, 5, PathPatternFilter.of("/bar/**")))
+                .isEqualTo(bitSet(3, 4));
+
+        db.put(new Revision(4), ImmutableList.of("bar/4.json"));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/bar/**")))
+                .isEqualTo(bitSet(3));
+        assertThat(loadedRevisions).isEmpty();
+    }
+
+    @Test
+    void fillInMissingRevision() {
+        db.put(new Revision(1), ImmutableList.of());
+        db.put(new Revision(2), ImmutableList.of("foo/a.json"));
+
+        // Revision 3 was not recorded.
+        db.put(new Revision(4), ImmutableList.of("foo/b.json"));
+        assertThat(loadedRevisions).containsExactly(3);
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/bar/**"))).isEmpty();
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/loaded/**")))
+                .isEqualTo(bitSet(2));
+    }
+
+    @Test
+    void startOverOnLoadFailure() {
+        db.close();
+        db = new ChangedPathDatabase(tempDir, null, revision -> {
+            throw new IllegalStateException("expected");
+        });
+        db.put(new Revision(1), ImmutableList.of());
+        db.put(new Revision(2), ImmutableList.of("foo/a.json"));
+
+        // Revision 3 was not recorded and failed to be loaded.
+        db.put(new Revision(4), ImmutableList.of("foo/b.json"));
+        assertThat(db.findMayChangedRevisions(1, 4, PathPatternFilter.of("/bar/**")))
+                .isEqualTo(bitSet(0, 1, 2));
+    }
+
+    @Test
+    void readWhileRewriting() throws Exception {
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> readFailure = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    // Every revision changed a matching path, so no revision may be skipped even if
+                    // the records are rewritten while reading them.
+                    final BitSet result = db.findMayChangedRevisions(1, 200, PathPatternFilter.of("/foo/**"));
+                    assertThat(result.cardinality()).isEqualTo(200);
+                }
+            } catch (Throwable t) {
+                readFailure.set(t);
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                for (int revision = 1; revision <= 200; revision++) {
+                    // Rewrite the records with paths of different lengths.
+                    db.put(new Revision(revision),
+                           ImmutableList.of("foo/" + Strings.repeat("a", (i + revision) % 7) + ".json"));
+                }
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertThat(readFailure.get()).isNull();
+    }
+
+    private static List<Integer> revisions(int from, int to) {
+        return IntStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private static BitSet bitSet(int... bits) {
+        final BitSet bitSet = new BitSet();
+        for (int bit : bits) {
+            bitSet.set(bit);
+        }
+        return bitSet;
+    }
+}
@@ -88,6 +88,30 @@ class CommitIdDatabaseTest {
                 .isInstanceOf(RevisionNotFoundException.class);
     }
 
+    @Test
+    void reopenDatabase() {
+        // Put more records than the initial capacity of the in-memory index.
+        final int numCommits = 1000;
+        final ObjectId[] expectedCommitIds = new ObjectId[numCommits + 1];
+        for (int i = 1; i <= numCommits; i++) {
+            final ObjectId commitId = randomCommitId();
+            expectedCommitIds[i] = commitId;
+            db.put(new Revision(i), commitId);
+        }
+        db.close();
+
+        // Reopen the database to see if the in-memory index is loaded from the file.
+        db = new CommitIdDatabase(tempDir);
+        assertThat(db.headRevision()).isEqualTo(new Revision(numCommits));
+        for (int i = 1; i <= numCommits; i++) {
+            assertThat(db.get(new Revision(i))).isEqualTo(expectedCommitIds[i]);
+        }
+
+        final ObjectId nextCommitId = randomCommitId();
+        db.put(new Revision(numCommits + 1), nextCommitId);
+        assertThat(db.get(new Revision(numCommits + 1))).isEqualTo(nextCommitId);
+    }
+
     @Test
     void truncatedDatabase() throws Exception {
         db.put(Revision.INIT, randomCommitId());
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Revision;
+
+class CommitWatchersTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "/foo/bar.json,       foo/bar.json,     true",
+            "/foo/bar.json,       foo/baz.json,     false",
+            "/foo/**,             foo/bar.json,     true",
+            "/foo/**,             foo/a/b/c.json,   true",
+            "/foo/**,             foobar/c.json,    false",
+            "/**,                 a/b/c.json,       true",
+            "bar.json,            foo/bar.json,     true",
+            "/foo/*.json,         foo/bar.json,     true",
+            "/foo/*.json,         foo/a/bar.json,   false",
+            "'/a.json,/foo/**',   foo/bar.json,     true",
+            "'/a.json,/foo/**',   a.json,           true",
+            "'/a.json,/foo/**',   b.json,           false",
+            "'/a.json,/f*/**',    foo/bar.json,     true",
+    })
+    void notifyMatchingWatches(String pathPattern, String changedPath, boolean expected) {
+        final CommitWatchers commitWatchers = new CommitWatchers(directExecutor());
+        final CompletableFuture<Revision> future = new CompletableFuture<>();
+        commitWatchers.add(Revision.INIT, pathPattern, future, null);
+
+        commitWatchers.notify(new Revision(2), ImmutableList.of(changedPath));
+        assertThat(future.isDone()).isEqualTo(expected);
+        if (expected) {
+            assertThat(future.join()).isEqualTo(new Revision(2));
+            assertThat(commitWatchers.watchesMap).isEmpty();
+        } else {
+            assertThat(commitWatchers.watchesMap).hasSize(1);
+        }
+    }
+
+    @Test
+    void doNotNotifyUpToDateWatches() {
+        final CommitWatchers commitWatchers = new CommitWatchers(directExecutor());
+        final CompletableFuture<Revision> oldFuture = new CompletableFuture<>();
+        final CompletableFuture<Revision> newFuture = new CompletableFuture<>();
+        commitWatchers.add(Revision.INIT, "/foo/**", oldFuture, null);
+        commitWatchers.add(new Revision(2), "/foo/**", newFuture, null);
+
+        commitWatchers.notify(new Revision(2), ImmutableList.of("/foo/bar.json"));
+        assertThat(oldFuture).isCompletedWithValue(new Revision(2));
+        assertThat(newFuture).isNotDone();
+        assertThat(commitWatchers.watchesMap.get(PathPatternFilter.of("/foo/**"))).hasSize(1);
+
+        commitWatchers.notify(new Revision(3), ImmutableList.of("/foo/bar.json"));
+        assertThat(newFuture).isCompletedWithValue(new Revision(3));
+        assertThat(commitWatchers.watchesMap).isEmpty();
+    }
+
+    @Test
+    void notifyOncePerCommit() {
+        final CommitWatchers commitWatchers = new CommitWatchers(directExecutor());
+        final AtomicInteger numPrefixUpdates = new AtomicInteger();
+        final AtomicInteger numGlobUpdates = new AtomicInteger();
+        commitWatchers.add(Revision.INIT, "/foo/**", null, (revision, cause) -> {
+            numPrefixUpdates.incrementAndGet();
+        });
+        commitWatchers.add(Revision.INIT, "/foo/*.json", null, (revision, cause) -> {
+            numGlobUpdates.incrementAndGet();
+        });
+        final CompletableFuture<Revision> future = new CompletableFuture<>();
+        commitWatchers.add(Revision.INIT, "/foo/a.json,/foo/b.json", future, null);
+
+        commitWatchers.notify(new Revision(2), ImmutableList.of("foo/a.json", "foo/b.json", "foo/c.json",
+                                                               "bar/d.json"));
+        assertThat(future).isCompletedWithValue(new Revision(2));
+        assertThat(numPrefixUpdates).hasValue(1);
+        assertThat(numGlobUpdates).hasValue(1);
+        assertThat(commitWatchers.watchesMap).hasSize(2);
+    }
+
+    @Test
+    void removeCancelledWatches() {
+        final CommitWatchers commitWatchers = new CommitWatchers(directExecutor());
+        final CompletableFuture<Revision> future = new CompletableFuture<>();
+        commitWatchers.add(Revision.INIT, "/foo/bar.json", future, null);
+        assertThat(commitWatchers.watchesMap).hasSize(1);
+
+        future.cancel(true);
+        assertThat(commitWatchers.watchesMap).isEmpty();
+
+        // A new watch for the same pattern should be indexed again.
+        final CompletableFuture<Revision> future2 = new CompletableFuture<>();
+        commitWatchers.add(Revision.INIT, "/foo/bar.json", future2, null);
+        commitWatchers.notify(new Revision(2), ImmutableList.of("/foo/bar.json"));
+        assertThat(future2).isCompletedWithValue(new Revision(2));
+    }
+
+    @Test
+    void keepListenerWatches() {
+        final CommitWatchers commitWatchers = new CommitWatchers(directExecutor());
+        final int[] numUpdates = new int[1];
+        commitWatchers.add(Revision.INIT, "/foo/**", null, (revision, cause) -> numUpdates[0]++);
+
+        commitWatchers.notify(new Revision(2), ImmutableList.of("/foo/bar.json"));
+        assertThat(numUpdates[0]).isOne();
+        assertThat(commitWatchers.watchesMap).hasSize(1);
+
+        commitWatchers.close(() -> new CentralDogmaException("closed"));
+        assertThat(numUpdates[0]).isOne();
+        assertThat(commitWatchers.watchesMap).isEmpty();
+    }
+}
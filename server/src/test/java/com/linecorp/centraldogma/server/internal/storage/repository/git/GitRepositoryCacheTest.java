@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.linecorp.centraldogma.common.Revision.HEAD;
+import static com.linecorp.centraldogma.server.storage.repository.FindOptions.FIND_ALL_WITH_CONTENT;
+import static com.linecorp.centraldogma.server.storage.repository.Repository.ALL_PATH;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.EntryType;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.cache.CacheableFindCall;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.CacheableBlobContentCall.BlobContent;
+import com.linecorp.centraldogma.server.storage.StorageException;
+import com.linecorp.centraldogma.server.storage.project.Project;
+
+class GitRepositoryCacheTest {
+
+    @TempDir
+    File repoDir;
+
+    private RepositoryCache cache;
+    private GitRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RepositoryCache("maximumSize=1000", NoopMeterRegistry.get());
+        repo = new GitRepository(mock(Project.class), new File(repoDir, "test_repo"),
+                                 commonPool(), 0L, Author.SYSTEM, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repo.internalClose();
+    }
+
+    @Test
+    void carryOverCachedEntries() {
+        commit(Change.ofJsonUpsert("/a/b.json", "{ \"a\": 1 }"),
+               Change.ofTextUpsert("/a/c/d.txt", "foo"),
+               Change.ofJsonUpsert("/a.json", "[]"),
+               Change.ofTextUpsert("/e.txt", "bar"));
+        final Revision cachedRevision = repo.normalizeNow(HEAD);
+        // Nothing is carried over when the previous revision was not cached.
+        assertThat(cache.getIfPresent(CacheableFindCall.ofAllWithContent(repo, cachedRevision))).isNull();
+        cache.get(CacheableFindCall.ofAllWithContent(repo, cachedRevision)).join();
+
+        Revision revision = commit(Change.ofJsonUpsert("/a/b.json", "{ \"a\": 2 }"),
+                                   Change.ofTextUpsert("/a/c/e/f.txt", "baz"),
+                                   Change.ofTextUpsert("/a-b.txt", "qux"));
+        assertCarriedOver(revision);
+
+        revision = commit(Change.ofRemoval("/a/c"),
+                          Change.ofJsonPatch("/a.json", "[]", "[1]"));
+        assertCarriedOver(revision);
+
+        revision = commit(Change.ofRename("/e.txt", "/a/c/g.txt"));
+        assertCarriedOver(revision);
+    }
+
+    @Test
+    void shareBlobContentBetweenRevisions() throws Exception {
+        final Revision rev1 = commit(Change.ofJsonUpsert("/a.json", "{ \"a\": 1 }"));
+        final Revision rev2 = commit(Change.ofTextUpsert("/b.txt", "foo"));
+        final Revision rev3 = commit(Change.ofJsonUpsert("/a.json", "{ \"a\": 2 }"));
+
+        final Entry<?> entry1 = repo.get(rev1, "/a.json").join();
+        final Entry<?> entry2 = repo.get(rev2, "/a.json").join();
+        final Entry<?> entry3 = repo.get(rev3, "/a.json").join();
+
+        // The revisions which share the blob share the parsed content.
+        assertThat(entry2.content()).isSameAs(entry1.content());
+        // The revision with a different blob does not.
+        assertThat(entry3.content()).isNotSameAs(entry1.content());
+        assertThat(((JsonNode) entry3.content()).get("a").asInt()).isEqualTo(2);
+
+        try (ObjectReader reader = repo.jGitRepository().newObjectReader()) {
+            final ObjectId blobId1 = blobId(rev1, "/a.json");
+            final ObjectId blobId3 = blobId(rev3, "/a.json");
+            assertThat(blobId(rev2, "/a.json")).isEqualTo(blobId1);
+            assertThat(blobId3).isNotEqualTo(blobId1);
+            final BlobContent content1 =
+                    cache.getIfPresent(new CacheableBlobContentCall(repo, reader, blobId1, EntryType.JSON));
+            assertThat(content1.content).isSameAs(entry1.content());
+            // Weighed by the size of the blob.
+            assertThat(content1.size).isEqualTo(reader.open(blobId1).getBytes().length);
+            final BlobContent content3 =
+                    cache.getIfPresent(new CacheableBlobContentCall(repo, reader, blobId3, EntryType.JSON));
+            assertThat(content3.content).isSameAs(entry3.content());
+        }
+    }
+
+    @Test
+    void readWithoutCache() {
+        final GitRepository uncachedRepo = new GitRepository(mock(Project.class),
+                                                             new File(repoDir, "uncached_repo"),
+                                                             commonPool(), 0L, Author.SYSTEM);
+        try {
+            final Change<?>[][] commits = {
+                    { Change.ofJsonUpsert("/a.json", "{ \"a\": 1 }"), Change.ofTextUpsert("/b.txt", "foo") },
+                    { Change.ofTextUpsert("/c/d.txt", "bar") },
+                    { Change.ofJsonPatch("/a.json", "{ \"a\": 1 }", "{ \"a\": 2 }") }
+            };
+            for (Change<?>[] changes : commits) {
+                final Revision revision = commit(changes);
+                assertThat(uncachedRepo.commit(HEAD, 0L, Author.SYSTEM, "summary", changes)
+                                       .join().revision()).isEqualTo(revision);
+                assertThat(uncachedRepo.find(revision, ALL_PATH, FIND_ALL_WITH_CONTENT).join())
+                        .containsExactlyEntriesOf(repo.find(revision, ALL_PATH, FIND_ALL_WITH_CONTENT).join());
+            }
+        } finally {
+            uncachedRepo.internalClose();
+        }
+    }
+
+    @Test
+    void propagateBlobReadFailure() throws Exception {
+        final Revision revision = commit(Change.ofJsonUpsert("/a.json", "{ \"a\": 1 }"));
+        final ObjectId blobId = blobId(revision, "/a.json");
+        // Remove the blob, which is stored as a loose object, to fail to read it.
+        final String blobName = blobId.name();
+        final File blobFile = new File(repo.jGitRepository().getDirectory(),
+                                       "objects/" + blobName.substring(0, 2) + '/' + blobName.substring(2));
+        assertThat(blobFile.delete()).isTrue();
+
+        assertThatThrownBy(() -> repo.get(revision, "/a.json").join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("failed to read a blob: " + blobName);
+    }
+
+    private ObjectId blobId(Revision revision, String path) throws Exception {
+        final org.eclipse.jgit.lib.Repository jGitRepository = repo.jGitRepository();
+        try (RevWalk revWalk = new RevWalk(jGitRepository);
+             TreeWalk treeWalk = TreeWalk.forPath(jGitRepository, path.substring(1),
+                                                  revWalk.parseTree(repo.commitIdDatabase().get(revision)))) {
+            assertThat(treeWalk).isNotNull();
+            return treeWalk.getObjectId(0);
+        }
+    }
+
+    private Revision commit(Change<?>... changes) {
+        return repo.commit(HEAD, 0L, Author.SYSTEM, "summary", changes).join().revision();
+    }
+
+    private void assertCarriedOver(Revision revision) {
+        final Map<String, Entry<?>> carriedOver =
+                cache.getIfPresent(CacheableFindCall.ofAllWithContent(repo, revision));
+        final Map<String, Entry<?>> expected = repo.find(revision, ALL_PATH, FIND_ALL_WITH_CONTENT).join();
+        assertThat(carriedOver).isNotNull();
+        assertThat(carriedOver).containsExactlyEntriesOf(expected);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.linecorp.centraldogma.server.storage.repository.Repository.ALL_PATH;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryMaintainer.Result;
+import com.linecorp.centraldogma.server.storage.project.Project;
+
+class GitRepositoryMaintainerTest {
+
+    @TempDir
+    File repoDir;
+
+    private GitRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        repo = new GitRepository(mock(Project.class), new File(repoDir, "test_repo"),
+                                 commonPool(), 0L, Author.SYSTEM);
+        for (int i = 0; i < 10; i++) {
+            repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a file",
+                        Change.ofTextUpsert("/dir/file_" + i + ".txt", "content " + i)).join();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        repo.internalClose();
+    }
+
+    @Test
+    void repackWhenTooManyLooseObjects() {
+        final Result notRepacked = new GitRepositoryMaintainer(10000, 10000).maintain(repo);
+        assertThat(notRepacked).isNotNull();
+        assertThat(notRepacked.repacked()).isFalse();
+        assertThat(notRepacked.numLooseObjects()).isGreaterThan(10);
+
+        final Result repacked = new GitRepositoryMaintainer(10, 10000).maintain(repo);
+        assertThat(repacked).isNotNull();
+        assertThat(repacked.repacked()).isTrue();
+        assertThat(repacked.numLooseObjects()).isZero();
+        assertThat(repacked.numPackFiles()).isOne();
+
+        // The repository should work as before.
+        assertThat(repo.blockingHistory(Revision.HEAD, Revision.INIT, ALL_PATH, 100)).hasSize(11);
+        assertThat(repo.find(Revision.HEAD, "/dir/*.txt").join()).hasSize(10);
+        repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a file",
+                    Change.ofTextUpsert("/dir/file_10.txt", "content 10")).join();
+        assertThat(repo.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(12));
+    }
+
+    @Test
+    void skipClosedRepository() {
+        repo.internalClose();
+        assertThat(new GitRepositoryMaintainer(10, 10000).maintain(repo)).isNull();
+    }
+}
@@ -41,6 +41,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -103,9 +104,21 @@ class GitRepositoryTest {
     @Nullable
     private static Consumer<CompletableFuture<Revision>> watchConsumer;
 
+    /**
+     * Invoked after a watch looked up the latest revision.
+     * Used by {@link GitRepositoryTest#testWatchWithCommitDuringLatestRevisionLookup()} and
+     * {@link GitRepositoryTest#closeWaitsForReads()}.
+     */
+    @Nullable
+    private static volatile Runnable findLatestRevisionHook;
+
     @BeforeAll
     static void init() {
-        repo = new GitRepository(mock(Project.class), new File(repoDir, "test_repo"),
+        repo = newRepository("test_repo");
+    }
+
+    private static GitRepository newRepository(String name) {
+        return new GitRepository(mock(Project.class), new File(repoDir, name),
                                  commonPool(), 0L, Author.SYSTEM) {
             /**
              * Used by {@link GitRepositoryTest#testWatchWithQueryCancellation()}.
@@ -120,6 +133,20 @@ class GitRepositoryTest {
                 }
                 return f;
             }
+
+            @Nullable
+            @Override
+            Revision blockingFindLatestRevision(Revision lastKnownRevision, String pathPattern,
+                                                boolean errorOnEntryNotFound) {
+                final Revision latestRevision =
+                        super.blockingFindLatestRevision(lastKnownRevision, pathPattern, errorOnEntryNotFound);
+                final Runnable hook = findLatestRevisionHook;
+                if (hook != null) {
+                    findLatestRevisionHook = null;
+                    hook.run();
+                }
+                return latestRevision;
+            }
         };
     }
 
@@ -165,6 +192,7 @@ class GitRepositoryTest {
         }
 
         watchConsumer = null;
+        findLatestRevisionHook = null;
     }
 
     @Test
@@ -544,6 +572,50 @@ class GitRepositoryTest {
         }
     }
 
+    @Test
+    void testMultipleChangesOnRenamedPaths() {
+        repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY, jsonUpserts).join();
+
+        // Each change depends on the result of the previous changes.
+        final String oldDir = prefix.substring(0, prefix.length() - 1); // Strip the trailing '/'.
+        final String newDir = oldDir + "_renamed";
+        final String renamedPath = newDir + '/' + jsonPaths[0].substring(prefix.length());
+        repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY,
+                    Change.ofRename(oldDir, newDir),
+                    Change.ofJsonUpsert(renamedPath, "{ \"a\": \"b\" }"),
+                    Change.ofRename(renamedPath, jsonPaths[0]),
+                    Change.ofRemoval(newDir)).join();
+
+        final Map<String, Entry<?>> entries = repo.find(HEAD, allPattern).join();
+        assertThat(entries).containsOnlyKeys(jsonPaths[0]);
+        assertThatJson(entries.get(jsonPaths[0]).content()).isEqualTo("{ \"a\": \"b\" }");
+        assertThat(repo.find(HEAD, newDir + "/**").join()).isEmpty();
+    }
+
+    @Test
+    void testReplaceFileWithDirectory() {
+        final String dirA = prefix + "a.json";
+        final String fileB = dirA + "/b.json";
+        final String fileC = prefix + "c.json";
+        final String fileD = fileC + "/d.json";
+        repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY,
+                    Change.ofJsonUpsert(fileB, "{ \"b\": 1 }"),
+                    Change.ofJsonUpsert(fileC, "{ \"c\": 1 }")).join();
+
+        // The directory 'a.json' is replaced with a file, which is replaced with a directory again.
+        // The file 'c.json' is replaced with a directory.
+        repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY,
+                    Change.ofJsonUpsert(dirA, "{ \"a\": 1 }"),
+                    Change.ofJsonUpsert(fileB, "{ \"b\": 1 }"),
+                    Change.ofRemoval(fileC),
+                    Change.ofJsonUpsert(fileD, "{ \"d\": 1 }")).join();
+
+        final Map<String, Entry<?>> entries = repo.find(HEAD, allPattern).join();
+        assertThat(entries).containsOnlyKeys(fileB, fileD);
+        assertThatJson(entries.get(fileB).content()).isEqualTo("{ \"b\": 1 }");
+        assertThatJson(entries.get(fileD).content()).isEqualTo("{ \"d\": 1 }");
+    }
+
     @Test
     void testRenameWithConflict() {
         // Create a file to produce redundant changes.
@@ -1357,6 +1429,120 @@ class GitRepositoryTest {
         ensureWatcherCleanUp();
     }
 
+    @Test
+    void testWatchWithCommitDuringLatestRevisionLookup() throws Exception {
+        final Revision rev1 = repo.normalizeNow(HEAD);
+        final Revision rev2 = rev1.forward(1);
+
+        // Commit after the watch found no changes but before it returns, so that only the notification
+        // from CommitWatchers can complete the watch.
+        findLatestRevisionHook = () -> repo.commit(rev1, 0L, Author.UNKNOWN, SUMMARY, jsonUpserts[0]).join();
+
+        final CompletableFuture<Revision> f = repo.watch(rev1, allPattern, false);
+        assertThat(f.get(3, TimeUnit.SECONDS)).isEqualTo(rev2);
+
+        ensureWatcherCleanUp();
+    }
+
+    @Test
+    void readWithoutWaitingForCommit() throws Exception {
+        final Revision rev1 = repo.normalizeNow(HEAD);
+        final Revision rev2 = repo.commit(rev1, 0L, Author.UNKNOWN, SUMMARY, jsonUpserts[0])
+                                  .join().revision();
+
+        // Hold the lock which a commit holds while it stores a new revision.
+        repo.writeLock();
+        try {
+            assertThat(repo.find(rev2, allPattern).get(10, TimeUnit.SECONDS)).containsKey(jsonPaths[0]);
+            assertThat(repo.history(rev2, rev2, allPattern).get(10, TimeUnit.SECONDS)).hasSize(1);
+            assertThat(repo.diff(rev1, rev2, allPattern).get(10, TimeUnit.SECONDS))
+                    .containsOnlyKeys(jsonPaths[0]);
+            assertThat(repo.watch(rev1, allPattern, false).get(10, TimeUnit.SECONDS)).isEqualTo(rev2);
+        } finally {
+            repo.writeUnLock();
+        }
+    }
+
+    @Test
+    void concurrentReadsAndCommits() throws Exception {
+        final String path = jsonPaths[0];
+        final Revision baseRevision =
+                repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY, Change.ofJsonUpsert(path, "{ \"n\": 0 }"))
+                    .join().revision();
+        final int numCommits = 50;
+        final AtomicBoolean done = new AtomicBoolean();
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    try {
+                        // The entry at a revision must always be the one committed at the revision.
+                        final Revision revision = repo.normalizeNow(HEAD);
+                        final Entry<?> entry = repo.get(revision, path).join();
+                        assertThat(entry.revision()).isEqualTo(revision);
+                        assertThatJson(entry.content())
+                                .node("n").isEqualTo(revision.major() - baseRevision.major());
+                        assertThat(repo.history(revision, baseRevision, path).join())
+                                .hasSize(revision.major() - baseRevision.major() + 1);
+                    } catch (Throwable cause) {
+                        errors.add(cause);
+                        return;
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        try {
+            for (int i = 1; i <= numCommits; i++) {
+                repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY,
+                            Change.ofJsonUpsert(path, "{ \"n\": " + i + " }")).join();
+            }
+        } finally {
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(repo.normalizeNow(HEAD)).isEqualTo(baseRevision.forward(numCommits));
+    }
+
+    @Test
+    void closeWaitsForReads() throws Exception {
+        final GitRepository repo = newRepository("close_wait_test_repo");
+        final Revision rev1 = repo.normalizeNow(HEAD);
+        final CountDownLatch readStarted = new CountDownLatch(1);
+        final CountDownLatch readReleased = new CountDownLatch(1);
+        findLatestRevisionHook = () -> {
+            readStarted.countDown();
+            try {
+                readReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final CompletableFuture<Revision> watchFuture = repo.watch(rev1, "/**", false);
+        readStarted.await();
+
+        final CentralDogmaException expectedException = new CentralDogmaException();
+        final CompletableFuture<Void> closeFuture =
+                CompletableFuture.runAsync(() -> repo.close(() -> expectedException));
+        // The close cause is returned to the new reads immediately,
+        await().untilAsserted(() -> assertThatThrownBy(() -> repo.find(rev1, "/**").join())
+                .hasCause(expectedException));
+        // but the resources are not released until the read in progress ends.
+        Thread.sleep(500);
+        assertThat(closeFuture).isNotDone();
+
+        readReleased.countDown();
+        closeFuture.get(10, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> watchFuture.get(10, TimeUnit.SECONDS)).hasCause(expectedException);
+    }
+
     private static void ensureWatcherCleanUp() {
         // Make sure CommitWatchers has cleared the watch.
         await().untilAsserted(() -> assertThat(repo.commitWatchers.watchesMap).isEmpty());
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEditor.DeletePath;
+import org.eclipse.jgit.dircache.DirCacheEditor.DeleteTree;
+import org.eclipse.jgit.dircache.DirCacheEditor.PathEdit;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class IncrementalTreeWriterTest {
+
+    @Test
+    void writeSameTreeAsDirCache() throws Exception {
+        final Repository repo = new InMemoryRepository(new DfsRepositoryDescription("test"));
+        try (ObjectInserter inserter = repo.newObjectInserter();
+             ObjectReader reader = inserter.newReader()) {
+            // Use the names which are sorted differently in a tree and in a DirCache.
+            final ObjectId baseTreeId = newTree(inserter, "a-b.txt", "a.b/c.txt", "a/b/c.txt", "a/b/d.txt",
+                                                "a/e.txt", "a0/f.txt", "g/h/i.txt", "j.txt");
+
+            final AffectedPathsFilter loadedPaths = new AffectedPathsFilter(
+                    ImmutableList.of("a/b/c.txt", "a/new/k.txt", "a0/f.txt", "g"));
+            final DirCache dirCache = load(reader, baseTreeId, loadedPaths);
+            assertThat(paths(dirCache)).containsExactly("a/b/c.txt", "a0/f.txt", "g/h/i.txt");
+
+            final DirCache expectedDirCache = load(reader, baseTreeId, TreeFilter.ALL);
+            final Set<String> editedPaths = new HashSet<>();
+            for (DirCache d : ImmutableList.of(dirCache, expectedDirCache)) {
+                final DirCacheEditor editor = d.editor();
+                editor.add(new Upsert(newEntry(inserter, "a/b/c.txt", "modified")));
+                editedPaths.add("a/b/c.txt");
+                editor.add(new Upsert(newEntry(inserter, "a/new/k.txt", "added")));
+                editedPaths.add("a/new/k.txt");
+                editor.add(new DeletePath("a0/f.txt"));
+                editedPaths.add("a0/f.txt");
+                editor.add(new DeleteTree("g/"));
+                editedPaths.add("g/");
+                editor.finish();
+            }
+
+            final ObjectId treeId = new IncrementalTreeWriter(dirCache, loadedPaths, editedPaths,
+                                                              reader, inserter).write(baseTreeId);
+            assertThat(treeId).isEqualTo(expectedDirCache.writeTree(inserter));
+        }
+    }
+
+    @Test
+    void replaceFileAndDirectory() throws Exception {
+        final Repository repo = new InMemoryRepository(new DfsRepositoryDescription("test"));
+        try (ObjectInserter inserter = repo.newObjectInserter();
+             ObjectReader reader = inserter.newReader()) {
+            final ObjectId baseTreeId = newTree(inserter, "a/b.txt", "a/c/d.txt", "a/c/e.txt", "f/g.txt");
+
+            // Replace the file 'a/b.txt' with a directory and the directory 'a/c' with a file.
+            final AffectedPathsFilter loadedPaths = new AffectedPathsFilter(
+                    ImmutableList.of("a/b.txt/h.txt", "a/c"));
+            final DirCache dirCache = load(reader, baseTreeId, loadedPaths);
+            assertThat(paths(dirCache)).containsExactly("a/b.txt", "a/c/d.txt", "a/c/e.txt");
+
+            final DirCache expectedDirCache = load(reader, baseTreeId, TreeFilter.ALL);
+            final Set<String> editedPaths = new HashSet<>();
+            for (DirCache d : ImmutableList.of(dirCache, expectedDirCache)) {
+                final DirCacheEditor editor = d.editor();
+                editor.add(new Upsert(newEntry(inserter, "a/b.txt/h.txt", "added")));
+                editedPaths.add("a/b.txt/h.txt");
+                editor.finish();
+                final DirCacheEditor editor2 = d.editor();
+                editor2.add(new Upsert(newEntry(inserter, "a/c", "added")));
+                editedPaths.add("a/c");
+                editor2.finish();
+            }
+
+            final ObjectId treeId = new IncrementalTreeWriter(dirCache, loadedPaths, editedPaths,
+                                                              reader, inserter).write(baseTreeId);
+            assertThat(treeId).isEqualTo(expectedDirCache.writeTree(inserter));
+        }
+    }
+
+    private static ObjectId newTree(ObjectInserter inserter, String... paths) throws Exception {
+        final DirCache dirCache = DirCache.newInCore();
+        final DirCacheBuilder builder = dirCache.builder();
+        for (String path : paths) {
+            builder.add(newEntry(inserter, path, path));
+        }
+        builder.finish();
+        return dirCache.writeTree(inserter);
+    }
+
+    private static DirCache load(ObjectReader reader, ObjectId treeId, TreeFilter filter) throws Exception {
+        final DirCache dirCache = DirCache.newInCore();
+        final DirCacheBuilder builder = dirCache.builder();
+        try (TreeWalk treeWalk = new TreeWalk(reader)) {
+            treeWalk.addTree(treeId);
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(filter);
+            while (treeWalk.next()) {
+                final DirCacheEntry entry = new DirCacheEntry(treeWalk.getRawPath());
+                entry.setFileMode(treeWalk.getFileMode(0));
+                entry.setObjectId(treeWalk.getObjectId(0));
+                builder.add(entry);
+            }
+        }
+        builder.finish();
+        return dirCache;
+    }
+
+    private static List<String> paths(DirCache dirCache) {
+        final List<String> paths = new ArrayList<>();
+        for (int i = 0; i < dirCache.getEntryCount(); i++) {
+            paths.add(dirCache.getEntry(i).getPathString());
+        }
+        return paths;
+    }
+
+    private static DirCacheEntry newEntry(ObjectInserter inserter, String path, String content)
+            throws Exception {
+        final DirCacheEntry entry = new DirCacheEntry(path);
+        entry.setFileMode(FileMode.REGULAR_FILE);
+        entry.setObjectId(inserter.insert(Constants.OBJ_BLOB, content.getBytes(UTF_8)));
+        return entry;
+    }
+
+    private static final class Upsert extends PathEdit {
+        private final DirCacheEntry newEntry;
+
+        Upsert(DirCacheEntry newEntry) {
+            super(newEntry);
+            this.newEntry = newEntry;
+        }
+
+        @Override
+        public void apply(DirCacheEntry ent) {
+            ent.setFileMode(newEntry.getFileMode());
+            ent.setObjectId(newEntry.getObjectId());
+        }
+    }
+}
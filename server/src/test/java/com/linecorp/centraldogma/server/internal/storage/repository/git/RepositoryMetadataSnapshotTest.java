@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.storage.project.Project;
+
+class RepositoryMetadataSnapshotTest {
+
+    private static final Author AUTHOR = new Author("foo", "foo@bar.com");
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void saveOnCloseAndLoadOnOpen() {
+        final File repoDir = new File(tempDir, "test_repo");
+        final GitRepository repo = new GitRepository(mock(Project.class), repoDir, commonPool(),
+                                                     12345L, AUTHOR);
+        repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a file",
+                    Change.ofTextUpsert("/foo.txt", "foo")).join();
+        repo.internalClose();
+
+        final RepositoryMetadataSnapshot snapshot = RepositoryMetadataSnapshot.load(repoDir);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.headRevision()).isEqualTo(new Revision(2));
+        assertThat(snapshot.creationTimeMillis()).isEqualTo(12345L);
+        assertThat(snapshot.author()).isEqualTo(AUTHOR);
+
+        final GitRepository reopened = new GitRepository(mock(Project.class), repoDir, commonPool(), null);
+        try {
+            assertThat(reopened.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(2));
+            assertThat(reopened.creationTimeMillis()).isEqualTo(12345L);
+            assertThat(reopened.author()).isEqualTo(AUTHOR);
+        } finally {
+            reopened.internalClose();
+        }
+    }
+
+    @Test
+    void ignoreStaleSnapshot() throws Exception {
+        final File repoDir = new File(tempDir, "test_repo");
+        final GitRepository repo = new GitRepository(mock(Project.class), repoDir, commonPool(),
+                                                     12345L, AUTHOR);
+        repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a file",
+                    Change.ofTextUpsert("/foo.txt", "foo")).join();
+        repo.internalClose();
+
+        // Pretend that the snapshot was taken before the last commit and from another repository.
+        final RepositoryMetadataSnapshot snapshot = RepositoryMetadataSnapshot.load(repoDir);
+        assertThat(snapshot).isNotNull();
+        new RepositoryMetadataSnapshot(Revision.INIT, snapshot.initialCommitId(),
+                                       ObjectId.zeroId(), 0L, Author.SYSTEM).save(repoDir);
+
+        GitRepository reopened = new GitRepository(mock(Project.class), repoDir, commonPool(), null);
+        try {
+            assertThat(reopened.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(2));
+            assertThat(reopened.creationTimeMillis()).isEqualTo(12345L);
+            assertThat(reopened.author()).isEqualTo(AUTHOR);
+        } finally {
+            reopened.internalClose();
+        }
+
+        // A corrupt snapshot should be ignored as well.
+        Files.write(new File(repoDir, RepositoryMetadataSnapshot.FILE_NAME).toPath(),
+                    "{".getBytes(StandardCharsets.UTF_8));
+        assertThat(RepositoryMetadataSnapshot.load(repoDir)).isNull();
+        reopened = new GitRepository(mock(Project.class), repoDir, commonPool(), null);
+        try {
+            assertThat(reopened.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(2));
+            assertThat(reopened.author()).isEqualTo(AUTHOR);
+        } finally {
+            reopened.internalClose();
+        }
+    }
+}